@@ -18,8 +18,8 @@ package io.gravitee.plugin.alert.internal;
 import io.gravitee.alert.api.event.EventProducer;
 import io.gravitee.common.service.AbstractService;
 import io.gravitee.plugin.alert.AlertEventProducerManager;
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,7 +31,7 @@ public class AlertEventProducerManagerImpl extends AbstractService implements Al
 
     private final Logger logger = LoggerFactory.getLogger(AlertEventProducerManagerImpl.class);
 
-    private final Collection<EventProducer> eventProducers = new ArrayList<>();
+    private final Collection<EventProducer> eventProducers = new CopyOnWriteArrayList<>();
 
     @Override
     public void register(final EventProducer eventProducer) {
@@ -25,6 +25,8 @@ import io.gravitee.plugin.core.api.AbstractSpringPluginHandler;
 import io.gravitee.plugin.core.api.Plugin;
 import io.gravitee.plugin.core.api.PluginClassLoaderFactory;
 import io.gravitee.plugin.core.api.PluginContextFactory;
+import io.gravitee.plugin.core.internal.AnnotationBasedPluginContextConfigurer;
+import io.gravitee.plugin.core.internal.PluginDeploymentScope;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -56,27 +58,34 @@ public class AlertPluginHandler extends AbstractSpringPluginHandler<Void> {
 
     @Override
     protected void handle(Plugin plugin, Class pluginClass) {
-        try {
-            ApplicationContext context = pluginContextFactory.create(plugin);
+        PluginDeploymentScope.track(
+            pluginContextFactory
+                .createAsync(new AnnotationBasedPluginContextConfigurer(plugin))
+                .thenAccept(this::registerProviders)
+                .whenComplete((ignored, ex) -> {
+                    if (ex != null) {
+                        logger.error("Unexpected error while creating {}", plugin.id(), ex);
 
-            // Look for an event producer
-            try {
-                eventProducerManager.register(context.getBean(EventProducer.class));
-            } catch (NoSuchBeanDefinitionException nsbee) {
-                // No event producer to register
-            }
+                        // Be sure that the context does not exist anymore.
+                        pluginContextFactory.remove(plugin);
+                    }
+                })
+        );
+    }
 
-            // Look for a trigger provider
-            try {
-                triggerProviderManager.register(context.getBean(TriggerProvider.class));
-            } catch (NoSuchBeanDefinitionException nsbee) {
-                // No event producer to register
-            }
-        } catch (Exception ex) {
-            logger.error("Unexpected error while creating {}", plugin.id(), ex);
+    private void registerProviders(ApplicationContext context) {
+        // Look for an event producer
+        try {
+            eventProducerManager.register(context.getBean(EventProducer.class));
+        } catch (NoSuchBeanDefinitionException nsbee) {
+            // No event producer to register
+        }
 
-            // Be sure that the context does not exist anymore.
-            pluginContextFactory.remove(plugin);
+        // Look for a trigger provider
+        try {
+            triggerProviderManager.register(context.getBean(TriggerProvider.class));
+        } catch (NoSuchBeanDefinitionException nsbee) {
+            // No event producer to register
         }
     }
 
@@ -18,9 +18,9 @@ package io.gravitee.plugin.alert.internal;
 import io.gravitee.alert.api.trigger.TriggerProvider;
 import io.gravitee.common.service.AbstractService;
 import io.gravitee.plugin.alert.AlertTriggerProviderManager;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,9 +32,9 @@ public class AlertTriggerProviderManagerImpl extends AbstractService implements
 
     private final Logger logger = LoggerFactory.getLogger(AlertTriggerProviderManagerImpl.class);
 
-    private final Collection<TriggerProvider> triggerProviders = new ArrayList<>();
+    private final Collection<TriggerProvider> triggerProviders = new CopyOnWriteArrayList<>();
 
-    private final List<TriggerProvider.Listener> listeners = new ArrayList<>();
+    private final List<TriggerProvider.Listener> listeners = new CopyOnWriteArrayList<>();
 
     @Override
     public void register(final TriggerProvider triggerProvider) {
@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.annotation.processor;
+
+import com.google.auto.service.AutoService;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Write the index of the types of a plugin to <code>META-INF/gravitee/plugin-index.properties</code>, so that the plugin
+ * does not have to be scanned when it gets deployed.
+ * <p>
+ * For each compiled type, the index lists the type under each of its supertypes and under each of its annotations, when
+ * they belong to an <code>io.gravitee</code> package, as well as under the Spring <code>@Configuration</code> annotation,
+ * directly present or meta-present. The types are written with their binary name, so that they can be loaded as is.
+ * <p>
+ * An incremental compilation only hands over the types being recompiled: the types of the index previously written to the
+ * class output are indexed again, provided they still exist, so that the index always covers the whole plugin. A failure
+ * to write the index fails the compilation, since the plugin would otherwise be deployed with a stale index.
+ *
+ * @author GraviteeSource Team
+ */
+@SupportedAnnotationTypes("*")
+@AutoService(Processor.class)
+public class PluginIndexProcessor extends AbstractProcessor {
+
+    /**
+     * Location of the index in the plugin jar. Must be kept in line with <code>io.gravitee.plugin.core.internal.PluginIndex</code>.
+     */
+    static final String INDEX_FILE = "META-INF/gravitee/plugin-index.properties";
+
+    private static final String INDEXED_PACKAGE_PREFIX = "io.gravitee.";
+    private static final String SPRING_CONFIGURATION_ANNOTATION = "org.springframework.context.annotation.Configuration";
+
+    private final Map<String, Set<String>> index = new TreeMap<>();
+    private final Set<String> indexedTypes = new HashSet<>();
+    private boolean typesProcessed;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (typesProcessed) {
+                indexPreviousTypes();
+                writeIndex();
+            }
+        } else {
+            for (Element element : roundEnv.getRootElements()) {
+                indexType(element);
+            }
+        }
+
+        // Never claim the annotations, other processors may need them.
+        return false;
+    }
+
+    private void indexType(Element element) {
+        if (!(element instanceof TypeElement type)) {
+            return;
+        }
+
+        typesProcessed = true;
+        final String name = binaryName(type);
+        if (!indexedTypes.add(name)) {
+            return;
+        }
+
+        final Set<String> supertypes = new HashSet<>();
+        collectSupertypes(type.asType(), supertypes);
+        supertypes.stream().filter(PluginIndexProcessor::covers).forEach(supertype -> add(supertype, name));
+
+        final Set<String> annotations = new HashSet<>();
+        collectAnnotations(type, annotations);
+        annotations.stream().filter(PluginIndexProcessor::covers).forEach(annotation -> add(annotation, name));
+
+        for (Element enclosed : type.getEnclosedElements()) {
+            indexType(enclosed);
+        }
+    }
+
+    private void collectSupertypes(TypeMirror type, Set<String> supertypes) {
+        for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (supertype.getKind() == TypeKind.DECLARED) {
+                final TypeElement supertypeElement = (TypeElement) ((DeclaredType) supertype).asElement();
+                if (supertypes.add(binaryName(supertypeElement))) {
+                    collectSupertypes(supertype, supertypes);
+                }
+            }
+        }
+    }
+
+    private void collectAnnotations(Element element, Set<String> annotations) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            final TypeElement annotationElement = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotations.add(binaryName(annotationElement))) {
+                // Follow meta-annotations, to index the stereotypes built on top of @Configuration.
+                collectAnnotations(annotationElement, annotations);
+            }
+        }
+    }
+
+    private void add(String key, String type) {
+        index.computeIfAbsent(key, k -> new TreeSet<>()).add(type);
+    }
+
+    /**
+     * Index again the types listed by the index written by a previous compilation and not compiled this time. Their supertypes
+     * and annotations are read from the compiled classes, and the types which can not be found anymore are dropped.
+     */
+    private void indexPreviousTypes() {
+        final Properties previousIndex = new Properties();
+        try {
+            final FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE);
+            try (Reader reader = file.openReader(true)) {
+                previousIndex.load(reader);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No index has been written yet, this is a full compilation.
+            return;
+        }
+
+        final Elements elements = processingEnv.getElementUtils();
+        previousIndex
+            .values()
+            .stream()
+            .flatMap(types -> Arrays.stream(((String) types).split(",")))
+            .filter(name -> !name.isBlank() && !indexedTypes.contains(name))
+            .distinct()
+            .forEach(name -> {
+                final TypeElement type = elements.getTypeElement(name.replace('$', '.'));
+                if (type != null && binaryName(type).equals(name)) {
+                    indexType(type);
+                }
+            });
+    }
+
+    private void writeIndex() {
+        try {
+            final FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE);
+            try (Writer writer = file.openWriter()) {
+                writer.write("# Generated by " + PluginIndexProcessor.class.getName() + ", do not edit.\n");
+                for (Map.Entry<String, Set<String>> entry : index.entrySet()) {
+                    writer.write(entry.getKey() + '=' + String.join(",", entry.getValue()) + '\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write the plugin index: " + e.getMessage());
+        }
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private static boolean covers(String typeName) {
+        return typeName.startsWith(INDEXED_PACKAGE_PREFIX) || typeName.equals(SPRING_CONFIGURATION_ANNOTATION);
+    }
+}
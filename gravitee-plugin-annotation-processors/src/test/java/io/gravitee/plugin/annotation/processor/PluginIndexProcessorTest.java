@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.annotation.processor;
+
+import static com.google.testing.compile.Compiler.javac;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.CompilationSubject;
+import com.google.testing.compile.JavaFileObjects;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class PluginIndexProcessorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldIndexGraviteeSubTypesAndSpringConfigurations() throws IOException {
+        Compilation compilation = javac()
+            .withProcessors(new PluginIndexProcessor())
+            .compile(
+                JavaFileObjects.forSourceString(
+                    "io.gravitee.policy.api.PolicyConfiguration",
+                    "package io.gravitee.policy.api; public interface PolicyConfiguration {}"
+                ),
+                JavaFileObjects.forSourceString(
+                    "org.springframework.context.annotation.Configuration",
+                    "package org.springframework.context.annotation; public @interface Configuration {}"
+                ),
+                JavaFileObjects.forSourceString(
+                    "io.gravitee.policy.test.TestPolicy",
+                    "package io.gravitee.policy.test;\n" +
+                    "public class TestPolicy {\n" +
+                    "    public static class BaseConfiguration implements io.gravitee.policy.api.PolicyConfiguration {}\n" +
+                    "    public static class TestConfiguration extends BaseConfiguration implements java.io.Serializable {}\n" +
+                    "    @org.springframework.context.annotation.Configuration public static class SpringConfiguration {}\n" +
+                    "}"
+                )
+            );
+        CompilationSubject.assertThat(compilation).succeeded();
+
+        Optional<JavaFileObject> indexFile = compilation.generatedFile(StandardLocation.CLASS_OUTPUT, PluginIndexProcessor.INDEX_FILE);
+        assertThat(indexFile).isPresent();
+
+        Properties index = new Properties();
+        index.load(new StringReader(indexFile.get().getCharContent(false).toString()));
+
+        assertThat(index.getProperty("io.gravitee.policy.api.PolicyConfiguration")).isEqualTo(
+            "io.gravitee.policy.test.TestPolicy$BaseConfiguration,io.gravitee.policy.test.TestPolicy$TestConfiguration"
+        );
+        assertThat(index.getProperty("org.springframework.context.annotation.Configuration")).isEqualTo(
+            "io.gravitee.policy.test.TestPolicy$SpringConfiguration"
+        );
+        assertThat(index.getProperty("java.io.Serializable")).isNull();
+    }
+
+    @Test
+    public void shouldKeepTypesOfPreviousCompilationWhenCompilingIncrementally() throws IOException {
+        File sourceDir = temporaryFolder.newFolder("src");
+        File classesDir = temporaryFolder.newFolder("classes");
+        File policyConfiguration = source(
+            sourceDir,
+            "io.gravitee.policy.api.PolicyConfiguration",
+            "package io.gravitee.policy.api; public interface PolicyConfiguration {}"
+        );
+        File configuration = source(
+            sourceDir,
+            "org.springframework.context.annotation.Configuration",
+            "package org.springframework.context.annotation; public @interface Configuration {}"
+        );
+        File firstPolicyConfiguration = source(
+            sourceDir,
+            "io.gravitee.policy.test.FirstConfiguration",
+            "package io.gravitee.policy.test; public class FirstConfiguration implements io.gravitee.policy.api.PolicyConfiguration {}"
+        );
+        File springConfiguration = source(
+            sourceDir,
+            "io.gravitee.policy.test.SpringConfiguration",
+            "package io.gravitee.policy.test; @org.springframework.context.annotation.Configuration public class SpringConfiguration {}"
+        );
+        compile(classesDir, policyConfiguration, configuration, firstPolicyConfiguration, springConfiguration);
+
+        // Only the new type is compiled, while a type of the previous compilation has been removed.
+        Files.delete(classesDir.toPath().resolve("io/gravitee/policy/test/SpringConfiguration.class"));
+        File secondPolicyConfiguration = source(
+            sourceDir,
+            "io.gravitee.policy.test.SecondConfiguration",
+            "package io.gravitee.policy.test; public class SecondConfiguration implements io.gravitee.policy.api.PolicyConfiguration {}"
+        );
+        compile(classesDir, secondPolicyConfiguration);
+
+        Properties index = new Properties();
+        try (Reader reader = Files.newBufferedReader(classesDir.toPath().resolve(PluginIndexProcessor.INDEX_FILE))) {
+            index.load(reader);
+        }
+
+        assertThat(index.getProperty("io.gravitee.policy.api.PolicyConfiguration")).isEqualTo(
+            "io.gravitee.policy.test.FirstConfiguration,io.gravitee.policy.test.SecondConfiguration"
+        );
+        assertThat(index.getProperty("org.springframework.context.annotation.Configuration")).isNull();
+    }
+
+    private static File source(File sourceDir, String className, String content) throws IOException {
+        Path source = sourceDir.toPath().resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(source.getParent());
+        return Files.writeString(source, content).toFile();
+    }
+
+    private static void compile(File classesDir, File... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                null,
+                fileManager,
+                null,
+                List.of("-d", classesDir.getPath(), "-classpath", classesDir.getPath()),
+                null,
+                fileManager.getJavaFileObjects(sources)
+            );
+            task.setProcessors(List.of(new PluginIndexProcessor()));
+            assertThat(task.call()).isTrue();
+        }
+    }
+}
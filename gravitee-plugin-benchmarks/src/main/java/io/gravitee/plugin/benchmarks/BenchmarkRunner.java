@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar: <code>java -jar benchmarks.jar [JMH options]</code>.
+ * <p>
+ * It accepts the same options as the JMH command line, but always writes a JSON report of the results, to
+ * <code>jmh-result.json</code> unless another file is given with <code>-rff</code>. The report can be archived for each
+ * release and compared with the previous one to track regressions.
+ *
+ * @author GraviteeSource Team
+ */
+public final class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (
+            commandLineOptions.shouldHelp() ||
+            commandLineOptions.shouldList() ||
+            commandLineOptions.shouldListWithParams() ||
+            commandLineOptions.shouldListProfilers() ||
+            commandLineOptions.shouldListResultFormats()
+        ) {
+            // Nothing to run, let JMH print what has been asked for.
+            Main.main(args);
+            return;
+        }
+
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+
+        if (commandLineOptions.getResultFormat().hasValue() || commandLineOptions.getResult().hasValue()) {
+            options.resultFormat(commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON));
+        } else {
+            options.resultFormat(ResultFormatType.JSON).result(DEFAULT_RESULT_FILE);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.benchmarks;
+
+import io.gravitee.connector.api.Connection;
+import io.gravitee.connector.api.Connector;
+import io.gravitee.connector.api.ConnectorBuilder;
+import io.gravitee.connector.api.ConnectorConfiguration;
+import io.gravitee.connector.api.ConnectorFactory;
+import io.gravitee.gateway.api.proxy.ProxyRequest;
+import io.gravitee.plugin.connector.ConnectorClassLoaderFactory;
+import io.gravitee.plugin.connector.ConnectorPlugin;
+import io.gravitee.plugin.connector.internal.ConnectorPluginManagerImpl;
+import io.gravitee.plugin.core.api.PluginClassLoader;
+import io.gravitee.plugin.core.api.PluginManifest;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure {@link ConnectorPluginManagerImpl#getConnectorByType(String)}, called for each endpoint of an API when it gets
+ * deployed.
+ * <p>
+ * Each registered connector plugin supports its own types. The types are looked up with the case used in the API
+ * definitions, which is not always the lower case one they are indexed with.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(4)
+@Fork(1)
+public class ConnectorPluginManagerBenchmark {
+
+    @Param({ "5", "50" })
+    private int connectors;
+
+    private ConnectorPluginManagerImpl manager;
+    private String[] types;
+
+    @Setup
+    public void setUp() {
+        BenchmarkConnectorFactory.COUNTER.set(0);
+        manager = new ConnectorPluginManagerImpl(new BenchmarkConnectorClassLoaderFactory());
+        types = new String[connectors];
+        for (int i = 0; i < connectors; i++) {
+            manager.register(new BenchmarkConnectorPlugin("connector-" + i, true));
+            types[i] = "Benchmark-" + i;
+        }
+        manager.register(new BenchmarkConnectorPlugin("connector-undeployed", false));
+    }
+
+    @Benchmark
+    public ConnectorFactory<?> getConnectorByType(ThreadCursor cursor) {
+        return manager.getConnectorByType(types[cursor.next(connectors)]);
+    }
+
+    @Benchmark
+    public ConnectorFactory<?> getConnectorByTypeMiss() {
+        return manager.getConnectorByType("unknown");
+    }
+
+    @Benchmark
+    public ConnectorFactory<?> getConnectorByTypeIncludingNotDeployed() {
+        return manager.getConnectorByType("benchmark-" + connectors, true);
+    }
+
+    /**
+     * Iterate over the supported types, so that each thread does not keep hitting the same entry.
+     */
+    @State(Scope.Thread)
+    public static class ThreadCursor {
+
+        private int index;
+
+        int next(int bound) {
+            index = index + 1 < bound ? index + 1 : 0;
+            return index;
+        }
+    }
+
+    /**
+     * Each instance supports the types of its own rank, as the manager creates one factory per registered plugin.
+     */
+    public static class BenchmarkConnectorFactory implements ConnectorFactory<Connector<Connection, ProxyRequest>> {
+
+        static final AtomicInteger COUNTER = new AtomicInteger();
+
+        private final List<String> types;
+
+        public BenchmarkConnectorFactory() {
+            final int rank = COUNTER.getAndIncrement();
+            this.types = List.of("benchmark-" + rank, "benchmark-" + rank + "-secured");
+        }
+
+        @Override
+        public Collection<String> supportedTypes() {
+            return types;
+        }
+
+        @Override
+        public Connector<Connection, ProxyRequest> create(String target, String configuration, ConnectorBuilder builder) {
+            return null;
+        }
+    }
+
+    private static class BenchmarkConnectorClassLoaderFactory implements ConnectorClassLoaderFactory {
+
+        @Override
+        public PluginClassLoader getOrCreateClassLoader(ConnectorPlugin plugin, ClassLoader parent) {
+            return new PluginClassLoader(new URLClassLoader(new URL[0], BenchmarkConnectorFactory.class.getClassLoader()));
+        }
+    }
+
+    private record BenchmarkConnectorPlugin(String id, boolean deployed) implements ConnectorPlugin<ConnectorConfiguration> {
+        @Override
+        public Class<?> connector() {
+            return BenchmarkConnectorFactory.class;
+        }
+
+        @Override
+        public String clazz() {
+            return BenchmarkConnectorFactory.class.getName();
+        }
+
+        @Override
+        public Path path() {
+            return null;
+        }
+
+        @Override
+        public PluginManifest manifest() {
+            return null;
+        }
+
+        @Override
+        public URL[] dependencies() {
+            return new URL[0];
+        }
+
+        @Override
+        public Class<ConnectorConfiguration> configuration() {
+            return ConnectorConfiguration.class;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.benchmarks;
+
+import io.gravitee.plugin.core.utils.FileUtils;
+import io.gravitee.plugin.core.utils.ZipExtractor;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the extraction of a whole plugin directory with the legacy {@link FileUtils#unzip(String, Path)} and with the
+ * {@link ZipExtractor}, sequentially and on its bounded pool.
+ * <p>
+ * Each iteration extracts every archive exactly once into an empty work directory, as the registry does on a cold start.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PluginArchiveExtractionBenchmark {
+
+    @Param("200")
+    private int archives;
+
+    @Param("0")
+    private int parallelism;
+
+    private Path root;
+    private Path workDir;
+    private List<Path> pluginArchives;
+    private ZipExtractor extractor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("gio-plugin-extraction-benchmark");
+        pluginArchives = PluginArchiveGenerator.generate(root.resolve("plugins"), archives);
+        extractor = new ZipExtractor(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Setup(Level.Iteration)
+    public void cleanWorkDir() throws IOException {
+        workDir = root.resolve("workdir");
+        FileUtils.delete(workDir);
+        Files.createDirectories(workDir);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        extractor.close();
+        FileUtils.delete(root);
+    }
+
+    @Benchmark
+    public void legacyUnzip() throws IOException {
+        for (Path archive : pluginArchives) {
+            FileUtils.unzip(archive.toString(), workDir(archive));
+        }
+    }
+
+    @Benchmark
+    public void streamingExtract() throws IOException {
+        for (Path archive : pluginArchives) {
+            ZipExtractor.extract(archive, workDir(archive));
+        }
+    }
+
+    @Benchmark
+    public void parallelStreamingExtract() {
+        CompletableFuture
+            .allOf(
+                pluginArchives
+                    .stream()
+                    .map(archive -> extractor.extractAsync(archive, workDir(archive)))
+                    .toArray(CompletableFuture[]::new)
+            )
+            .join();
+    }
+
+    private Path workDir(Path archive) {
+        final String fileName = archive.getFileName().toString();
+        return workDir.resolve(fileName.substring(0, fileName.lastIndexOf('.')));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generate synthetic plugin archives, shaped like the ones produced by the plugin assemblies: a plugin jar holding the
+ * <code>plugin.properties</code> manifest at the root of the archive, and its dependencies under <code>lib/</code>.
+ * <p>
+ * The content is generated from a fixed seed, so that the benchmarks do not need any network access and always work on the
+ * same bytes.
+ *
+ * @author GraviteeSource Team
+ */
+public final class PluginArchiveGenerator {
+
+    private static final long SEED = 42L;
+    private static final int CLASSES_PER_JAR = 20;
+    private static final int CLASS_SIZE = 2 * 1024;
+    private static final int DEPENDENCIES_PER_PLUGIN = 4;
+
+    private PluginArchiveGenerator() {}
+
+    /**
+     * Generate the given number of plugin archives in the target directory.
+     *
+     * @param directory the directory to write the archives to.
+     * @param count the number of archives to generate.
+     * @return the generated archives.
+     * @throws IOException if an archive can not be written.
+     */
+    public static List<Path> generate(Path directory, int count) throws IOException {
+        Files.createDirectories(directory);
+        final Random random = new Random(SEED);
+        final List<Path> archives = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String id = "plugin-" + i;
+            final Path archive = directory.resolve(id + "-1.0.0.zip");
+            try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive))) {
+                writeEntry(zip, id + "-1.0.0.jar", jar(random, id, manifest(id)));
+                for (int d = 0; d < DEPENDENCIES_PER_PLUGIN; d++) {
+                    writeEntry(zip, "lib/" + id + "-dependency-" + d + ".jar", jar(random, id + ".dependency" + d, null));
+                }
+            }
+            archives.add(archive);
+        }
+        return archives;
+    }
+
+    private static Properties manifest(String id) {
+        final Properties manifest = new Properties();
+        manifest.setProperty("id", id);
+        manifest.setProperty("name", id);
+        manifest.setProperty("version", "1.0.0");
+        manifest.setProperty("description", "Synthetic plugin " + id);
+        manifest.setProperty("class", "io.gravitee.benchmarks." + id.replace('-', '_') + ".Plugin");
+        manifest.setProperty("type", "policy");
+        return manifest;
+    }
+
+    private static byte[] jar(Random random, String name, Properties manifest) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream jar = new ZipOutputStream(bytes)) {
+            if (manifest != null) {
+                jar.putNextEntry(new ZipEntry("plugin.properties"));
+                manifest.store(jar, null);
+                jar.closeEntry();
+            }
+            final String packagePath = "io/gravitee/benchmarks/" + name.replace('-', '_').replace('.', '/') + "/";
+            for (int c = 0; c < CLASSES_PER_JAR; c++) {
+                final byte[] content = new byte[CLASS_SIZE];
+                // Half random, half constant bytes, to get a compression ratio close to the one of real class files.
+                random.nextBytes(content);
+                for (int b = CLASS_SIZE / 2; b < CLASS_SIZE; b++) {
+                    content[b] = (byte) (b % 16);
+                }
+                writeEntry(jar, packagePath + "Class" + c + ".class", content);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    /**
+     * Generate archives from the command line, for use with external tools: <code>PluginArchiveGenerator &lt;directory&gt; [count]</code>.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: PluginArchiveGenerator <directory> [count]");
+            System.exit(1);
+        }
+        final int count = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        final List<Path> archives = generate(Path.of(args[0]), count);
+        try (OutputStream out = System.out) {
+            out.write(("Generated " + archives.size() + " plugin archives in " + args[0] + System.lineSeparator()).getBytes());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.benchmarks;
+
+import io.gravitee.plugin.core.api.AbstractConfigurablePluginManager;
+import io.gravitee.plugin.core.api.AbstractPluginManager;
+import io.gravitee.plugin.core.api.ConfigurablePlugin;
+import io.gravitee.plugin.core.api.PluginManifest;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure the lookups served by an {@link AbstractPluginManager} on the request path: get of a registered plugin, get of
+ * an unknown one, and listing of the deployed plugins.
+ * <p>
+ * One plugin out of ten is registered as not deployed, so that the deployment status filtering is part of the measure.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(4)
+@Fork(1)
+public class PluginManagerBenchmark {
+
+    @Param({ "50", "500" })
+    private int plugins;
+
+    private AbstractConfigurablePluginManager<BenchmarkPlugin> manager;
+    private String[] pluginIds;
+
+    @Setup
+    public void setUp() {
+        manager = new AbstractConfigurablePluginManager<>() {};
+        pluginIds = new String[plugins];
+        for (int i = 0; i < plugins; i++) {
+            pluginIds[i] = "plugin-" + i;
+            manager.register(new BenchmarkPlugin(pluginIds[i], i % 10 != 0));
+        }
+    }
+
+    @Benchmark
+    public BenchmarkPlugin getHit(ThreadCursor cursor) {
+        return manager.get(pluginIds[cursor.next(plugins)]);
+    }
+
+    @Benchmark
+    public BenchmarkPlugin getMiss() {
+        return manager.get("unknown-plugin");
+    }
+
+    @Benchmark
+    public Collection<BenchmarkPlugin> findAll() {
+        return manager.findAll();
+    }
+
+    @Benchmark
+    public Collection<BenchmarkPlugin> findAllIncludingNotDeployed() {
+        return manager.findAll(true);
+    }
+
+    /**
+     * Iterate over the registered plugins, so that each thread does not keep hitting the same entry.
+     */
+    @State(Scope.Thread)
+    public static class ThreadCursor {
+
+        private int index;
+
+        int next(int bound) {
+            index = index + 1 < bound ? index + 1 : 0;
+            return index;
+        }
+    }
+
+    record BenchmarkPlugin(String id, boolean deployed) implements ConfigurablePlugin<Void> {
+        @Override
+        public String clazz() {
+            return "io.gravitee.benchmarks." + id.replace('-', '_') + ".Plugin";
+        }
+
+        @Override
+        public String type() {
+            return "policy";
+        }
+
+        @Override
+        public Path path() {
+            return null;
+        }
+
+        @Override
+        public PluginManifest manifest() {
+            return null;
+        }
+
+        @Override
+        public URL[] dependencies() {
+            return new URL[0];
+        }
+
+        @Override
+        public Class<Void> configuration() {
+            return Void.class;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.benchmarks;
+
+import io.gravitee.plugin.core.api.PluginManifest;
+import io.gravitee.plugin.core.api.PluginManifestFactory;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure the creation of a {@link PluginManifest} from the <code>plugin.properties</code> of a plugin, with a number of
+ * dependencies and of custom properties close to the ones of the endpoint connectors.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PluginManifestFactoryBenchmark {
+
+    @Param({ "0", "5" })
+    private int dependencies;
+
+    @Param({ "0", "10" })
+    private int customProperties;
+
+    private Properties properties;
+
+    @Setup
+    public void setUp() {
+        properties = new Properties();
+        properties.setProperty("id", "endpoint-benchmark");
+        properties.setProperty("name", "Benchmark endpoint");
+        properties.setProperty("version", "1.0.0");
+        properties.setProperty("description", "Synthetic endpoint connector");
+        properties.setProperty("class", "io.gravitee.benchmarks.endpoint.BenchmarkEndpointConnectorFactory");
+        properties.setProperty("type", "endpoint-connector");
+        properties.setProperty("category", "benchmark");
+        properties.setProperty("feature", "apim-en-endpoint-benchmark");
+        properties.setProperty("priority", "500");
+
+        if (dependencies > 0) {
+            final StringBuilder value = new StringBuilder();
+            for (int i = 0; i < dependencies; i++) {
+                if (i > 0) {
+                    value.append(',');
+                }
+                value.append("dependency-").append(i).append(":1.").append(i).append(".x");
+            }
+            properties.setProperty("dependencies", value.toString());
+        }
+
+        for (int i = 0; i < customProperties; i++) {
+            properties.setProperty("custom.property." + i, "value-" + i);
+        }
+    }
+
+    @Benchmark
+    public PluginManifest create() {
+        return PluginManifestFactory.create(properties);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.benchmarks;
+
+import io.gravitee.common.event.impl.EventManagerImpl;
+import io.gravitee.plugin.core.internal.PluginRegistryConfiguration;
+import io.gravitee.plugin.core.internal.PluginRegistryImpl;
+import io.gravitee.plugin.core.utils.FileUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Measure the initialization of the {@link PluginRegistryImpl} over a directory of synthetic plugin archives: scan of the
+ * registry, extraction of the archives into the work directory and read of the plugin manifests.
+ * <p>
+ * With <code>extractionCache=false</code>, each invocation starts from an empty work directory, as a fresh installation
+ * does. With <code>extractionCache=true</code>, the work directory of the previous invocation is reused, as a restart does.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PluginRegistryBenchmark {
+
+    @Param("200")
+    private int archives;
+
+    @Param({ "false", "true" })
+    private boolean extractionCache;
+
+    private Path root;
+    private Path pluginsDir;
+    private Path workDir;
+    private ExecutorService executor;
+    private PluginRegistryImpl registry;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("gio-plugin-registry-benchmark");
+        pluginsDir = root.resolve("plugins");
+        workDir = root.resolve("workdir");
+        PluginArchiveGenerator.generate(pluginsDir, archives);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @Setup(Level.Invocation)
+    public void createRegistry() throws IOException {
+        if (!extractionCache) {
+            FileUtils.delete(workDir);
+        }
+
+        final PluginRegistryConfiguration configuration = new PluginRegistryConfiguration();
+        configuration.setPluginsPath(new String[] { pluginsDir.toString() });
+        configuration.setPluginWorkDir(workDir.toString());
+        configuration.setExtractionCacheEnabled(extractionCache);
+
+        registry = new PluginRegistryImpl(configuration, new StandardEnvironment(), executor, new EventManagerImpl(), List.of());
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopRegistry() throws Exception {
+        registry.stop();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        FileUtils.delete(root);
+    }
+
+    @Benchmark
+    public PluginRegistryImpl init() throws Exception {
+        registry.start();
+        return registry;
+    }
+}
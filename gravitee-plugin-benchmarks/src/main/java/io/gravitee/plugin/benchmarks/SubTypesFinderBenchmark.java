@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.benchmarks;
+
+import io.gravitee.plugin.core.api.AbstractSubTypesFinder;
+import io.gravitee.plugin.core.utils.FileUtils;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure the Reflections scan run by {@link AbstractSubTypesFinder#lookup(Class, ClassLoader)} on a plugin jar.
+ * <p>
+ * The plugin jar is generated on setup with real class files: an interface standing for the plugin API and a package
+ * holding a few implementations of it among helper classes, as found in a policy or a connector jar. It is loaded by its
+ * own class loader, the same way as a plugin class loader isolates a plugin.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SubTypesFinderBenchmark {
+
+    private static final String API_CLASS = "io.gravitee.benchmarks.api.BenchmarkPolicy";
+    private static final String PLUGIN_PACKAGE = "io.gravitee.benchmarks.policy";
+    private static final int IMPLEMENTATIONS = 2;
+
+    @Param({ "20", "200" })
+    private int classes;
+
+    private Path root;
+    private URLClassLoader classLoader;
+    private Class<?> pluginClass;
+    private AbstractSubTypesFinder<Object> finder;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("gio-plugin-finder-benchmark");
+        final Path jar = root.resolve("benchmark-policy-1.0.0.jar");
+        writePluginJar(jar);
+
+        classLoader = new URLClassLoader(new URL[] { jar.toUri().toURL() }, ClassLoader.getPlatformClassLoader());
+        pluginClass = classLoader.loadClass(PLUGIN_PACKAGE + ".Policy0");
+        finder = new AbstractSubTypesFinder<>((Class<Object>) classLoader.loadClass(API_CLASS)) {};
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        classLoader.close();
+        FileUtils.delete(root);
+    }
+
+    @Benchmark
+    public Collection<Class<?>> lookup() {
+        return finder.lookup(pluginClass, classLoader);
+    }
+
+    private void writePluginJar(Path jar) throws IOException, CannotCompileException {
+        final ClassPool pool = new ClassPool(true);
+        final CtClass api = pool.makeInterface(API_CLASS);
+
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar))) {
+            writeClass(zip, api);
+            for (int i = 0; i < classes; i++) {
+                final CtClass clazz;
+                if (i < IMPLEMENTATIONS) {
+                    clazz = pool.makeClass(PLUGIN_PACKAGE + ".Policy" + i);
+                    clazz.addInterface(api);
+                } else {
+                    clazz = pool.makeClass(PLUGIN_PACKAGE + ".internal.Helper" + i);
+                }
+                writeClass(zip, clazz);
+            }
+        }
+    }
+
+    private static void writeClass(ZipOutputStream zip, CtClass clazz) throws IOException, CannotCompileException {
+        zip.putNextEntry(new ZipEntry(clazz.getName().replace('.', '/') + ".class"));
+        zip.write(clazz.toBytecode());
+        zip.closeEntry();
+    }
+}
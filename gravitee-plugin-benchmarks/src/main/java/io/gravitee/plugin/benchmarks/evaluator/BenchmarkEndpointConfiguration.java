@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.benchmarks.evaluator;
+
+import io.gravitee.plugin.annotation.ConfigurationEvaluator;
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Configuration of a synthetic endpoint connector, shaped like the ones of the HTTP based connectors. Its
+ * <code>BenchmarkEndpointConfigurationEvaluator</code> is generated by the configuration evaluator annotation processor.
+ *
+ * @author GraviteeSource Team
+ */
+@ConfigurationEvaluator(attributePrefix = "gravitee.attributes.endpoint.benchmark")
+@Getter
+@Setter
+@NoArgsConstructor
+public class BenchmarkEndpointConfiguration {
+
+    private String target;
+
+    private String username;
+
+    private String password;
+
+    private Integer connectTimeout = 3000;
+
+    private Integer readTimeout = 10000;
+
+    private boolean keepAlive = true;
+
+    private List<String> topics;
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.benchmarks.evaluator;
+
+import io.gravitee.el.TemplateEngine;
+import io.gravitee.gateway.reactive.api.context.DeploymentContext;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure the <code>eval</code> method of a configuration evaluator generated by the annotation processor, as called when
+ * an endpoint connector gets deployed.
+ * <p>
+ * The configuration is evaluated once with expression language in some of its fields and once with plain values only,
+ * against the real template engine.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ConfigurationEvaluatorBenchmark {
+
+    private BenchmarkEndpointConfigurationEvaluator evaluatorWithExpressions;
+    private BenchmarkEndpointConfigurationEvaluator evaluatorWithoutExpressions;
+    private DeploymentContext deploymentContext;
+
+    @Setup
+    public void setUp() {
+        final BenchmarkEndpointConfiguration withExpressions = new BenchmarkEndpointConfiguration();
+        withExpressions.setTarget("https://{#properties['host']}/echo");
+        withExpressions.setUsername("{#properties['username']}");
+        withExpressions.setPassword("{#properties['password']}");
+        withExpressions.setTopics(List.of("orders", "{#properties['topic']}"));
+        evaluatorWithExpressions = new BenchmarkEndpointConfigurationEvaluator(withExpressions);
+
+        final BenchmarkEndpointConfiguration withoutExpressions = new BenchmarkEndpointConfiguration();
+        withoutExpressions.setTarget("https://api.gravitee.io/echo");
+        withoutExpressions.setUsername("admin");
+        withoutExpressions.setPassword("admin");
+        withoutExpressions.setTopics(List.of("orders", "payments"));
+        evaluatorWithoutExpressions = new BenchmarkEndpointConfigurationEvaluator(withoutExpressions);
+
+        final TemplateEngine templateEngine = TemplateEngine.templateEngine();
+        templateEngine
+            .getTemplateContext()
+            .setVariable(
+                "properties",
+                Map.of("host", "api.gravitee.io", "username", "admin", "password", "admin", "topic", "payments")
+            );
+        deploymentContext = new BenchmarkDeploymentContext(templateEngine);
+    }
+
+    @Benchmark
+    public BenchmarkEndpointConfiguration evalWithExpressions() {
+        return evaluatorWithExpressions.eval(deploymentContext).blockingGet();
+    }
+
+    @Benchmark
+    public BenchmarkEndpointConfiguration evalWithoutExpressions() {
+        return evaluatorWithoutExpressions.eval(deploymentContext).blockingGet();
+    }
+
+    private record BenchmarkDeploymentContext(TemplateEngine templateEngine) implements DeploymentContext {
+        @Override
+        public <T> T getComponent(Class<T> componentClass) {
+            return null;
+        }
+
+        @Override
+        public TemplateEngine getTemplateEngine() {
+            return templateEngine;
+        }
+    }
+}
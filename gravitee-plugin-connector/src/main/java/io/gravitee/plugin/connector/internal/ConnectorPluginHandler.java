@@ -20,8 +20,7 @@ import io.gravitee.plugin.connector.spring.ConnectorPluginConfiguration;
 import io.gravitee.plugin.core.api.AbstractSimplePluginHandler;
 import io.gravitee.plugin.core.api.ConfigurablePluginManager;
 import io.gravitee.plugin.core.api.Plugin;
-import java.io.IOException;
-import java.net.URLClassLoader;
+import io.gravitee.plugin.core.internal.PluginClassLoaderRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 
@@ -59,16 +58,16 @@ public class ConnectorPluginHandler extends AbstractSimplePluginHandler<Connecto
 
         // Once registered, the classloader should be released
         // TODO: to check
-        URLClassLoader classLoader = (URLClassLoader) policyPlugin.connector().getClassLoader();
-        try {
-            classLoader.close();
-        } catch (IOException e) {
-            logger.error("Unexpected exception while trying to release the policy classloader");
-        }
+        PluginClassLoaderRegistry.getInstance().release(policyPlugin.connector().getClassLoader());
     }
 
     @Override
     protected ClassLoader getClassLoader(Plugin plugin) {
-        return new URLClassLoader(plugin.dependencies(), this.getClass().getClassLoader());
+        return PluginClassLoaderRegistry.getInstance().acquire(plugin, this.getClass().getClassLoader());
+    }
+
+    @Override
+    public void undeploy(Plugin plugin) {
+        connectorPluginManager.unregister(plugin.id());
     }
 }
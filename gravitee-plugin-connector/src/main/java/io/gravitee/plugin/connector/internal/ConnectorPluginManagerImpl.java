@@ -21,9 +21,10 @@ import io.gravitee.plugin.connector.ConnectorPlugin;
 import io.gravitee.plugin.connector.ConnectorPluginManager;
 import io.gravitee.plugin.core.api.AbstractConfigurablePluginManager;
 import io.gravitee.plugin.core.api.PluginClassLoader;
+import io.gravitee.plugin.core.internal.PluginClassLoaderRegistry;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,10 +38,10 @@ public class ConnectorPluginManagerImpl extends AbstractConfigurablePluginManage
 
     private final ConnectorClassLoaderFactory classLoaderFactory;
 
-    private final Map<String, ConnectorFactory<?>> factories = new HashMap<>();
-    private final Map<String, ConnectorFactory<?>> undeployedFactories = new HashMap<>();
-    private final Map<String, ConnectorFactory<?>> factoriesByType = new HashMap<>();
-    private final Map<String, ConnectorFactory<?>> undeployedFactoriesByType = new HashMap<>();
+    private final Map<String, ConnectorFactory<?>> factories = new ConcurrentHashMap<>();
+    private final Map<String, ConnectorFactory<?>> undeployedFactories = new ConcurrentHashMap<>();
+    private final Map<String, ConnectorFactory<?>> factoriesByType = new ConcurrentHashMap<>();
+    private final Map<String, ConnectorFactory<?>> undeployedFactoriesByType = new ConcurrentHashMap<>();
 
     public ConnectorPluginManagerImpl(final ConnectorClassLoaderFactory classLoaderFactory) {
         this.classLoaderFactory = classLoaderFactory;
@@ -76,6 +77,24 @@ public class ConnectorPluginManagerImpl extends AbstractConfigurablePluginManage
         }
     }
 
+    @Override
+    public ConnectorPlugin unregister(String pluginId) {
+        final ConnectorPlugin plugin = super.unregister(pluginId);
+        releaseFactory(factories.remove(pluginId));
+        releaseFactory(undeployedFactories.remove(pluginId));
+        return plugin;
+    }
+
+    private void releaseFactory(ConnectorFactory<?> factory) {
+        if (factory != null) {
+            factoriesByType.values().removeIf(registered -> registered == factory);
+            undeployedFactoriesByType.values().removeIf(registered -> registered == factory);
+
+            // Release the classloader created while registering the connector
+            PluginClassLoaderRegistry.getInstance().release(factory.getClass().getClassLoader());
+        }
+    }
+
     @Override
     public ConnectorFactory<?> getConnectorByType(String type) {
         return getConnectorByType(type, false);
@@ -16,6 +16,7 @@
 package io.gravitee.plugin.core.api;
 
 import io.gravitee.plugin.core.internal.PluginManifestProperties;
+import io.gravitee.plugin.core.metrics.PluginMetrics;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -48,17 +49,22 @@ public abstract class AbstractConfigurablePluginManager<T extends ConfigurablePl
 
     @Override
     public String getSchema(String pluginId, boolean includeNotDeployed) throws IOException {
-        final T plugin = get(pluginId, includeNotDeployed);
-        if (plugin == null) {
-            return null;
-        }
-        String schemaProperty = plugin.manifest().properties().get(PluginManifestProperties.SCHEMA_PROPERTY);
+        final long start = PluginMetrics.start();
+        try {
+            final T plugin = get(pluginId, includeNotDeployed);
+            if (plugin == null) {
+                return null;
+            }
+            String schemaProperty = plugin.manifest().properties().get(PluginManifestProperties.SCHEMA_PROPERTY);
 
-        if (schemaProperty != null) {
-            return getFileContent(pluginId, Paths.get(SCHEMAS_DIRECTORY, schemaProperty), includeNotDeployed);
-        }
+            if (schemaProperty != null) {
+                return getFileContent(pluginId, Paths.get(SCHEMAS_DIRECTORY, schemaProperty), includeNotDeployed);
+            }
 
-        return getFirstFile(pluginId, SCHEMAS_DIRECTORY, includeNotDeployed);
+            return getFirstFile(pluginId, SCHEMAS_DIRECTORY, includeNotDeployed);
+        } finally {
+            PluginMetrics.operation(getClass(), PluginMetrics.Operation.GET_SCHEMA, start);
+        }
     }
 
     @Override
@@ -68,25 +74,35 @@ public abstract class AbstractConfigurablePluginManager<T extends ConfigurablePl
 
     @Override
     public String getSchema(String pluginId, String subFolder, boolean includeNotDeployed) throws IOException {
-        return getFirstFile(pluginId, String.format("%s/%s", SCHEMAS_DIRECTORY, subFolder), includeNotDeployed);
+        final long start = PluginMetrics.start();
+        try {
+            return getFirstFile(pluginId, String.format("%s/%s", SCHEMAS_DIRECTORY, subFolder), includeNotDeployed);
+        } finally {
+            PluginMetrics.operation(getClass(), PluginMetrics.Operation.GET_SCHEMA, start);
+        }
     }
 
     @Override
     public String getSchema(String pluginId, String propertyKey, boolean fallbackToSchema, boolean includeNotDeployed) throws IOException {
-        final T plugin = get(pluginId, includeNotDeployed);
-        if (plugin == null) {
-            return null;
-        }
+        final long start = PluginMetrics.start();
+        try {
+            final T plugin = get(pluginId, includeNotDeployed);
+            if (plugin == null) {
+                return null;
+            }
 
-        String schemaProperty = plugin.manifest().properties().get(propertyKey);
-        if (schemaProperty != null) {
-            return getFileContent(pluginId, Paths.get(SCHEMAS_DIRECTORY, schemaProperty), includeNotDeployed);
-        }
+            String schemaProperty = plugin.manifest().properties().get(propertyKey);
+            if (schemaProperty != null) {
+                return getFileContent(pluginId, Paths.get(SCHEMAS_DIRECTORY, schemaProperty), includeNotDeployed);
+            }
 
-        if (fallbackToSchema) {
-            return getSchema(pluginId, includeNotDeployed);
+            if (fallbackToSchema) {
+                return getSchema(pluginId, includeNotDeployed);
+            }
+            return null;
+        } finally {
+            PluginMetrics.operation(getClass(), PluginMetrics.Operation.GET_SCHEMA, start);
         }
-        return null;
     }
 
     @Override
@@ -96,12 +112,17 @@ public abstract class AbstractConfigurablePluginManager<T extends ConfigurablePl
 
     @Override
     public String getIcon(String pluginId, boolean includeNotDeployed) throws IOException {
-        T plugin = get(pluginId, includeNotDeployed);
-        if (plugin != null) {
-            Map<String, String> properties = plugin.manifest().properties();
-            return this.getFileFromPropertyAsBase64(plugin, properties, PluginManifestProperties.MANIFEST_ICON_PROPERTY);
+        final long start = PluginMetrics.start();
+        try {
+            T plugin = get(pluginId, includeNotDeployed);
+            if (plugin != null) {
+                Map<String, String> properties = plugin.manifest().properties();
+                return this.getFileFromPropertyAsBase64(plugin, properties, PluginManifestProperties.MANIFEST_ICON_PROPERTY);
+            }
+            return null;
+        } finally {
+            PluginMetrics.operation(getClass(), PluginMetrics.Operation.GET_ICON, start);
         }
-        return null;
     }
 
     @Override
@@ -111,11 +132,16 @@ public abstract class AbstractConfigurablePluginManager<T extends ConfigurablePl
 
     @Override
     public String getDocumentation(String pluginId, boolean includeNotDeployed) throws IOException {
-        var doc = getPluginDocumentation(pluginId, includeNotDeployed);
-        if (doc != null) {
-            return doc.content();
+        final long start = PluginMetrics.start();
+        try {
+            var doc = getPluginDocumentation(pluginId, includeNotDeployed);
+            if (doc != null) {
+                return doc.content();
+            }
+            return null;
+        } finally {
+            PluginMetrics.operation(getClass(), PluginMetrics.Operation.GET_DOCUMENTATION, start);
         }
-        return null;
     }
 
     public PluginDocumentation getPluginDocumentation(String pluginId) throws IOException {
@@ -146,11 +172,16 @@ public abstract class AbstractConfigurablePluginManager<T extends ConfigurablePl
     @Override
     public String getDocumentation(String pluginId, String propertyKey, boolean fallbackToDocumentation, boolean includeNotDeployed)
         throws IOException {
-        var doc = getPluginDocumentation(pluginId, propertyKey, fallbackToDocumentation, includeNotDeployed);
-        if (doc != null) {
-            return doc.content();
+        final long start = PluginMetrics.start();
+        try {
+            var doc = getPluginDocumentation(pluginId, propertyKey, fallbackToDocumentation, includeNotDeployed);
+            if (doc != null) {
+                return doc.content();
+            }
+            return null;
+        } finally {
+            PluginMetrics.operation(getClass(), PluginMetrics.Operation.GET_DOCUMENTATION, start);
         }
-        return null;
     }
 
     @Override
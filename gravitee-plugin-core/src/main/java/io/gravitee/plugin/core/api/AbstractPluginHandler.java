@@ -18,6 +18,7 @@ package io.gravitee.plugin.core.api;
 import io.gravitee.plugin.api.PluginDeploymentContext;
 import io.gravitee.plugin.api.PluginDeploymentContextFactory;
 import io.gravitee.plugin.core.internal.PluginImpl;
+import io.gravitee.plugin.core.internal.PluginStartupRecorder;
 import java.io.IOException;
 import java.net.URLClassLoader;
 import org.slf4j.Logger;
@@ -47,7 +48,11 @@ public abstract class AbstractPluginHandler implements PluginHandler {
             ClassLoader classloader = null;
 
             try {
-                classloader = getClassLoader(plugin);
+                try (
+                    PluginStartupRecorder.Timer ignored = PluginStartupRecorder.getInstance().start(plugin, PluginPhase.CLASSLOADER_CREATION)
+                ) {
+                    classloader = getClassLoader(plugin);
+                }
 
                 final Class<?> pluginClass = classloader.loadClass(plugin.clazz());
 
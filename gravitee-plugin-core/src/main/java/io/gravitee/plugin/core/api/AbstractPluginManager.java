@@ -15,9 +15,10 @@
  */
 package io.gravitee.plugin.core.api;
 
+import io.gravitee.plugin.core.metrics.PluginMetrics;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -26,40 +27,52 @@ import java.util.stream.Collectors;
  */
 public abstract class AbstractPluginManager<T extends Plugin> implements PluginManager<T> {
 
-    private final Map<String, T> plugins = new HashMap<>();
+    private final Map<String, T> plugins = new ConcurrentHashMap<>();
 
     @Override
     public void register(T plugin) {
         plugins.putIfAbsent(plugin.id(), plugin);
     }
 
+    @Override
+    public T unregister(String pluginId) {
+        return plugins.remove(pluginId);
+    }
+
     @Override
     public Collection<T> findAll() {
-        return plugins.values().stream().filter(Plugin::deployed).collect(Collectors.toList());
+        return findAll(false);
     }
 
     @Override
     public Collection<T> findAll(boolean includeNotDeployed) {
-        if (includeNotDeployed) {
-            return plugins.values();
+        final long start = PluginMetrics.start();
+        try {
+            if (includeNotDeployed) {
+                return plugins.values();
+            }
+            return plugins.values().stream().filter(Plugin::deployed).collect(Collectors.toList());
+        } finally {
+            PluginMetrics.operation(getClass(), PluginMetrics.Operation.FIND_ALL, start);
         }
-        return findAll();
     }
 
     @Override
     public T get(String pluginId) {
-        T plugin = plugins.get(pluginId);
-        if (plugin != null && !plugin.deployed()) {
-            return null;
-        }
-        return plugin;
+        return get(pluginId, false);
     }
 
     @Override
     public T get(String pluginId, boolean includeNotDeployed) {
-        if (includeNotDeployed) {
-            return plugins.get(pluginId);
+        final long start = PluginMetrics.start();
+        try {
+            T plugin = plugins.get(pluginId);
+            if (plugin != null && !includeNotDeployed && !plugin.deployed()) {
+                return null;
+            }
+            return plugin;
+        } finally {
+            PluginMetrics.operation(getClass(), PluginMetrics.Operation.GET, start);
         }
-        return get(pluginId);
     }
 }
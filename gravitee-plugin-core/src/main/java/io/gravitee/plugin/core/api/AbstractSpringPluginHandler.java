@@ -15,8 +15,9 @@
  */
 package io.gravitee.plugin.core.api;
 
+import io.gravitee.plugin.core.internal.AnnotationBasedPluginContextConfigurer;
+import io.gravitee.plugin.core.internal.PluginDeploymentScope;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -31,16 +32,20 @@ public abstract class AbstractSpringPluginHandler<T> extends AbstractPluginHandl
     protected void handle(Plugin plugin, Class<?> pluginClass) {
         // Do not register when plugin is not deployed since AbstractSpringPluginHandler is used to register different kind of Plugin like : Alert, Reporter, Cockpit and Service
         if (plugin.deployed()) {
-            try {
-                ApplicationContext context = pluginContextFactory.create(plugin);
-                T pluginInst = (T) context.getBean(pluginClass);
-                register(pluginInst);
-            } catch (Exception ex) {
-                logger.error("Unexpected error while creating {}", plugin.id(), ex);
+            // The context is refreshed along with the ones of the other plugins being deployed, the plugin is deployed once registered.
+            PluginDeploymentScope.track(
+                pluginContextFactory
+                    .createAsync(new AnnotationBasedPluginContextConfigurer(plugin))
+                    .thenAccept(context -> register((T) context.getBean(pluginClass)))
+                    .whenComplete((ignored, ex) -> {
+                        if (ex != null) {
+                            logger.error("Unexpected error while creating {}", plugin.id(), ex);
 
-                // Be sure that the context does not exist anymore.
-                pluginContextFactory.remove(plugin);
-            }
+                            // Be sure that the context does not exist anymore.
+                            pluginContextFactory.remove(plugin);
+                        }
+                    })
+            );
         }
     }
 
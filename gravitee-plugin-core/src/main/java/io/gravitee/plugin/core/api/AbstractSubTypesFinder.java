@@ -15,13 +15,9 @@
  */
 package io.gravitee.plugin.core.api;
 
+import io.gravitee.plugin.core.internal.PluginClasspathScan;
+import io.gravitee.plugin.core.internal.PluginStartupRecorder;
 import java.util.Collection;
-import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
-import org.reflections.util.FilterBuilder;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -37,15 +33,9 @@ public abstract class AbstractSubTypesFinder<T> implements SubTypesFinder<T> {
 
     @Override
     public Collection<Class<? extends T>> lookup(Class<?> clazz, ClassLoader classLoader) {
-        Reflections reflections = new Reflections(
-            new ConfigurationBuilder()
-                .addClassLoader(classLoader)
-                .setExpandSuperTypes(false)
-                .setUrls(ClasspathHelper.forClass(clazz, classLoader))
-                .setScanners(new SubTypesScanner(true), new TypeAnnotationsScanner())
-                .filterInputsBy(new FilterBuilder().includePackage(clazz.getPackage().getName()))
-        );
-
-        return reflections.getSubTypesOf(subType);
+        try (PluginStartupRecorder.Timer ignored = PluginStartupRecorder.getInstance().start(PluginPhase.CLASSPATH_SCAN)) {
+            // The scan is shared with the other lookups run while deploying the plugin.
+            return PluginClasspathScan.of(clazz, classLoader).subTypesOf(subType);
+        }
     }
 }
@@ -15,6 +15,8 @@
  */
 package io.gravitee.plugin.core.api;
 
+import io.gravitee.plugin.core.metrics.PluginMetrics;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -27,14 +29,30 @@ import java.util.Enumeration;
  */
 public final class PluginClassLoader extends ClassLoader {
 
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
     private URLClassLoader classLoader;
+    private final Closeable releaser;
 
     public PluginClassLoader(URLClassLoader classLoader) {
+        this(classLoader, classLoader);
+    }
+
+    /**
+     * @param classLoader the class loader to delegate to.
+     * @param releaser called when this class loader gets closed, in place of closing the delegate, for class loaders
+     * shared between several users.
+     */
+    public PluginClassLoader(URLClassLoader classLoader, Closeable releaser) {
         this.classLoader = classLoader;
+        this.releaser = releaser;
+        PluginMetrics.classLoaderCreated(this);
     }
 
     public void close() throws IOException {
-        this.classLoader.close();
+        this.releaser.close();
     }
 
     @Override
@@ -25,4 +25,11 @@ public interface PluginClassLoaderFactory<T extends Plugin> {
     default PluginClassLoader getOrCreateClassLoader(T plugin) {
         return getOrCreateClassLoader(plugin, PluginClassLoaderFactory.class.getClassLoader());
     }
+
+    /**
+     * Forget the class loaders created for the given plugin, once it has been undeployed.
+     *
+     * @param plugin the undeployed plugin.
+     */
+    default void invalidate(T plugin) {}
 }
@@ -15,6 +15,7 @@
  */
 package io.gravitee.plugin.core.api;
 
+import java.util.concurrent.CompletableFuture;
 import org.springframework.context.ApplicationContext;
 
 /**
@@ -23,6 +24,21 @@ import org.springframework.context.ApplicationContext;
 public interface PluginContextFactory {
     ApplicationContext create(PluginContextConfigurer pluginContextConfigurer);
 
+    /**
+     * Create the context of a plugin, letting the factory refresh it in the background. Handlers creating several
+     * independent contexts use it to get them refreshed in parallel.
+     *
+     * @param pluginContextConfigurer the configurer of the plugin context.
+     * @return the refreshed context.
+     */
+    default CompletableFuture<ApplicationContext> createAsync(PluginContextConfigurer pluginContextConfigurer) {
+        try {
+            return CompletableFuture.completedFuture(create(pluginContextConfigurer));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
     ApplicationContext create(Plugin plugin);
 
     void remove(Plugin plugin);
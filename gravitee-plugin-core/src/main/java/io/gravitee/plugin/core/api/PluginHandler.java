@@ -36,4 +36,12 @@ public interface PluginHandler {
      * @param plugin the plugin to handle.
      */
     void handle(Plugin plugin);
+
+    /**
+     * Handle the removal of a plugin previously handled by this instance, typically when its archive has been removed or
+     * replaced from the plugin registry while the node is running. Does nothing by default.
+     *
+     * @param plugin the plugin to undeploy.
+     */
+    default void undeploy(Plugin plugin) {}
 }
@@ -25,6 +25,17 @@ import java.util.Collection;
 public interface PluginManager<T extends Plugin> {
     void register(T plugin);
 
+    /**
+     * Unregister a plugin, typically once it has been undeployed, so that it can be registered again when redeployed.
+     * Managers which do not support it keep the plugin registered.
+     *
+     * @param pluginId the plugin id
+     * @return the unregistered plugin, <code>null</code> if no plugin was registered with this id or if unregistering is not supported
+     */
+    default T unregister(String pluginId) {
+        return null;
+    }
+
     Collection<T> findAll();
 
     Collection<T> findAll(boolean includeNotDeployed);
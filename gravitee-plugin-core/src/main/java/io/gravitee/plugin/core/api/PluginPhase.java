@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.api;
+
+/**
+ * The phases a plugin goes through while it is loaded and deployed.
+ *
+ * @author GraviteeSource Team
+ */
+public enum PluginPhase {
+    /**
+     * Extraction of the plugin archive into its working directory.
+     */
+    EXTRACTION,
+    /**
+     * Read of the <code>plugin.properties</code> manifest from the plugin archive.
+     */
+    MANIFEST_READ,
+    /**
+     * Creation of the plugin classloader.
+     */
+    CLASSLOADER_CREATION,
+    /**
+     * Classpath scan of the plugin, looking for its configuration or context classes.
+     */
+    CLASSPATH_SCAN,
+    /**
+     * Refresh of the Spring context of the plugin.
+     */
+    CONTEXT_REFRESH,
+    /**
+     * Registration of the plugin by its handler, the nested phases being excluded.
+     */
+    REGISTRATION,
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.api;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time spent loading and deploying the plugins, broken down per plugin and per {@link PluginPhase}.
+ * <p>
+ * Durations are cumulative: plugins loaded or deployed concurrently add up, so the total may exceed the actual startup time.
+ *
+ * @author GraviteeSource Team
+ */
+public interface PluginStartupReport {
+    /**
+     * @return the timings of each plugin, the most expensive plugin first.
+     */
+    List<PluginTimings> plugins();
+
+    /**
+     * @return the time spent in each phase by all the plugins, the most expensive phase first.
+     */
+    List<PhaseTiming> phases();
+
+    /**
+     * @return the time spent by all the plugins in all the phases.
+     */
+    Duration total();
+
+    /**
+     * Render the report as folded stacks, one <code>type;id;phase nanoseconds</code> line per plugin phase, as expected by
+     * flame graph tools.
+     *
+     * @return the folded stacks.
+     */
+    String toFoldedStacks();
+
+    /**
+     * @param type the plugin type.
+     * @param id the plugin id.
+     * @param phases the time spent by the plugin in each phase, the most expensive phase first.
+     * @param total the time spent by the plugin in all the phases.
+     */
+    record PluginTimings(String type, String id, Map<PluginPhase, Duration> phases, Duration total) {}
+
+    /**
+     * @param phase the phase.
+     * @param duration the time spent in the phase.
+     */
+    record PhaseTiming(PluginPhase phase, Duration duration) {}
+}
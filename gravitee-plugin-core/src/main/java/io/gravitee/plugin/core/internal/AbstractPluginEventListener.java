@@ -21,14 +21,14 @@ import io.gravitee.common.service.AbstractService;
 import io.gravitee.plugin.core.api.Plugin;
 import io.gravitee.plugin.core.api.PluginEvent;
 import io.gravitee.plugin.core.api.PluginHandler;
-import java.util.ArrayList;
+import io.gravitee.plugin.core.api.PluginPhase;
+import io.gravitee.plugin.core.metrics.PluginMetrics;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -48,6 +48,10 @@ public abstract class AbstractPluginEventListener
 
     public static final String SECRET_PROVIDER = "secret-provider";
     public static final String DATA_PLANE = "data-plane";
+    /**
+     * Number of plugins which can be deployed at the same time, plugins are deployed one after the other by default.
+     */
+    public static final String DEPLOYMENT_PARALLELISM_PROPERTY = "plugins.deployment.parallelism";
     /**
      * Allows to define priority between the different plugin types.
      */
@@ -70,6 +74,12 @@ public abstract class AbstractPluginEventListener
     @Getter(AccessLevel.PACKAGE)
     private final Map<PluginKey, Plugin> plugins = new ConcurrentHashMap<>();
 
+    /**
+     * Whether {@link #deployPlugins()} has already been called, plugins added afterwards have to be deployed one by one.
+     */
+    @Getter(AccessLevel.PROTECTED)
+    private volatile boolean pluginsDeployed;
+
     @Override
     protected void doStart() throws Exception {
         super.doStart();
@@ -77,72 +87,118 @@ public abstract class AbstractPluginEventListener
         eventManager.subscribeForEvents(this, PluginEvent.class);
     }
 
-    protected void addPlugin(Plugin plugin) {
+    /**
+     * @param plugin the plugin to add.
+     * @return <code>true</code> if the plugin has been added, <code>false</code> if a plugin with the same id and type is already loaded.
+     */
+    protected boolean addPlugin(Plugin plugin) {
         PluginKey pluginKey = new PluginKey(plugin.id(), plugin.type());
 
-        if (plugins.containsKey(pluginKey)) {
-            Plugin installed = plugins.get(pluginKey);
+        Plugin installed = plugins.putIfAbsent(pluginKey, plugin);
+        if (installed != null) {
             log.warn("Plugin '{}' [{}] is already loaded [{}]", plugin.id(), plugin.manifest().version(), installed.manifest().version());
-        } else {
-            plugins.put(pluginKey, plugin);
+            return false;
         }
+        return true;
+    }
+
+    /**
+     * Remove a plugin and let the handlers undeploy it.
+     *
+     * @param plugin the plugin to remove.
+     */
+    protected void removePlugin(Plugin plugin) {
+        if (plugins.remove(new PluginKey(plugin.id(), plugin.type()), plugin)) {
+            log.debug("Uninstalling {} plugin...", plugin.id());
+            pluginHandlers
+                .stream()
+                .filter(pluginHandler -> pluginHandler.canHandle(plugin))
+                .forEach(pluginHandler -> pluginHandler.undeploy(plugin));
+            PluginMetrics.pluginUndeployed(plugin);
+        }
+    }
+
+    /**
+     * Deploy a single plugin added once all the plugins have been deployed.
+     *
+     * @param plugin the plugin to deploy.
+     */
+    protected void deployPlugin(Plugin plugin) {
+        // A plugin deployed while running sees the properties changed in place in the environment since the last deployment.
+        PluginEnvironmentSnapshot.invalidate();
+        PluginDeploymentScope.join(handle(plugin));
     }
 
     protected void deployPlugins() {
-        Map<String, List<Plugin>> resolvedDependencies = new HashMap<>();
-
-        final List<Plugin> sortedByPriority = this.plugins.values()
-            .stream()
-            .sorted(
-                Comparator.<Plugin>comparingInt(o -> o.manifest().priority()).thenComparing(
-                    new PluginComparator(environment.getProperty("secrets.loadFirst"))
-                )
-            )
-            .toList();
-
-        plugins
-            .values()
-            .forEach(p ->
-                plugins
-                    .values()
-                    .forEach(other -> {
-                        if (
-                            p
-                                .manifest()
-                                .dependencies()
-                                .stream()
-                                .anyMatch(d -> d.matches(other))
-                        ) {
-                            resolvedDependencies.computeIfAbsent(p.type() + p.id(), s -> new ArrayList<>()).add(other);
-                        }
-                    })
-            );
-
-        List<Plugin> deployedPlugins = new ArrayList<>(this.plugins.size());
-
-        sortedByPriority.forEach(plugin -> deployPlugin(plugin, resolvedDependencies, deployedPlugins));
+        final Comparator<Plugin> ordering = Comparator.<Plugin>comparingInt(o -> o.manifest().priority()).thenComparing(
+            new PluginComparator(environment.getProperty("secrets.loadFirst"))
+        );
+        final List<Plugin> sortedByPriority = this.plugins.values().stream().sorted(ordering).toList();
+
+        // The plugins deployed together share a single snapshot of the environment, as it is when they start being deployed.
+        PluginEnvironmentSnapshot.invalidate();
+        // Plugins are deployed after the plugins they depend on, otherwise by priority.
+        new PluginDeploymentScheduler(deploymentParallelism()).deploy(sortedByPriority, ordering, this::handle);
+        pluginsDeployed = true;
+    }
+
+    private int deploymentParallelism() {
+        final Integer parallelism = environment.getProperty(DEPLOYMENT_PARALLELISM_PROPERTY, Integer.class);
+        return parallelism != null ? parallelism : 1;
     }
 
-    private void deployPlugin(Plugin plugin, Map<String, List<Plugin>> resolvedDependencies, List<Plugin> deployedPlugins) {
-        if (deployedPlugins.contains(plugin)) {
-            return;
+    private CompletableFuture<Void> handle(Plugin plugin) {
+        log.debug("Installing {} plugins...", plugin.id());
+        final CompletableFuture<Void> pending;
+        try (
+            PluginStartupRecorder.Timer ignored = PluginStartupRecorder.getInstance().start(plugin, PluginPhase.REGISTRATION);
+            PluginClasspathScan.Scope scanScope = PluginClasspathScan.openScope();
+            PluginDeploymentScope deploymentScope = PluginDeploymentScope.open()
+        ) {
+            pluginHandlers
+                .stream()
+                .filter(pluginHandler -> pluginHandler.canHandle(plugin))
+                .forEach(pluginHandler -> {
+                    log.debug("Plugin {} has been managed by {}", plugin.id(), pluginHandler.getClass());
+                    pluginHandler.handle(plugin);
+                });
+            pending = deploymentScope.completion();
+        } catch (RuntimeException e) {
+            PluginMetrics.deploymentFailed(plugin);
+            if (isResolutionFailure(e)) {
+                // Only the plugin whose archive can not be extracted is skipped, the other ones are still deployed.
+                log.error(
+                    "Plugin {} [{}] can not be deployed, its archive can not be extracted",
+                    plugin.id(),
+                    plugin.manifest().version(),
+                    e
+                );
+                return CompletableFuture.completedFuture(null);
+            }
+            throw e;
         }
 
-        // Deploy all plugins the plugin depends on.
-        resolvedDependencies
-            .getOrDefault(plugin.type() + plugin.id(), Collections.emptyList())
-            .forEach(dependencyPlugin -> deployPlugin(dependencyPlugin, resolvedDependencies, deployedPlugins));
+        // The plugin is only deployed once the work left running by its handlers is done.
+        return pending.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                PluginMetrics.pluginDeployed(plugin);
+            } else {
+                PluginMetrics.deploymentFailed(plugin);
+            }
+        });
+    }
 
-        log.debug("Installing {} plugins...", plugin.id());
-        pluginHandlers
-            .stream()
-            .filter(pluginHandler -> pluginHandler.canHandle(plugin))
-            .forEach(pluginHandler -> {
-                log.debug("Plugin {} has been managed by {}", plugin.id(), pluginHandler.getClass());
-                pluginHandler.handle(plugin);
-            });
-
-        deployedPlugins.add(plugin);
+    /**
+     * A plugin extracted on first access is extracted once a handler accesses it, the handler then fails with the extraction
+     * failure as cause.
+     */
+    private static boolean isResolutionFailure(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PluginResolutionException) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private record PluginKey(String id, String type) {}
@@ -23,14 +23,18 @@ import java.util.Arrays;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.util.ClassUtils;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -38,6 +42,12 @@ import org.springframework.core.env.ConfigurableEnvironment;
  */
 public class AnnotationBasedPluginContextConfigurer implements PluginContextConfigurer {
 
+    /**
+     * Whether the bean definitions generated ahead of time by {@link PluginContextAotProcessor} are used, when the plugin
+     * ships them, instead of parsing its configuration classes.
+     */
+    public static final String CONTEXT_AOT_ENABLED_PROPERTY = "plugins.context.aot.enabled";
+
     private final Logger LOGGER = LoggerFactory.getLogger(AnnotationBasedPluginContextConfigurer.class);
 
     @Autowired
@@ -82,6 +92,12 @@ public class AnnotationBasedPluginContextConfigurer implements PluginContextConf
             try {
                 // Class loader switch is required for internal component such as ConditionResolver to use the good one
                 Thread.currentThread().setContextClassLoader(pluginClassLoader);
+                GenericApplicationContext aotApplicationContext = aheadOfTimeApplicationContext(pluginClassLoader);
+                if (aotApplicationContext != null) {
+                    pluginContext = aotApplicationContext;
+                    return pluginContext;
+                }
+
                 AnnotationConfigApplicationContext configApplicationContext = new AnnotationConfigApplicationContext();
                 configApplicationContext.setClassLoader(pluginClassLoader);
                 configApplicationContext.setEnvironment(environment());
@@ -106,6 +122,41 @@ public class AnnotationBasedPluginContextConfigurer implements PluginContextConf
         return pluginContext;
     }
 
+    /**
+     * Whether the plugin context may be initialized from the bean definitions generated ahead of time for the plugin.
+     * Configurers that do not rely on the configuration classes of the plugin must disable it.
+     *
+     * @return <code>true</code> if the bean definitions generated ahead of time can be used, <code>false</code> otherwise.
+     */
+    protected boolean aheadOfTimeInitialization() {
+        return environment().getProperty(CONTEXT_AOT_ENABLED_PROPERTY, Boolean.class, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private GenericApplicationContext aheadOfTimeApplicationContext(ClassLoader pluginClassLoader) {
+        if (!aheadOfTimeInitialization()) {
+            return null;
+        }
+
+        final String initializerClassName = PluginContextAotProcessor.initializerClassName(plugin.clazz());
+        if (!ClassUtils.isPresent(initializerClassName, pluginClassLoader)) {
+            return null;
+        }
+
+        LOGGER.debug("Initializing plugin context for {} from ahead-of-time generated {}", plugin.id(), initializerClassName);
+        GenericApplicationContext applicationContext = new GenericApplicationContext();
+        applicationContext.setClassLoader(pluginClassLoader);
+        applicationContext.setEnvironment(environment());
+        applicationContext.setParent(containerContext);
+
+        ApplicationContextInitializer<GenericApplicationContext> initializer = BeanUtils.instantiateClass(
+            ClassUtils.resolveClassName(initializerClassName, pluginClassLoader),
+            ApplicationContextInitializer.class
+        );
+        initializer.initialize(applicationContext);
+        return applicationContext;
+    }
+
     @Override
     public Set<Class<?>> configurations() {
         return pluginConfigurationResolver.resolve(plugin);
@@ -115,7 +166,7 @@ public class AnnotationBasedPluginContextConfigurer implements PluginContextConf
     public void registerBeans() {
         // This specific case should be handle by the plugin handler while creating the plugin context
         // TODO: find a way to handle this properly
-        if (!plugin.type().equalsIgnoreCase("policy")) {
+        if (!plugin.type().equalsIgnoreCase("policy") && !pluginContext.containsBeanDefinition(plugin.clazz())) {
             pluginContext.registerBeanDefinition(
                 plugin.clazz(),
                 BeanDefinitionBuilder.rootBeanDefinition(plugin.clazz()).getBeanDefinition()
@@ -129,7 +180,11 @@ public class AnnotationBasedPluginContextConfigurer implements PluginContextConf
 
         // We cannot ignore unresolvable placeholders unless custom converter are ignored and it becomes impossible to evaluate some properties (e.g: secret).
         configurer.setIgnoreUnresolvablePlaceholders(false);
-        configurer.setEnvironment(pluginContext.getEnvironment());
+
+        // Resolve against the snapshot shared by all the plugin contexts rather than going through each property source.
+        MutablePropertySources propertySources = new MutablePropertySources();
+        propertySources.addFirst(PluginEnvironmentSnapshot.of(pluginContext.getEnvironment()));
+        configurer.setPropertySources(propertySources);
         pluginContext.addBeanFactoryPostProcessor(configurer);
     }
 }
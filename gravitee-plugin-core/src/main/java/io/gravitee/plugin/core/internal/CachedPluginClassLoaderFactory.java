@@ -17,12 +17,26 @@ package io.gravitee.plugin.core.internal;
 
 import io.gravitee.plugin.core.api.Plugin;
 import io.gravitee.plugin.core.api.PluginClassLoader;
-import java.util.HashMap;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Cache the class loaders of the plugins, per plugin type and id, plugin archive and parent class loader.
+ * <p>
+ * A class loader is created once, even when the same plugin is deployed concurrently. Once a plugin is undeployed, its class
+ * loaders must be {@link #invalidate(Plugin) invalidated}: they are evicted from the cache and closed, unless still used by
+ * a plugin handler or manager (see {@link PluginClassLoaderRegistry}). A redeployed archive gets a new class loader, since
+ * its fingerprint, made of its classpath and the last modification time of the archive, changes and is part of the key of
+ * the shared class loader too. Creating the class loader of a new fingerprint evicts the ones of the previous fingerprints
+ * of the same plugin, so that a plugin redeployed without being invalidated does not leak its former class loaders.
+ *
  * @author David BRASSELY (david at gravitee.io)
  * @author GraviteeSource Team
  */
@@ -30,25 +44,69 @@ public class CachedPluginClassLoaderFactory<T extends Plugin> extends PluginClas
 
     private final Logger LOGGER = LoggerFactory.getLogger(CachedPluginClassLoaderFactory.class);
 
-    private final Map<String, PluginClassLoader> pluginClassLoaderCache = new HashMap<>();
+    private final Map<CacheKey, PluginClassLoader> pluginClassLoaderCache = new ConcurrentHashMap<>();
 
     @Override
     public PluginClassLoader getOrCreateClassLoader(T plugin, ClassLoader parent) {
-        PluginClassLoader cl;
+        final CacheKey cacheKey = CacheKey.of(plugin, parent);
+        final PluginClassLoader cached = pluginClassLoaderCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
 
-        try {
-            cl = pluginClassLoaderCache.get(plugin.id());
-            if (null == cl) {
-                cl = super.getOrCreateClassLoader(plugin, parent);
-                pluginClassLoaderCache.put(plugin.id(), cl);
+        // A class loader which can not be created is not cached, the next call will try again.
+        final AtomicBoolean created = new AtomicBoolean();
+        final PluginClassLoader classLoader = pluginClassLoaderCache.computeIfAbsent(
+            cacheKey,
+            key -> {
+                created.set(true);
+                return super.getOrCreateClassLoader(plugin, parent);
             }
+        );
+
+        if (created.get() && classLoader != null) {
+            evictIf(key -> key.isPreviousFingerprintOf(cacheKey));
+        }
+        return classLoader;
+    }
 
-            LOGGER.debug("Created plugin ClassLoader for {} with classpath {}", plugin.id(), plugin.dependencies());
+    @Override
+    public void invalidate(T plugin) {
+        evictIf(key -> key.type().equals(plugin.type()) && key.id().equals(plugin.id()));
+    }
+
+    /**
+     * Evict and close all the cached class loaders.
+     */
+    public void close() {
+        evictIf(key -> true);
+    }
+
+    private void evictIf(Predicate<CacheKey> predicate) {
+        pluginClassLoaderCache.forEach((key, cl) -> {
+            if (predicate.test(key) && pluginClassLoaderCache.remove(key, cl)) {
+                LOGGER.debug("Evict classloader of plugin {} [{}]", key.id(), key.type());
+                PluginClassLoaderRegistry.getInstance().release(cl);
+            }
+        });
+    }
+
+    private record CacheKey(String type, String id, Fingerprint fingerprint, ClassLoader parent) {
+        private static CacheKey of(Plugin plugin, ClassLoader parent) {
+            return new CacheKey(plugin.type(), plugin.id(), Fingerprint.of(plugin), parent);
+        }
+
+        private boolean isPreviousFingerprintOf(CacheKey other) {
+            return type.equals(other.type) && id.equals(other.id) && parent == other.parent && !fingerprint.equals(other.fingerprint);
+        }
+    }
 
-            return cl;
-        } catch (Throwable t) {
-            LOGGER.error("Unexpected error while creating plugin classloader", t);
-            return null;
+    private record Fingerprint(List<String> classpath, long archiveTimestamp) {
+        private static Fingerprint of(Plugin plugin) {
+            return new Fingerprint(
+                Arrays.stream(plugin.dependencies()).map(URL::toExternalForm).toList(),
+                plugin instanceof PluginImpl pluginImpl ? pluginImpl.getArchiveTimestamp() : 0L
+            );
         }
     }
 }
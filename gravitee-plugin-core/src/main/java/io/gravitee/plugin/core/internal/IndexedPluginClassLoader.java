@@ -0,0 +1,276 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.CodeSigner;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipFile;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class loader of a plugin, looking up classes and resources through an index of the plugin jars instead of probing each jar
+ * in turn.
+ * <p>
+ * When the class loader is built, the central directory of each jar is read once, and each jar is indexed under the
+ * directories it holds entries in. A class or a resource is then only looked up in the jars holding its directory, in the
+ * classpath order. When the classpath holds something else than plain jars, such as a directory or a signed jar, the index
+ * is not used and the class loader behaves as a {@link URLClassLoader}.
+ * <p>
+ * The class loader is parallel capable: classes of different names are loaded concurrently.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class IndexedPluginClassLoader extends URLClassLoader {
+
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    private static final String MULTI_RELEASE_PREFIX = "META-INF/versions/";
+    private static final List<String> SIGNATURE_FILE_SUFFIXES = List.of(".SF", ".RSA", ".DSA", ".EC");
+
+    private final List<IndexedJar> jars;
+    private final Map<String, List<IndexedJar>> jarsByDirectory;
+    private volatile boolean closed;
+
+    public IndexedPluginClassLoader(URL[] urls, ClassLoader parent) {
+        super(urls, parent);
+        this.jars = openJars(urls);
+        this.jarsByDirectory = jars != null ? index(jars) : null;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        if (jarsByDirectory == null) {
+            return super.findClass(name);
+        }
+
+        final String path = name.replace('.', '/').concat(".class");
+        for (IndexedJar jar : candidates(path)) {
+            final JarEntry entry = jar.file().getJarEntry(path);
+            if (entry != null) {
+                return defineClass(name, jar, entry);
+            }
+        }
+        throw new ClassNotFoundException(name);
+    }
+
+    @Override
+    public URL findResource(String name) {
+        if (jarsByDirectory == null) {
+            return super.findResource(name);
+        }
+
+        for (IndexedJar jar : candidates(name)) {
+            if (jar.file().getJarEntry(name) != null) {
+                return jar.resource(name);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Enumeration<URL> findResources(String name) throws IOException {
+        if (jarsByDirectory == null) {
+            return super.findResources(name);
+        }
+
+        final List<URL> resources = new ArrayList<>();
+        for (IndexedJar jar : candidates(name)) {
+            if (jar.file().getJarEntry(name) != null) {
+                resources.add(jar.resource(name));
+            }
+        }
+        return Collections.enumeration(resources);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (jars != null) {
+            for (IndexedJar jar : jars) {
+                try {
+                    jar.file().close();
+                } catch (IOException e) {
+                    log.debug("Unable to close plugin jar {}", jar.url(), e);
+                }
+            }
+        }
+        super.close();
+    }
+
+    private List<IndexedJar> candidates(String name) {
+        if (closed) {
+            return List.of();
+        }
+        final List<IndexedJar> candidates = jarsByDirectory.get(directory(name));
+        return candidates != null ? candidates : List.of();
+    }
+
+    private Class<?> defineClass(String name, IndexedJar jar, JarEntry entry) throws ClassNotFoundException {
+        final byte[] bytes;
+        try (InputStream is = jar.file().getInputStream(entry)) {
+            bytes = is.readAllBytes();
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+
+        final int lastDot = name.lastIndexOf('.');
+        if (lastDot > 0) {
+            definePackage(name.substring(0, lastDot), jar);
+        }
+        return defineClass(name, bytes, 0, bytes.length, jar.codeSource());
+    }
+
+    private void definePackage(String packageName, IndexedJar jar) {
+        if (getDefinedPackage(packageName) == null) {
+            try {
+                if (jar.manifest() != null) {
+                    definePackage(packageName, jar.manifest(), jar.url());
+                } else {
+                    definePackage(packageName, null, null, null, null, null, null, null);
+                }
+            } catch (IllegalArgumentException e) {
+                // Defined concurrently by another thread.
+                if (getDefinedPackage(packageName) == null) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the jars of the classpath, or <code>null</code> if the classpath can not be indexed.
+     */
+    private static List<IndexedJar> openJars(URL[] urls) {
+        final List<IndexedJar> jars = new ArrayList<>(urls.length);
+        try {
+            for (URL url : urls) {
+                final IndexedJar jar = openJar(url);
+                if (jar == null) {
+                    closeAll(jars);
+                    return null;
+                }
+                jars.add(jar);
+            }
+            return jars;
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            log.debug("Unable to index the plugin classpath, falling back to a linear lookup", e);
+            closeAll(jars);
+            return null;
+        }
+    }
+
+    private static IndexedJar openJar(URL url) throws IOException, URISyntaxException {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        final File file = new File(url.toURI());
+        if (!file.isFile()) {
+            return null;
+        }
+
+        final JarFile jarFile = new JarFile(file, true, ZipFile.OPEN_READ, JarFile.runtimeVersion());
+        if (isSigned(jarFile)) {
+            // Signers are not checked by the index.
+            jarFile.close();
+            return null;
+        }
+        return new IndexedJar(
+            url,
+            jarFile,
+            jarFile.getManifest(),
+            new CodeSource(url, (CodeSigner[]) null),
+            "jar:" + url.toExternalForm() + "!/"
+        );
+    }
+
+    private static boolean isSigned(JarFile jarFile) {
+        return jarFile
+            .stream()
+            .map(JarEntry::getName)
+            .anyMatch(name -> name.startsWith("META-INF/") && SIGNATURE_FILE_SUFFIXES.stream().anyMatch(name::endsWith));
+    }
+
+    private static Map<String, List<IndexedJar>> index(List<IndexedJar> jars) {
+        final Map<String, List<IndexedJar>> index = new HashMap<>();
+        for (IndexedJar jar : jars) {
+            final Set<String> directories = new LinkedHashSet<>();
+            jar
+                .file()
+                .stream()
+                .forEach(entry -> {
+                    String name = entry.getName();
+                    if (name.startsWith(MULTI_RELEASE_PREFIX)) {
+                        // Versioned entries are looked up under their unversioned name.
+                        final int versionEnd = name.indexOf('/', MULTI_RELEASE_PREFIX.length());
+                        name = versionEnd > 0 ? name.substring(versionEnd + 1) : name;
+                    }
+                    // A jar is indexed under each parent directory of its entries, so that directories can be looked up too.
+                    for (String directory = directory(name); directories.add(directory) && !directory.isEmpty();) {
+                        directory = directory(directory);
+                    }
+                });
+            directories.forEach(directory -> index.computeIfAbsent(directory, d -> new ArrayList<>()).add(jar));
+        }
+        return index;
+    }
+
+    private static String directory(String name) {
+        final int end = name.endsWith("/") ? name.length() - 1 : name.length();
+        return name.substring(0, name.lastIndexOf('/', end - 1) + 1);
+    }
+
+    private static void closeAll(List<IndexedJar> jars) {
+        for (IndexedJar jar : jars) {
+            try {
+                jar.file().close();
+            } catch (IOException e) {
+                // Ignored.
+            }
+        }
+    }
+
+    private record IndexedJar(URL url, JarFile file, Manifest manifest, CodeSource codeSource, String resourcePrefix) {
+        URL resource(String name) {
+            try {
+                return URI.create(resourcePrefix + new URI(null, null, name, null).getRawPath()).toURL();
+            } catch (URISyntaxException | MalformedURLException e) {
+                return null;
+            }
+        }
+    }
+}
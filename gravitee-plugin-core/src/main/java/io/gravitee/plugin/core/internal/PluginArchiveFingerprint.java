@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.zip.CRC32C;
+
+/**
+ * Identifies the content of a plugin archive by its size, its last modification time and a CRC32C checksum of its bytes.
+ *
+ * @author GraviteeSource Team
+ */
+public record PluginArchiveFingerprint(long size, long lastModified, long hash) {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Compute the fingerprint of the given archive.
+     *
+     * @param archive the plugin archive.
+     * @return the fingerprint of the archive.
+     * @throws IOException if the archive can not be read.
+     */
+    public static PluginArchiveFingerprint of(Path archive) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(archive, BasicFileAttributes.class);
+        final CRC32C checksum = new CRC32C();
+
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                checksum.update(buffer);
+                buffer.clear();
+            }
+        }
+
+        return new PluginArchiveFingerprint(attributes.size(), attributes.lastModifiedTime().toMillis(), checksum.getValue());
+    }
+
+    /**
+     * @return a fingerprint identifying the archive by its content only, whatever the time the archive has been written.
+     */
+    public PluginArchiveFingerprint withoutLastModified() {
+        return new PluginArchiveFingerprint(size, 0L, hash);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import io.gravitee.plugin.core.utils.ZipArchive;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read the <code>plugin.properties</code> manifest of a plugin straight from its zip archive, without extracting it.
+ * <p>
+ * The central directory of the archive is used to locate the plugin jar at the root of the archive, then the central
+ * directory of the nested jar is used to locate the manifest entry, which is the only one to be read. Nothing is written on
+ * disk.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class PluginArchiveManifestReader {
+
+    static final String PLUGIN_MANIFEST_FILE = "plugin.properties";
+
+    private static final String JAR_EXTENSION = ".jar";
+
+    /**
+     * Read the manifest of an already opened plugin archive.
+     *
+     * @param archive the plugin archive.
+     * @return the manifest properties, or an empty {@link Properties} if no plugin jar or no manifest has been found.
+     * @throws IOException if the archive can not be read.
+     */
+    static Properties read(ZipArchive archive) throws IOException {
+        final ZipArchive.Entry pluginJarEntry = findPluginJar(archive);
+        if (pluginJarEntry == null) {
+            log.debug("Unable to find a jar in the root directory of {}", archive);
+            return new Properties();
+        }
+
+        log.debug("Found {} in {}, looking for a plugin manifest", pluginJarEntry.name(), archive);
+        try (ZipArchive pluginJar = archive.openNested(pluginJarEntry)) {
+            for (ZipArchive.Entry entry : pluginJar.entries()) {
+                if (!entry.isDirectory() && isPluginManifest(entry.name())) {
+                    final Properties properties = new Properties();
+                    try (InputStream is = pluginJar.getInputStream(entry)) {
+                        properties.load(is);
+                    }
+                    return properties;
+                }
+            }
+        }
+
+        return new Properties();
+    }
+
+    private static ZipArchive.Entry findPluginJar(ZipArchive archive) {
+        for (ZipArchive.Entry entry : archive.entries()) {
+            final String name = entry.name();
+            if (!entry.isDirectory() && name.indexOf('/') == -1 && name.endsWith(JAR_EXTENSION)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    static boolean isPluginManifest(String entryName) {
+        return entryName.equals(PLUGIN_MANIFEST_FILE) || entryName.endsWith('/' + PLUGIN_MANIFEST_FILE);
+    }
+}
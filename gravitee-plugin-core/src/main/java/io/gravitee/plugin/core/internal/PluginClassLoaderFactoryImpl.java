@@ -18,7 +18,6 @@ package io.gravitee.plugin.core.internal;
 import io.gravitee.plugin.core.api.Plugin;
 import io.gravitee.plugin.core.api.PluginClassLoader;
 import io.gravitee.plugin.core.api.PluginClassLoaderFactory;
-import java.net.URLClassLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,9 +34,9 @@ public class PluginClassLoaderFactoryImpl<T extends Plugin> implements PluginCla
         PluginClassLoader cl;
 
         try {
-            cl = new PluginClassLoader(URLClassLoader.newInstance(plugin.dependencies(), parent));
+            cl = PluginClassLoaderRegistry.getInstance().acquire(plugin, parent);
 
-            LOGGER.debug("Created plugin classLoader for {} with classpath {}", plugin.id(), plugin.dependencies());
+            LOGGER.debug("Acquired plugin classLoader for {} with classpath {}", plugin.id(), plugin.dependencies());
 
             return cl;
         } catch (Throwable t) {
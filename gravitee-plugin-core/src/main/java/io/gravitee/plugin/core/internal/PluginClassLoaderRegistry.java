@@ -0,0 +1,222 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.api.PluginClassLoader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reference-counted class loaders of the plugins, shared by the plugin handlers and the plugin managers.
+ * <p>
+ * A class loader is created the first time it is {@link #acquire(Plugin, ClassLoader) acquired} for a plugin and a parent
+ * class loader, and is shared with the next callers asking for the same plugin archive and parent. A redeployed archive,
+ * even extracted at the same location, gets a new class loader since the last modification time of the archive is part of
+ * the lookup key. The class loader is created outside the registry lock: the callers asking for the same plugin meanwhile
+ * wait for it, while the other plugins are served right away.
+ * <p>
+ * Each caller gets its own {@link PluginClassLoader} handle and {@link #release(ClassLoader) releases} it once done, either
+ * directly or by closing the handle: releasing a handle more than once has no effect. The class loader of a class loaded
+ * from a plugin can be released as well, once per acquired handle. The plugin jars are closed when the last reference is
+ * released.
+ * <p>
+ * There is a single registry, shared by all the plugin components whether they are Spring beans or not.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public final class PluginClassLoaderRegistry {
+
+    private static final PluginClassLoaderRegistry INSTANCE = new PluginClassLoaderRegistry();
+
+    private final Map<Key, Entry> entries = new HashMap<>();
+    private final Map<ClassLoader, Entry> entriesByClassLoader = new IdentityHashMap<>();
+    // Handles not released by their owners, which released the class loader of their classes instead, are dropped once unused.
+    private final Map<ClassLoader, Handle> handles = new WeakHashMap<>();
+
+    private PluginClassLoaderRegistry() {}
+
+    public static PluginClassLoaderRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Acquire a reference to the class loader of the given plugin, creating it if needed.
+     *
+     * @param plugin the plugin.
+     * @param parent the parent of the class loader.
+     * @return a handle to the class loader of the plugin, to be released once not used anymore.
+     */
+    public PluginClassLoader acquire(Plugin plugin, ClassLoader parent) {
+        final Key key = Key.of(plugin, parent);
+
+        final Entry entry;
+        final boolean created;
+        synchronized (this) {
+            final Entry existing = entries.get(key);
+            created = existing == null;
+            entry = created ? new Entry(key) : existing;
+            if (created) {
+                entries.put(key, entry);
+            }
+            entry.references++;
+        }
+
+        if (created) {
+            try {
+                final URLClassLoader delegate = new IndexedPluginClassLoader(plugin.dependencies(), parent);
+                synchronized (this) {
+                    entriesByClassLoader.put(delegate, entry);
+                }
+                entry.delegate.complete(delegate);
+                log.debug("Created plugin classloader for {} with classpath {}", plugin.id(), key.urls());
+            } catch (RuntimeException | Error e) {
+                synchronized (this) {
+                    entries.remove(key, entry);
+                }
+                entry.delegate.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        final URLClassLoader delegate;
+        try {
+            delegate = entry.delegate.join();
+        } catch (CompletionException e) {
+            // The class loader could not be created by the caller which acquired it first.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        final Handle handle = new Handle(entry);
+        final PluginClassLoader classLoader = new PluginClassLoader(delegate, handle);
+        synchronized (this) {
+            handles.put(classLoader, handle);
+        }
+        return classLoader;
+    }
+
+    /**
+     * Release a reference to a class loader acquired from this registry, closing it if it was the last one.
+     *
+     * @param classLoader the class loader returned by {@link #acquire(Plugin, ClassLoader)}, or the class loader of a class
+     * loaded from it.
+     * @return <code>true</code> if the class loader is managed by this registry, <code>false</code> otherwise.
+     */
+    public boolean release(ClassLoader classLoader) {
+        final Handle handle;
+        final Entry entry;
+        synchronized (this) {
+            handle = handles.get(classLoader);
+            entry = handle == null ? entriesByClassLoader.get(classLoader) : null;
+        }
+
+        if (handle != null) {
+            handle.close();
+            return true;
+        }
+        if (entry == null) {
+            return false;
+        }
+        release(entry);
+        return true;
+    }
+
+    /**
+     * @param classLoader a class loader.
+     * @return the number of references to the given class loader, <code>0</code> if it is not managed by this registry.
+     */
+    public synchronized int references(ClassLoader classLoader) {
+        final Handle handle = handles.get(classLoader);
+        final Entry entry = handle != null ? handle.entry : entriesByClassLoader.get(classLoader);
+        return entry != null ? entry.references : 0;
+    }
+
+    private void release(Entry entry) {
+        final URLClassLoader delegate;
+        synchronized (this) {
+            if (entry.references == 0 || --entry.references > 0) {
+                return;
+            }
+            // The last reference is only released once the class loader has been handed out.
+            delegate = entry.delegate.join();
+            entries.remove(entry.key, entry);
+            entriesByClassLoader.remove(delegate);
+        }
+
+        try {
+            delegate.close();
+            log.debug("Closed plugin classloader for {}", entry.key.id());
+        } catch (IOException e) {
+            log.warn("Unexpected error while closing the classloader of plugin {}", entry.key.id(), e);
+        }
+    }
+
+    private record Key(String type, String id, List<String> urls, long archiveTimestamp, ClassLoader parent) {
+        private static Key of(Plugin plugin, ClassLoader parent) {
+            return new Key(
+                plugin.type(),
+                plugin.id(),
+                Arrays.stream(plugin.dependencies()).map(URL::toExternalForm).toList(),
+                plugin instanceof PluginImpl pluginImpl ? pluginImpl.getArchiveTimestamp() : 0L,
+                parent
+            );
+        }
+    }
+
+    private static final class Entry {
+
+        private final Key key;
+        private final CompletableFuture<URLClassLoader> delegate = new CompletableFuture<>();
+        private int references;
+
+        private Entry(Key key) {
+            this.key = key;
+        }
+    }
+
+    private final class Handle implements Closeable {
+
+        private final Entry entry;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Handle(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                release(entry);
+            }
+        }
+    }
+}
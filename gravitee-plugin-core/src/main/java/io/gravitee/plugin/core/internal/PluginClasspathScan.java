@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+
+/**
+ * Types of the package of a plugin class, read from the {@link PluginIndex} of the plugin when it has one, or from a
+ * single classpath scan of the plugin jar otherwise.
+ * <p>
+ * While a plugin is being deployed, within a {@link #openScope() scope}, the scans are cached per class loader, jar and
+ * package: the subtypes finders and the configuration resolver share the same scan instead of each scanning the plugin jar
+ * again. The cached scans are released when the scope is closed, once the plugin has been deployed.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public final class PluginClasspathScan {
+
+    private static final ThreadLocal<DeploymentScope> SCOPE = new ThreadLocal<>();
+
+    private final Class<?> clazz;
+    private final ClassLoader classLoader;
+    private final String packageName;
+    private final PluginIndex index;
+    private Reflections reflections;
+
+    private PluginClasspathScan(Class<?> clazz, ClassLoader classLoader) {
+        this.clazz = clazz;
+        this.classLoader = classLoader;
+        this.packageName = clazz.getPackage().getName();
+        this.index = PluginIndex.load(clazz, classLoader);
+    }
+
+    /**
+     * Get the scan of the package of the given class, cached for the current deployment scope if any.
+     *
+     * @param clazz a class of the plugin, whose jar and package are the ones to look into.
+     * @param classLoader the class loader of the plugin.
+     * @return the scan of the package.
+     */
+    public static PluginClasspathScan of(Class<?> clazz, ClassLoader classLoader) {
+        final DeploymentScope scope = SCOPE.get();
+        if (scope == null) {
+            return new PluginClasspathScan(clazz, classLoader);
+        }
+
+        final URL root = ClasspathHelper.forClass(clazz, classLoader);
+        return scope.scans.computeIfAbsent(
+            new ScanKey(classLoader, root != null ? root.toExternalForm() : null, clazz.getPackage().getName()),
+            key -> new PluginClasspathScan(clazz, classLoader)
+        );
+    }
+
+    /**
+     * Open a scope sharing the scans between all the lookups of the current thread, until it gets closed. Scopes can be
+     * nested, the scans are released when the outermost one is closed.
+     *
+     * @return the scope to close once the plugin has been deployed.
+     */
+    public static Scope openScope() {
+        final DeploymentScope current = SCOPE.get();
+        if (current != null) {
+            current.depth++;
+            return current;
+        }
+
+        final DeploymentScope scope = new DeploymentScope();
+        SCOPE.set(scope);
+        return scope;
+    }
+
+    /**
+     * @param type the supertype to look for.
+     * @return the subtypes of the given type declared in the package, or in one of its sub-packages.
+     */
+    public <T> Set<Class<? extends T>> subTypesOf(Class<T> type) {
+        if (index != null && PluginIndex.covers(type.getName())) {
+            return index.subTypesOf(type, packageName, classLoader);
+        }
+        return reflections().getSubTypesOf(type);
+    }
+
+    /**
+     * @param annotation the annotation to look for.
+     * @return the types annotated with the given annotation declared in the package, or in one of its sub-packages.
+     */
+    public Set<Class<?>> typesAnnotatedWith(Class<? extends Annotation> annotation) {
+        if (index != null && PluginIndex.covers(annotation.getName())) {
+            return index.typesAnnotatedWith(annotation, packageName, classLoader);
+        }
+        return reflections().getTypesAnnotatedWith(annotation);
+    }
+
+    private synchronized Reflections reflections() {
+        if (reflections == null) {
+            log.debug("Scanning package {} of plugin class {}", packageName, clazz.getName());
+            reflections =
+                new Reflections(
+                    new ConfigurationBuilder()
+                        .addClassLoader(classLoader)
+                        .setExpandSuperTypes(false)
+                        .setUrls(ClasspathHelper.forClass(clazz, classLoader))
+                        .setScanners(new SubTypesScanner(false), new TypeAnnotationsScanner())
+                        .filterInputsBy(new FilterBuilder().includePackage(packageName))
+                );
+        }
+        return reflections;
+    }
+
+    /**
+     * Scope of the scans shared during the deployment of a plugin.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class DeploymentScope implements Scope {
+
+        private final Map<ScanKey, PluginClasspathScan> scans = new HashMap<>();
+        private int depth;
+
+        @Override
+        public void close() {
+            if (depth > 0) {
+                depth--;
+                return;
+            }
+            scans.clear();
+            SCOPE.remove();
+        }
+    }
+
+    private record ScanKey(ClassLoader classLoader, String root, String packageName) {}
+}
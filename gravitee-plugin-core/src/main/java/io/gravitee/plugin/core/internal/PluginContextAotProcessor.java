@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.aot.ContextAotProcessor;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.javapoet.ClassName;
+
+/**
+ * Generate, while building a plugin, the Spring bean definitions of the plugin context, so that the configuration classes of
+ * the plugin do not have to be parsed when the plugin is deployed.
+ * <p>
+ * The configuration classes of the plugin, and the plugin class itself unless the plugin is a policy, are processed with
+ * Spring AOT, which writes an {@link org.springframework.context.ApplicationContextInitializer} registering the bean
+ * definitions, along with the CGLIB proxies of the configuration classes. Once packaged into the plugin jar, the initializer
+ * is picked up by {@link AnnotationBasedPluginContextConfigurer} in place of the configuration classes.
+ * <p>
+ * The configuration classes are processed with the build environment: plugins whose bean definitions depend on the
+ * runtime configuration, through <code>@Conditional</code> annotations for instance, must not be processed ahead of time.
+ * <p>
+ * Usage: <code>PluginContextAotProcessor &lt;pluginType&gt; &lt;pluginClass&gt; &lt;sourceOutput&gt; &lt;resourceOutput&gt;
+ * &lt;classOutput&gt; &lt;groupId&gt; &lt;artifactId&gt;</code>, with the compiled plugin and its dependencies on the classpath.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class PluginContextAotProcessor extends ContextAotProcessor {
+
+    private static final String INITIALIZER_FEATURE = "ApplicationContextInitializer";
+
+    private final String pluginType;
+    private final Set<Class<?>> configurations;
+
+    public PluginContextAotProcessor(String pluginType, Class<?> pluginClass, Set<Class<?>> configurations, Settings settings) {
+        super(pluginClass, settings);
+        this.pluginType = pluginType;
+        this.configurations = configurations;
+    }
+
+    public static void main(String[] args) throws ClassNotFoundException {
+        if (args.length != 7) {
+            throw new IllegalArgumentException(
+                "Usage: " +
+                PluginContextAotProcessor.class.getName() +
+                " <pluginType> <pluginClass> <sourceOutput> <resourceOutput> <classOutput> <groupId> <artifactId>"
+            );
+        }
+
+        final Class<?> pluginClass = Class.forName(args[1]);
+        final Set<Class<?>> configurations = PluginClasspathScan
+            .of(pluginClass, pluginClass.getClassLoader())
+            .typesAnnotatedWith(Configuration.class);
+        final Settings settings = Settings
+            .builder()
+            .sourceOutput(Path.of(args[2]))
+            .resourceOutput(Path.of(args[3]))
+            .classOutput(Path.of(args[4]))
+            .groupId(args[5])
+            .artifactId(args[6])
+            .build();
+
+        final ClassName initializer = new PluginContextAotProcessor(args[0], pluginClass, configurations, settings).process();
+        log.info("Generated {} for the configurations {} of plugin {}", initializer, configurations, pluginClass.getName());
+    }
+
+    /**
+     * @param pluginClassName the binary name of the plugin class.
+     * @return the name of the context initializer generated ahead of time for the given plugin.
+     */
+    public static String initializerClassName(String pluginClassName) {
+        final int packageEnd = pluginClassName.lastIndexOf('.');
+        final String[] simpleNames = pluginClassName.substring(packageEnd + 1).split("\\$");
+        final ClassName pluginClass = ClassName.get(
+            packageEnd < 0 ? "" : pluginClassName.substring(0, packageEnd),
+            simpleNames[0],
+            Arrays.copyOfRange(simpleNames, 1, simpleNames.length)
+        );
+        return new ClassNameGenerator(pluginClass).generateClassName(INITIALIZER_FEATURE, null).reflectionName();
+    }
+
+    @Override
+    protected GenericApplicationContext prepareApplicationContext(Class<?> pluginClass) {
+        final AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext();
+        applicationContext.setClassLoader(pluginClass.getClassLoader());
+        if (!configurations.isEmpty()) {
+            applicationContext.register(configurations.toArray(new Class[0]));
+        }
+        // Same as AnnotationBasedPluginContextConfigurer#registerBeans, which can not be processed once the context is restored.
+        if (!pluginType.equalsIgnoreCase("policy")) {
+            applicationContext.registerBeanDefinition(
+                pluginClass.getName(),
+                BeanDefinitionBuilder.rootBeanDefinition(pluginClass).getBeanDefinition()
+            );
+        }
+        return applicationContext;
+    }
+}
@@ -18,8 +18,17 @@ package io.gravitee.plugin.core.internal;
 import io.gravitee.plugin.core.api.Plugin;
 import io.gravitee.plugin.core.api.PluginContextConfigurer;
 import io.gravitee.plugin.core.api.PluginContextFactory;
-import java.util.HashMap;
+import io.gravitee.plugin.core.api.PluginPhase;
+import io.gravitee.plugin.core.metrics.PluginMetrics;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
@@ -28,45 +37,89 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ConfigurableApplicationContext;
 
 /**
+ * Create the Spring contexts of the plugins.
+ * <p>
+ * Contexts are refreshed in the calling thread by {@link #create(PluginContextConfigurer)}. When built with a refresh
+ * parallelism greater than one, {@link #createAsync(PluginContextConfigurer)} refreshes them on a dedicated pool instead, so
+ * that the independent contexts of a plugin handler are refreshed in parallel. Refresh times are recorded as the
+ * {@link PluginPhase#CONTEXT_REFRESH} phase of each plugin.
+ *
  * @author David BRASSELY (david at gravitee.io)
  * @author GraviteeSource Team
  */
 public class PluginContextFactoryImpl implements PluginContextFactory, ApplicationContextAware {
 
+    /**
+     * Number of plugin contexts which can be refreshed at the same time by {@link #createAsync(PluginContextConfigurer)}.
+     */
+    public static final String CONTEXT_REFRESH_PARALLELISM_PROPERTY = "plugins.context.refresh.parallelism";
+
     protected final Logger LOGGER = LoggerFactory.getLogger(PluginContextFactoryImpl.class);
 
-    private final Map<Plugin, ConfigurableApplicationContext> pluginContexts = new HashMap<>();
+    private final Map<Plugin, ConfigurableApplicationContext> pluginContexts = new ConcurrentHashMap<>();
+
+    /**
+     * Pool refreshing the contexts created asynchronously, <code>null</code> to refresh them in the calling thread.
+     */
+    private final ExecutorService refreshExecutor;
 
     private ApplicationContext containerContext;
 
+    public PluginContextFactoryImpl() {
+        this(1);
+    }
+
+    public PluginContextFactoryImpl(int refreshParallelism) {
+        this.refreshExecutor = refreshParallelism > 1 ? newRefreshExecutor(refreshParallelism) : null;
+    }
+
     @Override
     public ApplicationContext create(PluginContextConfigurer pluginContextConfigurer) {
-        // Autowire configurer bean
-        containerContext.getAutowireCapableBeanFactory().autowireBean(pluginContextConfigurer);
-
         Plugin plugin = pluginContextConfigurer.plugin();
-        LOGGER.debug("Create context for plugin: {}", plugin.id());
-
-        ConfigurableApplicationContext pluginContext = pluginContextConfigurer.applicationContext();
-        pluginContextConfigurer.registerBeanFactoryPostProcessor();
-        pluginContextConfigurer.registerBeans();
+        ConfigurableApplicationContext pluginContext = prepare(pluginContextConfigurer);
 
-        ClassLoader pluginClassLoader = pluginContextConfigurer.classLoader();
-        ClassLoader containerClassLoader = Thread.currentThread().getContextClassLoader();
         try {
-            Thread.currentThread().setContextClassLoader(pluginClassLoader);
-            pluginContext.refresh();
+            refresh(plugin, pluginContext, pluginContextConfigurer.classLoader());
         } catch (Exception ex) {
             LOGGER.error("Unable to refresh plugin context", ex);
-        } finally {
-            Thread.currentThread().setContextClassLoader(containerClassLoader);
         }
 
-        pluginContexts.putIfAbsent(plugin, pluginContext);
-
+        register(plugin, pluginContext);
         return pluginContext;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The context is refreshed on the refresh pool if any. If the refresh fails, the context is closed and the returned
+     * future completes exceptionally.
+     */
+    @Override
+    public CompletableFuture<ApplicationContext> createAsync(PluginContextConfigurer pluginContextConfigurer) {
+        final Plugin plugin = pluginContextConfigurer.plugin();
+        final ConfigurableApplicationContext pluginContext;
+        try {
+            pluginContext = prepare(pluginContextConfigurer);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        final Executor executor = refreshExecutor != null ? refreshExecutor : Runnable::run;
+        return CompletableFuture.supplyAsync(
+            () -> {
+                try {
+                    refresh(plugin, pluginContext, pluginContextConfigurer.classLoader());
+                } catch (RuntimeException ex) {
+                    pluginContext.close();
+                    throw ex;
+                }
+                register(plugin, pluginContext);
+                return pluginContext;
+            },
+            executor
+        );
+    }
+
     @Override
     public ApplicationContext create(Plugin plugin) {
         return create(new AnnotationBasedPluginContextConfigurer(plugin));
@@ -84,4 +137,57 @@ public class PluginContextFactoryImpl implements PluginContextFactory, Applicati
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.containerContext = applicationContext;
     }
+
+    /**
+     * Stop the refresh pool, once the container is closed.
+     */
+    public void close() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    private ConfigurableApplicationContext prepare(PluginContextConfigurer pluginContextConfigurer) {
+        // Autowire configurer bean
+        containerContext.getAutowireCapableBeanFactory().autowireBean(pluginContextConfigurer);
+
+        LOGGER.debug("Create context for plugin: {}", pluginContextConfigurer.plugin().id());
+
+        ConfigurableApplicationContext pluginContext = pluginContextConfigurer.applicationContext();
+        pluginContextConfigurer.registerBeanFactoryPostProcessor();
+        pluginContextConfigurer.registerBeans();
+        return pluginContext;
+    }
+
+    private void refresh(Plugin plugin, ConfigurableApplicationContext pluginContext, ClassLoader pluginClassLoader) {
+        ClassLoader containerClassLoader = Thread.currentThread().getContextClassLoader();
+        try (PluginStartupRecorder.Timer ignored = PluginStartupRecorder.getInstance().start(plugin, PluginPhase.CONTEXT_REFRESH)) {
+            Thread.currentThread().setContextClassLoader(pluginClassLoader);
+            pluginContext.refresh();
+        } finally {
+            Thread.currentThread().setContextClassLoader(containerClassLoader);
+        }
+    }
+
+    private void register(Plugin plugin, ConfigurableApplicationContext pluginContext) {
+        pluginContexts.putIfAbsent(plugin, pluginContext);
+        PluginMetrics.contextCreated(pluginContext);
+    }
+
+    private ExecutorService newRefreshExecutor(int parallelism) {
+        LOGGER.debug("Refreshing plugin contexts with a parallelism of {}", parallelism);
+        final AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(
+            parallelism,
+            parallelism,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            r -> {
+                final Thread thread = new Thread(r, "gio.plugin-context-refresh-" + counter.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.api.PluginDependency;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Dependency graph of a set of plugins, built from the dependencies declared in the plugin manifests.
+ * <p>
+ * Plugins are indexed by type and by type and id, so that each declared dependency, including <code>*</code> wildcards, is
+ * expanded once into the matching plugins. A dependency matching no plugin is ignored, as is a wildcard dependency of a
+ * plugin on its own type matching the plugin itself.
+ *
+ * @author GraviteeSource Team
+ */
+class PluginDependencyGraph {
+
+    private static final String WILDCARD = "*";
+
+    private final List<Plugin> plugins;
+    private final Map<PluginKey, List<Plugin>> dependencies;
+
+    /**
+     * @param plugins the plugins, in the order they have to be deployed when they do not depend on each other.
+     */
+    PluginDependencyGraph(List<Plugin> plugins) {
+        this.plugins = plugins;
+
+        final Map<String, List<Plugin>> pluginsByType = new HashMap<>();
+        final Map<PluginKey, Plugin> pluginsByKey = new HashMap<>(plugins.size());
+        for (Plugin plugin : plugins) {
+            pluginsByType.computeIfAbsent(plugin.type(), type -> new ArrayList<>()).add(plugin);
+            pluginsByKey.put(PluginKey.of(plugin), plugin);
+        }
+
+        this.dependencies = new HashMap<>(plugins.size());
+        for (Plugin plugin : plugins) {
+            final Set<Plugin> pluginDependencies = new LinkedHashSet<>();
+            for (PluginDependency dependency : plugin.manifest().dependencies()) {
+                final List<Plugin> candidates = WILDCARD.equals(dependency.id())
+                    ? pluginsByType.getOrDefault(dependency.type(), Collections.emptyList())
+                    : singletonOrEmpty(pluginsByKey.get(new PluginKey(dependency.type(), dependency.id())));
+                for (Plugin candidate : candidates) {
+                    if (candidate != plugin && dependency.matches(candidate)) {
+                        pluginDependencies.add(candidate);
+                    }
+                }
+            }
+            dependencies.put(PluginKey.of(plugin), List.copyOf(pluginDependencies));
+        }
+    }
+
+    /**
+     * @param plugin a plugin of the graph.
+     * @return the plugins the given plugin depends on.
+     */
+    List<Plugin> dependencies(Plugin plugin) {
+        return dependencies.getOrDefault(PluginKey.of(plugin), Collections.emptyList());
+    }
+
+    /**
+     * Sort the plugins so that each plugin comes after the plugins it depends on. Plugins not depending on each other keep the
+     * order the graph has been built with.
+     *
+     * @return the plugins in deployment order.
+     * @throws IllegalStateException if plugins depend on each other.
+     */
+    List<Plugin> deploymentOrder() {
+        final List<Plugin> order = new ArrayList<>(plugins.size());
+        final Set<PluginKey> visited = new HashSet<>(plugins.size());
+        final LinkedHashSet<PluginKey> path = new LinkedHashSet<>();
+        for (Plugin plugin : plugins) {
+            visit(plugin, visited, path, order);
+        }
+        return order;
+    }
+
+    private void visit(Plugin plugin, Set<PluginKey> visited, LinkedHashSet<PluginKey> path, List<Plugin> order) {
+        final PluginKey key = PluginKey.of(plugin);
+        if (visited.contains(key)) {
+            return;
+        }
+        if (!path.add(key)) {
+            throw new IllegalStateException("Circular dependency detected between plugins: " + cycle(path, key));
+        }
+
+        for (Plugin dependency : dependencies(plugin)) {
+            visit(dependency, visited, path, order);
+        }
+
+        path.remove(key);
+        visited.add(key);
+        order.add(plugin);
+    }
+
+    private static String cycle(Set<PluginKey> path, PluginKey start) {
+        final List<PluginKey> cycle = new ArrayList<>();
+        boolean inCycle = false;
+        for (PluginKey key : path) {
+            inCycle = inCycle || key.equals(start);
+            if (inCycle) {
+                cycle.add(key);
+            }
+        }
+        cycle.add(start);
+        return cycle.stream().map(PluginKey::toString).collect(Collectors.joining(" -> "));
+    }
+
+    private static List<Plugin> singletonOrEmpty(Plugin plugin) {
+        return plugin != null ? List.of(plugin) : Collections.emptyList();
+    }
+
+    private record PluginKey(String type, String id) {
+        static PluginKey of(Plugin plugin) {
+            return new PluginKey(plugin.type(), plugin.id());
+        }
+
+        @Override
+        public String toString() {
+            return type + ':' + id;
+        }
+    }
+}
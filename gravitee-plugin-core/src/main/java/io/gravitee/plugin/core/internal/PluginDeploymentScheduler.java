@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import io.gravitee.plugin.core.api.Plugin;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deploy plugins concurrently on a bounded pool while keeping the ordering constraints between them.
+ * <p>
+ * Plugins are first sorted in deployment order by the {@link PluginDependencyGraph}, then split into consecutive segments of
+ * plugins the ordering considers equal (same priority and same type rank). A segment starts once the previous one has been
+ * fully deployed, and a plugin starts once the plugins it depends on have been deployed. Within a segment, plugins not
+ * depending on each other are deployed in parallel.
+ * <p>
+ * The deployment of a plugin completes once the work its handlers have left running, such as the refresh of its context,
+ * is done. With a parallelism of <code>1</code>, the plugins are handed to their handlers one after the other in the calling
+ * thread, while the work left running by the handlers still overlaps within a segment.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+class PluginDeploymentScheduler {
+
+    private final int parallelism;
+
+    PluginDeploymentScheduler(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Deploy the given plugins, returning once they have all been deployed.
+     *
+     * @param plugins the plugins, sorted by the given ordering.
+     * @param ordering the ordering constraints between the plugins which do not depend on each other.
+     * @param deployer the action deploying a single plugin, returning a future completing once the plugin is deployed.
+     * @throws IllegalStateException if plugins depend on each other.
+     */
+    void deploy(List<Plugin> plugins, Comparator<Plugin> ordering, Function<Plugin, CompletableFuture<Void>> deployer) {
+        final PluginDependencyGraph graph = new PluginDependencyGraph(plugins);
+        final List<Plugin> deploymentOrder = graph.deploymentOrder();
+
+        final ExecutorService executor = parallelism > 1 && deploymentOrder.size() > 1 ? newExecutor() : null;
+        try {
+            final Map<Plugin, CompletableFuture<Void>> deployments = new IdentityHashMap<>(deploymentOrder.size());
+            CompletableFuture<Void> previousSegment = CompletableFuture.completedFuture(null);
+            List<CompletableFuture<Void>> segment = new ArrayList<>();
+            Plugin previous = null;
+
+            for (Plugin plugin : deploymentOrder) {
+                if (previous != null && ordering.compare(previous, plugin) != 0) {
+                    previousSegment = CompletableFuture.allOf(segment.toArray(CompletableFuture[]::new));
+                    segment = new ArrayList<>();
+                }
+
+                final List<CompletableFuture<Void>> prerequisites = new ArrayList<>();
+                prerequisites.add(previousSegment);
+                graph.dependencies(plugin).forEach(dependency -> prerequisites.add(deployments.get(dependency)));
+                final CompletableFuture<Void> ready = CompletableFuture.allOf(prerequisites.toArray(CompletableFuture[]::new));
+
+                final CompletableFuture<Void> deployment;
+                if (executor != null) {
+                    deployment = ready.thenComposeAsync(ignored -> deployer.apply(plugin), executor);
+                } else {
+                    PluginDeploymentScope.join(ready);
+                    deployment = deployer.apply(plugin);
+                }
+                deployments.put(plugin, deployment);
+                segment.add(deployment);
+                previous = plugin;
+            }
+
+            PluginDeploymentScope.join(CompletableFuture.allOf(deployments.values().toArray(CompletableFuture[]::new)));
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private ExecutorService newExecutor() {
+        log.debug("Deploying plugins with a parallelism of {}", parallelism);
+        final AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(
+            parallelism,
+            parallelism,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            r -> {
+                final Thread thread = new Thread(r, "gio.plugin-deployer-" + counter.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+}
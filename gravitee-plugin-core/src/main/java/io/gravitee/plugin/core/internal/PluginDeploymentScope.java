@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Work started by the plugin handlers while deploying a plugin and still running when they return, such as the refresh of
+ * a plugin context on the refresh pool.
+ * <p>
+ * Within a {@link #open() scope}, the work is tracked and the deployment of the plugin only completes once it is done, so
+ * that the other plugins of the same segment are deployed meanwhile and their contexts refreshed at once. Out of a scope,
+ * the work is awaited right away.
+ *
+ * @author GraviteeSource Team
+ */
+public final class PluginDeploymentScope implements AutoCloseable {
+
+    private static final ThreadLocal<PluginDeploymentScope> SCOPE = new ThreadLocal<>();
+
+    private final PluginDeploymentScope previous;
+    private final List<CompletableFuture<?>> pending = new ArrayList<>();
+
+    private PluginDeploymentScope(PluginDeploymentScope previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Open a scope tracking the work of the handlers deploying a plugin on the current thread, until it gets closed.
+     *
+     * @return the scope to close once the handlers have returned.
+     */
+    public static PluginDeploymentScope open() {
+        final PluginDeploymentScope scope = new PluginDeploymentScope(SCOPE.get());
+        SCOPE.set(scope);
+        return scope;
+    }
+
+    /**
+     * Track work the deployment of the current plugin has to wait for, or wait for it right away if no scope is open.
+     *
+     * @param work the work, completing exceptionally if the plugin can not be deployed.
+     * @throws RuntimeException the failure of the work, when it is waited for right away.
+     */
+    public static void track(CompletableFuture<?> work) {
+        final PluginDeploymentScope scope = SCOPE.get();
+        if (scope == null) {
+            join(work);
+        } else {
+            scope.pending.add(work);
+        }
+    }
+
+    /**
+     * @return a future completing once all the work tracked by this scope is done.
+     */
+    public CompletableFuture<Void> completion() {
+        return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new));
+    }
+
+    @Override
+    public void close() {
+        if (previous != null) {
+            SCOPE.set(previous);
+        } else {
+            SCOPE.remove();
+        }
+    }
+
+    /**
+     * Wait for the given work, rethrowing its failure as is when it is a runtime exception.
+     *
+     * @param work the work to wait for.
+     */
+    static void join(CompletableFuture<?> work) {
+        try {
+            work.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+
+/**
+ * Read-only view of the properties of the container environment, against which the placeholders of the plugin contexts
+ * are resolved.
+ * <p>
+ * The enumerable property sources of the environment are flattened once into a single map, so that a lookup does not have
+ * to go through every property source of the environment. The other property sources, which can not be flattened, are
+ * still looked up, in their order of precedence, but only when they take precedence over the flattened value. System
+ * environment sources are never flattened, as they resolve relaxed property names.
+ * <p>
+ * The snapshot is shared between the plugin contexts, and rebuilt when property sources are added to, removed from or
+ * replaced in the environment, or when the number of entries of a flattened map source changes. Checking it only compares
+ * the property sources by identity and the size of their maps, so that it does not enumerate the properties of the
+ * environment. Values changed in place, and properties added to flattened sources which are not backed by a map, are
+ * only seen once the snapshot is {@link #invalidate() invalidated}, which the plugin event listeners do each time they
+ * start deploying plugins: a batch of plugins deployed together, or a plugin deployed or redeployed while running.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public final class PluginEnvironmentSnapshot extends PropertySource<ConfigurableEnvironment> {
+
+    private static volatile PluginEnvironmentSnapshot shared;
+
+    private final PropertySource<?>[] sources;
+    private final int[] sizes;
+    private final Map<String, Value> values;
+    private final List<Lookup> lookups;
+
+    private PluginEnvironmentSnapshot(ConfigurableEnvironment environment) {
+        super(PropertySourcesPlaceholderConfigurer.ENVIRONMENT_PROPERTIES_PROPERTY_SOURCE_NAME, environment);
+
+        final List<PropertySource<?>> propertySources = new ArrayList<>();
+        environment.getPropertySources().forEach(propertySources::add);
+
+        this.sources = propertySources.toArray(new PropertySource<?>[0]);
+        this.sizes = new int[sources.length];
+        this.values = new HashMap<>();
+        this.lookups = new ArrayList<>();
+
+        for (int i = 0; i < sources.length; i++) {
+            if (flattened(sources[i])) {
+                final EnumerablePropertySource<?> source = (EnumerablePropertySource<?>) sources[i];
+                final String[] names = source.getPropertyNames();
+                sizes[i] = size(source);
+                for (String name : names) {
+                    if (!values.containsKey(name)) {
+                        final Object value = source.getProperty(name);
+                        if (value != null) {
+                            values.put(name, new Value(i, value));
+                        }
+                    }
+                }
+            } else {
+                lookups.add(new Lookup(i, sources[i]));
+            }
+        }
+
+        log.debug("Flattened {} properties of the environment, {} property sources are looked up", values.size(), lookups.size());
+    }
+
+    /**
+     * Get the snapshot of the given environment, shared with the other plugin contexts as long as the environment does not
+     * change.
+     *
+     * @param environment the container environment.
+     * @return the snapshot of the environment.
+     */
+    public static PluginEnvironmentSnapshot of(ConfigurableEnvironment environment) {
+        PluginEnvironmentSnapshot snapshot = shared;
+        if (snapshot == null || snapshot.getSource() != environment || snapshot.isStale()) {
+            snapshot = new PluginEnvironmentSnapshot(environment);
+            shared = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Discard the shared snapshot, so that the next plugin contexts see the values changed in place in the environment.
+     */
+    public static void invalidate() {
+        shared = null;
+    }
+
+    @Override
+    public boolean containsProperty(String name) {
+        return getProperty(name) != null;
+    }
+
+    @Override
+    public String getProperty(String name) {
+        final Value value = values.get(name);
+        final int precedence = value != null ? value.source : sources.length;
+
+        for (Lookup lookup : lookups) {
+            if (lookup.index > precedence) {
+                break;
+            }
+            final Object candidate = lookup.source.getProperty(name);
+            if (candidate != null) {
+                return convertToString(candidate);
+            }
+        }
+
+        return value != null ? convertToString(value.value) : null;
+    }
+
+    private String convertToString(Object value) {
+        // Same conversion as the placeholder configurer, which relies on the conversion service of the environment.
+        if (value instanceof String string) {
+            return string;
+        }
+        return getSource().getConversionService().convert(value, String.class);
+    }
+
+    private boolean isStale() {
+        final int count = getSource().getPropertySources().size();
+        if (count != sources.length) {
+            return true;
+        }
+
+        int i = 0;
+        for (PropertySource<?> source : getSource().getPropertySources()) {
+            if (source != sources[i]) {
+                return true;
+            }
+            if (flattened(source) && size(source) != sizes[i]) {
+                return true;
+            }
+            i++;
+        }
+        return false;
+    }
+
+    private static int size(PropertySource<?> source) {
+        // Only the sources backed by a map can be sized without enumerating their properties.
+        return source instanceof MapPropertySource mapSource ? mapSource.getSource().size() : -1;
+    }
+
+    private static boolean flattened(PropertySource<?> source) {
+        return source instanceof EnumerablePropertySource && !(source instanceof SystemEnvironmentPropertySource);
+    }
+
+    private record Value(int source, Object value) {}
+
+    private record Lookup(int index, PropertySource<?> source) {}
+}
@@ -40,14 +40,19 @@ public class PluginEventListener extends AbstractPluginEventListener {
         switch (event.type()) {
             case DEPLOYED:
                 log.debug("Receive an event for plugin {} [{}]", event.content().id(), event.type());
-                addPlugin(event.content());
+                if (addPlugin(event.content()) && isPluginsDeployed()) {
+                    // The plugin has been added to the registry while running, deploy it right away.
+                    deployPlugin(event.content());
+                }
                 break;
             case ENDED:
                 log.info("All plugins have been loaded. Installing...");
                 deployPlugins();
+                PluginStartupRecorder.getInstance().log();
                 break;
             case UNDEPLOYED:
-                // no op
+                log.debug("Receive an event for plugin {} [{}]", event.content().id(), event.type());
+                removePlugin(event.content());
                 break;
         }
     }
@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps track of the plugin archives that have already been extracted into their working directory.
+ * <p>
+ * Once a plugin archive has been extracted, a sidecar file is written at the root of the working directory. It holds the
+ * fingerprint of the archive, the plugin manifest and the plugin jars relative to the working directory. When the archive
+ * has not changed on the next start, the working directory is reused as is: there is no need to unzip the archive, nor to
+ * walk the jar tree looking for the manifest and the dependencies.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+class PluginExtractionCache {
+
+    static final String SIDECAR_FILE = ".plugin-cache.properties";
+
+    private static final String FINGERPRINT_SIZE = "fingerprint.size";
+    private static final String FINGERPRINT_LAST_MODIFIED = "fingerprint.lastModified";
+    private static final String FINGERPRINT_HASH = "fingerprint.hash";
+    private static final String DEPENDENCIES = "dependencies";
+    private static final String MANIFEST_PREFIX = "manifest.";
+    private static final String DEPENDENCY_SEPARATOR = ",";
+
+    /**
+     * Look for a previous extraction of the archive matching the given fingerprint.
+     *
+     * @param workDir the working directory of the plugin.
+     * @param fingerprint the fingerprint of the plugin archive.
+     * @return the cached extraction or <code>null</code> if the working directory does not match the archive.
+     */
+    CachedExtraction lookup(Path workDir, PluginArchiveFingerprint fingerprint) {
+        final Path sidecar = workDir.resolve(SIDECAR_FILE);
+        if (!Files.isRegularFile(sidecar)) {
+            return null;
+        }
+
+        try {
+            final Properties properties = new Properties();
+            try (InputStream is = Files.newInputStream(sidecar)) {
+                properties.load(is);
+            }
+
+            if (!fingerprint.equals(readFingerprint(properties))) {
+                log.debug("Plugin archive has changed since the last extraction into {}", workDir);
+                return null;
+            }
+
+            final List<Path> dependencies = new ArrayList<>();
+            for (String dependency : properties.getProperty(DEPENDENCIES, "").split(DEPENDENCY_SEPARATOR)) {
+                if (!dependency.isEmpty()) {
+                    final Path dependencyPath = workDir.resolve(dependency);
+                    if (!Files.isRegularFile(dependencyPath)) {
+                        log.debug("Plugin dependency {} is missing from {}", dependency, workDir);
+                        return null;
+                    }
+                    dependencies.add(dependencyPath);
+                }
+            }
+
+            final Properties manifest = new Properties();
+            properties
+                .stringPropertyNames()
+                .stream()
+                .filter(name -> name.startsWith(MANIFEST_PREFIX))
+                .forEach(name -> manifest.setProperty(name.substring(MANIFEST_PREFIX.length()), properties.getProperty(name)));
+
+            return new CachedExtraction(manifest, dependencies);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to read plugin extraction cache from {}, the archive will be extracted again", sidecar, e);
+            return null;
+        }
+    }
+
+    /**
+     * Record the extraction of an archive into the given working directory.
+     * The sidecar is written atomically, so that an interrupted write never results in a partial cache entry.
+     *
+     * @param workDir the working directory of the plugin.
+     * @param fingerprint the fingerprint of the plugin archive.
+     * @param manifest the plugin manifest properties.
+     * @param dependencies the plugin jars, located under the working directory.
+     */
+    void store(Path workDir, PluginArchiveFingerprint fingerprint, Properties manifest, List<Path> dependencies) {
+        final Properties properties = new Properties();
+        properties.setProperty(FINGERPRINT_SIZE, Long.toString(fingerprint.size()));
+        properties.setProperty(FINGERPRINT_LAST_MODIFIED, Long.toString(fingerprint.lastModified()));
+        properties.setProperty(FINGERPRINT_HASH, Long.toString(fingerprint.hash()));
+        properties.setProperty(
+            DEPENDENCIES,
+            String.join(
+                DEPENDENCY_SEPARATOR,
+                dependencies.stream().map(dependency -> workDir.relativize(dependency).toString().replace('\\', '/')).toList()
+            )
+        );
+        manifest.stringPropertyNames().forEach(name -> properties.setProperty(MANIFEST_PREFIX + name, manifest.getProperty(name)));
+
+        final Path sidecar = workDir.resolve(SIDECAR_FILE);
+        try {
+            final Path tmp = Files.createTempFile(workDir, SIDECAR_FILE, ".tmp");
+            try (OutputStream os = Files.newOutputStream(tmp)) {
+                properties.store(os, null);
+            }
+            Files.move(tmp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Unable to write plugin extraction cache to {}", sidecar, e);
+        }
+    }
+
+    private static PluginArchiveFingerprint readFingerprint(Properties properties) {
+        final String size = properties.getProperty(FINGERPRINT_SIZE);
+        final String lastModified = properties.getProperty(FINGERPRINT_LAST_MODIFIED);
+        final String hash = properties.getProperty(FINGERPRINT_HASH);
+        if (size == null || lastModified == null || hash == null) {
+            return null;
+        }
+        return new PluginArchiveFingerprint(Long.parseLong(size), Long.parseLong(lastModified), Long.parseLong(hash));
+    }
+
+    record CachedExtraction(Properties manifest, List<Path> dependencies) {}
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import io.gravitee.plugin.core.utils.FileUtils;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A store of extracted plugin archives, shared by all the nodes having access to the store directory.
+ * <p>
+ * Each distinct archive is extracted only once into the store, in a directory named after the archive fingerprint. The
+ * working directory of a plugin is then built by hard-linking the files of the store entry, so that the nodes sharing the
+ * store do not each write their own copy of the plugin. Files are copied when hard links are not supported, typically when
+ * the store and the working directories are not on the same file system.
+ * <p>
+ * Store entries are written in a staging directory first, then renamed atomically. When several nodes extract the same
+ * archive concurrently, the first rename wins and the other staging directories are discarded.
+ * <p>
+ * Entries are {@link #prune(Duration) pruned} once no working directory links to their files anymore and they have not
+ * been used for a while, along with the staging directories left behind by interrupted extractions.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+class PluginExtractionStore {
+
+    private static final String STAGING_PREFIX = ".staging-";
+    private static final String NLINK_ATTRIBUTE = "unix:nlink";
+    private static final String ZIP_EXTENSION = ".zip";
+
+    private final Path storePath;
+
+    PluginExtractionStore(Path storePath) {
+        this.storePath = storePath;
+    }
+
+    /**
+     * @param archive the plugin archive.
+     * @param fingerprint the fingerprint of the archive.
+     * @return the directory of the store holding the extraction of the archive, which may not exist yet.
+     */
+    Path entry(Path archive, PluginArchiveFingerprint fingerprint) {
+        String name = archive.getFileName().toString();
+        if (name.endsWith(ZIP_EXTENSION)) {
+            name = name.substring(0, name.length() - ZIP_EXTENSION.length());
+        }
+        return storePath.resolve(name + '-' + fingerprint.size() + '-' + Long.toHexString(fingerprint.hash()));
+    }
+
+    /**
+     * @return a new staging directory to extract an archive to, before committing it with {@link #commit(Path, Path)}.
+     * @throws IOException if the directory can not be created.
+     */
+    Path newStagingDir() throws IOException {
+        Files.createDirectories(storePath);
+        return Files.createTempDirectory(storePath, STAGING_PREFIX);
+    }
+
+    /**
+     * Atomically move a staging directory to its store entry. The staging directory is discarded if the entry has been
+     * committed in the meantime by another node.
+     *
+     * @param stagingDir the staging directory.
+     * @param entry the store entry.
+     * @throws IOException if the staging directory can not be moved nor discarded.
+     */
+    void commit(Path stagingDir, Path entry) throws IOException {
+        try {
+            Files.move(stagingDir, entry, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (!Files.isDirectory(entry)) {
+                throw e;
+            }
+            log.debug("Plugin store entry {} has already been committed", entry);
+            FileUtils.delete(stagingDir);
+        }
+    }
+
+    /**
+     * Build a working directory from a store entry. Any previous content of the working directory is deleted.
+     *
+     * @param entry the store entry.
+     * @param workDir the working directory.
+     * @throws IOException if the working directory can not be built.
+     */
+    void link(Path entry, Path workDir) throws IOException {
+        // The entry is marked as used, so that it is not pruned while its files are being linked.
+        try {
+            Files.setLastModifiedTime(entry, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            log.debug("Unable to mark plugin store entry {} as used", entry, e);
+        }
+
+        FileUtils.delete(workDir);
+        Files.walkFileTree(
+            entry,
+            new SimpleFileVisitor<>() {
+                private boolean linkSupported = true;
+
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    Files.createDirectories(workDir.resolve(entry.relativize(dir)));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    final Path target = workDir.resolve(entry.relativize(file));
+                    if (linkSupported) {
+                        try {
+                            Files.createLink(target, file);
+                            return FileVisitResult.CONTINUE;
+                        } catch (UnsupportedOperationException | IOException e) {
+                            log.debug("Unable to hard-link {}, plugin files are copied to {}", file, workDir, e);
+                            linkSupported = false;
+                        }
+                    }
+                    Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+                    return FileVisitResult.CONTINUE;
+                }
+            }
+        );
+    }
+
+    /**
+     * Delete the entries which are not linked to by any working directory, and the staging directories left behind by
+     * interrupted extractions. Only the ones which have not been used for the given retention are deleted, so that an entry
+     * being extracted or linked by another node is kept.
+     * <p>
+     * Working directories reference the files of an entry through hard links, an entry is no longer referenced once none of
+     * its files has another link. Entries are never pruned on file systems which do not expose the number of links, nor
+     * when the working directories are copied from the store since they do not depend on it anymore.
+     *
+     * @param retention the time an entry or a staging directory is kept after its last use.
+     * @return the number of entries and staging directories deleted.
+     * @throws IOException if the store can not be listed.
+     */
+    int prune(Duration retention) throws IOException {
+        if (!Files.isDirectory(storePath)) {
+            return 0;
+        }
+
+        final Instant expiration = Instant.now().minus(retention);
+        int pruned = 0;
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(storePath, Files::isDirectory)) {
+            for (Path directory : directories) {
+                final boolean staging = isStaging(directory);
+                try {
+                    if (Files.getLastModifiedTime(directory).toInstant().isAfter(expiration) || (!staging && isReferenced(directory))) {
+                        continue;
+                    }
+                    // The entry is moved away first, so that it is never seen partially deleted.
+                    Path discarded = directory;
+                    if (!staging) {
+                        discarded = storePath.resolve(STAGING_PREFIX + UUID.randomUUID());
+                        Files.move(directory, discarded, StandardCopyOption.ATOMIC_MOVE);
+                    }
+                    FileUtils.delete(discarded);
+                    log.debug("Pruned plugin store entry {}", directory);
+                    pruned++;
+                } catch (IOException | UncheckedIOException e) {
+                    log.warn("Unable to prune plugin store entry {}", directory, e);
+                }
+            }
+        }
+        return pruned;
+    }
+
+    private static boolean isStaging(Path directory) {
+        return directory.getFileName().toString().startsWith(STAGING_PREFIX);
+    }
+
+    private static boolean isReferenced(Path entry) throws IOException {
+        try (Stream<Path> files = Files.walk(entry)) {
+            return files.filter(Files::isRegularFile).anyMatch(PluginExtractionStore::isLinked);
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            // The number of links is unknown, the entry may still be in use.
+            return true;
+        }
+    }
+
+    private static boolean isLinked(Path file) {
+        try {
+            return ((Number) Files.getAttribute(file, NLINK_ATTRIBUTE)).intValue() > 1;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+}
@@ -17,6 +17,7 @@ package io.gravitee.plugin.core.internal;
 
 import io.gravitee.plugin.core.api.Plugin;
 import io.gravitee.plugin.core.api.PluginManifest;
+import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.util.Objects;
@@ -44,6 +45,16 @@ public class PluginImpl implements Plugin {
     @Setter
     private long archiveTimestamp;
 
+    /**
+     * Pending resolution of the plugin {@link #path()} and {@link #dependencies()}, <code>null</code> once resolved.
+     */
+    private volatile LazyResolution lazyResolution;
+
+    /**
+     * Failure of the deferred resolution, rethrown on each access to the plugin {@link #path()} and {@link #dependencies()}.
+     */
+    private volatile PluginResolutionException resolutionFailure;
+
     PluginImpl(PluginManifest manifest) {
         this.manifest = manifest;
     }
@@ -65,6 +76,7 @@ public class PluginImpl implements Plugin {
 
     @Override
     public Path path() {
+        resolve();
         return path;
     }
 
@@ -75,6 +87,7 @@ public class PluginImpl implements Plugin {
 
     @Override
     public URL[] dependencies() {
+        resolve();
         return dependencies;
     }
 
@@ -83,8 +96,45 @@ public class PluginImpl implements Plugin {
         return deployed;
     }
 
+    /**
+     * Defer the resolution of the plugin {@link #path()} and {@link #dependencies()} until one of them is accessed.
+     * The resolution runs at most once, whatever the number of threads accessing the plugin concurrently.
+     *
+     * @param lazyResolution the resolution, expected to set the plugin path and dependencies.
+     */
+    void setLazyResolution(LazyResolution lazyResolution) {
+        this.lazyResolution = lazyResolution;
+    }
+
+    boolean resolved() {
+        return lazyResolution == null && resolutionFailure == null;
+    }
+
+    private void resolve() {
+        if (lazyResolution != null || resolutionFailure != null) {
+            synchronized (this) {
+                if (resolutionFailure != null) {
+                    throw resolutionFailure;
+                }
+                final LazyResolution resolution = lazyResolution;
+                if (resolution != null) {
+                    try {
+                        resolution.resolve(this);
+                    } catch (IOException | RuntimeException e) {
+                        // The resolution is not retried, the plugin is no longer valid.
+                        resolutionFailure = new PluginResolutionException(id(), e);
+                        lazyResolution = null;
+                        throw resolutionFailure;
+                    }
+                    lazyResolution = null;
+                    resolution.resolved(this);
+                }
+            }
+        }
+    }
+
     public boolean valid() {
-        return id() != null && !Objects.equals(id(), "");
+        return id() != null && !Objects.equals(id(), "") && resolutionFailure == null;
     }
 
     @Override
@@ -101,4 +151,16 @@ public class PluginImpl implements Plugin {
     public int hashCode() {
         return id().hashCode();
     }
+
+    @FunctionalInterface
+    interface LazyResolution {
+        void resolve(PluginImpl plugin) throws IOException;
+
+        /**
+         * Called once the plugin is resolved, when its {@link #path()} and {@link #dependencies()} can be accessed.
+         *
+         * @param plugin the resolved plugin.
+         */
+        default void resolved(PluginImpl plugin) {}
+    }
 }
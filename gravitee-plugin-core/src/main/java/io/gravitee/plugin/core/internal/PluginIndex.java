@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Index of the types of a plugin jar, written at compile time by the plugin index annotation processor of
+ * <code>gravitee-plugin-annotation-processors</code>.
+ * <p>
+ * The index is a properties file located at {@value #INDEX_FILE} in the plugin jar. Each key is the name of a supertype or
+ * of an annotation, and its value the comma separated binary names of the types of the jar extending, implementing or
+ * annotated with it. Only the types of the <code>io.gravitee</code> packages and the Spring <code>@Configuration</code>
+ * annotation are indexed, see {@link #covers(String)}: the plugin jar still has to be scanned to look for any other type.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public final class PluginIndex {
+
+    /**
+     * Location of the index in the plugin jar. Must be kept in line with the annotation processor writing it.
+     */
+    public static final String INDEX_FILE = "META-INF/gravitee/plugin-index.properties";
+
+    static final String INDEXED_PACKAGE_PREFIX = "io.gravitee.";
+    static final String SPRING_CONFIGURATION_ANNOTATION = "org.springframework.context.annotation.Configuration";
+
+    private static final String SEPARATOR = ",";
+    private static final String CLASS_EXTENSION = ".class";
+
+    private final Properties entries;
+
+    private PluginIndex(Properties entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Load the index of the jar, or the directory, the given class has been loaded from.
+     *
+     * @param clazz a class of the plugin.
+     * @param classLoader the class loader of the plugin.
+     * @return the index or <code>null</code> if the plugin has been built without it.
+     */
+    public static PluginIndex load(Class<?> clazz, ClassLoader classLoader) {
+        final String classResource = clazz.getName().replace('.', '/') + CLASS_EXTENSION;
+        final URL classUrl = classLoader.getResource(classResource);
+        if (classUrl == null) {
+            return null;
+        }
+
+        final String location = classUrl.toExternalForm();
+        if (!location.endsWith(classResource)) {
+            return null;
+        }
+
+        try {
+            final URL indexUrl = new URL(location.substring(0, location.length() - classResource.length()) + INDEX_FILE);
+            final URLConnection connection = indexUrl.openConnection();
+            // Do not keep the plugin jar opened through the JVM wide cache of jar files.
+            connection.setUseCaches(false);
+
+            final Properties entries = new Properties();
+            try (InputStream is = connection.getInputStream()) {
+                entries.load(is);
+            }
+            log.debug("Plugin index found for {}", clazz.getName());
+            return new PluginIndex(entries);
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Unable to read the plugin index of {}, falling back to a classpath scan", clazz.getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * @param typeName the name of a supertype or of an annotation.
+     * @return <code>true</code> if the types related to the given one are listed by the index, whether there are any or not.
+     */
+    public static boolean covers(String typeName) {
+        return typeName.startsWith(INDEXED_PACKAGE_PREFIX) || typeName.equals(SPRING_CONFIGURATION_ANNOTATION);
+    }
+
+    /**
+     * Load the indexed subtypes of the given type, restricted to the given package and its sub-packages, as a classpath scan
+     * filtered on the package would do.
+     *
+     * @param type the supertype, which must be {@link #covers(String) covered} by the index.
+     * @param packageName the package to look into.
+     * @param classLoader the class loader of the plugin.
+     * @return the indexed subtypes.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Set<Class<? extends T>> subTypesOf(Class<T> type, String packageName, ClassLoader classLoader) {
+        final Set<Class<? extends T>> subTypes = new LinkedHashSet<>();
+        typesOf(type.getName(), packageName, classLoader).forEach(subType -> subTypes.add((Class<? extends T>) subType));
+        return subTypes;
+    }
+
+    /**
+     * Load the indexed types annotated with the given annotation, restricted to the given package and its sub-packages.
+     *
+     * @param annotation the annotation, which must be {@link #covers(String) covered} by the index.
+     * @param packageName the package to look into.
+     * @param classLoader the class loader of the plugin.
+     * @return the indexed annotated types.
+     */
+    public Set<Class<?>> typesAnnotatedWith(Class<? extends Annotation> annotation, String packageName, ClassLoader classLoader) {
+        return typesOf(annotation.getName(), packageName, classLoader);
+    }
+
+    private Set<Class<?>> typesOf(String typeName, String packageName, ClassLoader classLoader) {
+        final String value = entries.getProperty(typeName);
+        final Set<Class<?>> types = new LinkedHashSet<>();
+        if (value == null || value.isEmpty()) {
+            return types;
+        }
+
+        final String packagePrefix = packageName + '.';
+        for (String name : value.split(SEPARATOR)) {
+            if (name.startsWith(packagePrefix)) {
+                try {
+                    types.add(Class.forName(name, false, classLoader));
+                } catch (ClassNotFoundException | LinkageError e) {
+                    log.debug("Unable to load indexed type {}", name, e);
+                }
+            }
+        }
+        return types;
+    }
+}
@@ -32,6 +32,26 @@ public class PluginRegistryConfiguration implements InitializingBean {
 
     private static final String PLUGIN_PATH_PROPERTY = "plugins.path[%s]";
 
+    private static final String PLUGIN_EXTRACTION_CACHE_PROPERTY = "plugins.extraction.cache.enabled";
+
+    private static final String PLUGIN_MANIFEST_FIRST_SCAN_PROPERTY = "plugins.scan.manifestFirst";
+
+    private static final String PLUGIN_LAZY_EXTRACTION_PROPERTY = "plugins.extraction.lazy";
+
+    private static final String PLUGIN_EXTRACTION_PARALLELISM_PROPERTY = "plugins.extraction.parallelism";
+
+    private static final String PLUGIN_EXTRACTION_STORE_PROPERTY = "plugins.extraction.store";
+
+    private static final String PLUGIN_REGISTRY_CONCURRENCY_PROPERTY = "plugins.registry.concurrency";
+
+    private static final String PLUGIN_INDEX_ENABLED_PROPERTY = "plugins.index.enabled";
+
+    private static final String PLUGIN_INDEX_PATH_PROPERTY = "plugins.index.path";
+
+    private static final String PLUGIN_WATCH_ENABLED_PROPERTY = "plugins.watch.enabled";
+
+    private static final String PLUGIN_WATCH_DELAY_PROPERTY = "plugins.watch.delay";
+
     @Value("${plugins.path:${gravitee.home}/plugins}")
     private String defaultPluginPath;
 
@@ -42,6 +62,26 @@ public class PluginRegistryConfiguration implements InitializingBean {
 
     private String pluginWorkDir;
 
+    private boolean extractionCacheEnabled;
+
+    private boolean manifestFirstScanEnabled;
+
+    private boolean lazyExtractionEnabled;
+
+    private int extractionParallelism;
+
+    private String extractionStorePath;
+
+    private int registryConcurrency;
+
+    private boolean indexEnabled;
+
+    private String indexPath;
+
+    private boolean watchEnabled;
+
+    private long watchDelay;
+
     public void afterPropertiesSet() {
         String key = String.format(PLUGIN_PATH_PROPERTY, 0);
         List<String> paths = new ArrayList<>();
@@ -61,6 +101,34 @@ public class PluginRegistryConfiguration implements InitializingBean {
         pluginsPath = paths.toArray(new String[] {});
 
         pluginWorkDir = environment.getProperty(PLUGIN_WORK_DIR_PROPERTY);
+
+        extractionCacheEnabled = environment.getProperty(PLUGIN_EXTRACTION_CACHE_PROPERTY, Boolean.class, false);
+
+        manifestFirstScanEnabled = environment.getProperty(PLUGIN_MANIFEST_FIRST_SCAN_PROPERTY, Boolean.class, false);
+
+        lazyExtractionEnabled = environment.getProperty(PLUGIN_LAZY_EXTRACTION_PROPERTY, Boolean.class, false);
+
+        extractionParallelism = environment.getProperty(
+            PLUGIN_EXTRACTION_PARALLELISM_PROPERTY,
+            Integer.class,
+            Runtime.getRuntime().availableProcessors()
+        );
+
+        extractionStorePath = environment.getProperty(PLUGIN_EXTRACTION_STORE_PROPERTY);
+
+        registryConcurrency = environment.getProperty(
+            PLUGIN_REGISTRY_CONCURRENCY_PROPERTY,
+            Integer.class,
+            Runtime.getRuntime().availableProcessors() * 2
+        );
+
+        indexEnabled = environment.getProperty(PLUGIN_INDEX_ENABLED_PROPERTY, Boolean.class, false);
+
+        indexPath = environment.getProperty(PLUGIN_INDEX_PATH_PROPERTY);
+
+        watchEnabled = environment.getProperty(PLUGIN_WATCH_ENABLED_PROPERTY, Boolean.class, false);
+
+        watchDelay = environment.getProperty(PLUGIN_WATCH_DELAY_PROPERTY, Long.class, 1000L);
     }
 
     public String[] getPluginsPath() {
@@ -78,4 +146,84 @@ public class PluginRegistryConfiguration implements InitializingBean {
     public void setPluginWorkDir(String pluginWorkDir) {
         this.pluginWorkDir = pluginWorkDir;
     }
+
+    public boolean isExtractionCacheEnabled() {
+        return extractionCacheEnabled;
+    }
+
+    public void setExtractionCacheEnabled(boolean extractionCacheEnabled) {
+        this.extractionCacheEnabled = extractionCacheEnabled;
+    }
+
+    public boolean isManifestFirstScanEnabled() {
+        return manifestFirstScanEnabled;
+    }
+
+    public void setManifestFirstScanEnabled(boolean manifestFirstScanEnabled) {
+        this.manifestFirstScanEnabled = manifestFirstScanEnabled;
+    }
+
+    public boolean isLazyExtractionEnabled() {
+        return lazyExtractionEnabled;
+    }
+
+    public void setLazyExtractionEnabled(boolean lazyExtractionEnabled) {
+        this.lazyExtractionEnabled = lazyExtractionEnabled;
+    }
+
+    public int getExtractionParallelism() {
+        return extractionParallelism;
+    }
+
+    public void setExtractionParallelism(int extractionParallelism) {
+        this.extractionParallelism = extractionParallelism;
+    }
+
+    public String getExtractionStorePath() {
+        return extractionStorePath;
+    }
+
+    public void setExtractionStorePath(String extractionStorePath) {
+        this.extractionStorePath = extractionStorePath;
+    }
+
+    public int getRegistryConcurrency() {
+        return registryConcurrency;
+    }
+
+    public void setRegistryConcurrency(int registryConcurrency) {
+        this.registryConcurrency = registryConcurrency;
+    }
+
+    public boolean isIndexEnabled() {
+        return indexEnabled;
+    }
+
+    public void setIndexEnabled(boolean indexEnabled) {
+        this.indexEnabled = indexEnabled;
+    }
+
+    public String getIndexPath() {
+        return indexPath;
+    }
+
+    public void setIndexPath(String indexPath) {
+        this.indexPath = indexPath;
+    }
+
+    public boolean isWatchEnabled() {
+        return watchEnabled;
+    }
+
+    public void setWatchEnabled(boolean watchEnabled) {
+        this.watchEnabled = watchEnabled;
+    }
+
+    public long getWatchDelay() {
+        return watchDelay;
+    }
+
+    public void setWatchDelay(long watchDelay) {
+        this.watchDelay = watchDelay;
+    }
 }
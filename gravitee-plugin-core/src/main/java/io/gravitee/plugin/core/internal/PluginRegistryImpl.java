@@ -20,17 +20,29 @@ import io.gravitee.common.service.AbstractService;
 import io.gravitee.plugin.core.api.*;
 import io.gravitee.plugin.core.utils.FileUtils;
 import io.gravitee.plugin.core.utils.GlobMatchingFileVisitor;
+import io.gravitee.plugin.core.utils.ZipArchive;
+import io.gravitee.plugin.core.utils.ZipExtractor;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.net.URL;
 import java.nio.file.*;
-import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -60,7 +72,9 @@ public class PluginRegistryImpl extends AbstractService<PluginRegistry> implemen
     private static final String ZIP_EXTENSION = ".zip";
     private static final String ZIP_GLOB = '*' + ZIP_EXTENSION;
 
-    private static final String PLUGIN_MANIFEST_FILE = "plugin.properties";
+    private static final long INDEX_UPDATE_DELAY_MS = 1000;
+
+    private static final Duration EXTRACTION_STORE_RETENTION = Duration.ofHours(1);
 
     private static final Map<String, String> PLUGIN_TYPE_PROPERTY_ALIASES = new HashMap<>();
 
@@ -82,11 +96,38 @@ public class PluginRegistryImpl extends AbstractService<PluginRegistry> implemen
     private final EventManager eventManager;
     private final List<BootPluginHandler> bootPluginHandlerList;
 
-    private final List<Plugin> plugins = new ArrayList<>();
+    private final List<Plugin> plugins = new CopyOnWriteArrayList<>();
     private final Map<String, Map<String, Plugin>> pluginByType = new ConcurrentHashMap<>();
+    private final Map<Path, PluginCandidate> candidatesByArchive = new ConcurrentHashMap<>();
+    private final PluginExtractionCache extractionCache = new PluginExtractionCache();
+
+    /**
+     * Work directories of the archives deployed while running, which are never extracted where a deployed plugin lives.
+     */
+    private final Map<Path, Path> reloadedWorkDirs = new ConcurrentHashMap<>();
+
+    /**
+     * Content of the plugin index, kept to persist the plugins extracted on first access, <code>null</code> if the index is
+     * disabled.
+     */
+    private IndexContent indexContent;
+
+    /**
+     * Whether plugins have been extracted on first access since the index has been written.
+     */
+    private final AtomicBoolean indexUpdatePending = new AtomicBoolean();
+
+    /**
+     * Whether the plugins have been deployed, the index being then updated shortly after each extraction on first access.
+     */
+    private volatile boolean deployed;
 
     private String[] workspacesPath;
     private boolean init = false;
+    private ZipExtractor extractor;
+    private PluginExtractionStore extractionStore;
+    private String[] registriesPath;
+    private PluginRegistryWatcher watcher;
 
     public void setWorkspacesPath(String workspacePath) {
         this.workspacesPath = new String[] { workspacePath };
@@ -123,6 +164,40 @@ public class PluginRegistryImpl extends AbstractService<PluginRegistry> implemen
 
         // Publish the ENDED event when the plugins list is ready
         eventManager.publishEvent(PluginEvent.ENDED, null);
+
+        // The plugins extracted on first access while being deployed are indexed at once.
+        deployed = true;
+        updateIndex();
+
+        if (extractionStore != null) {
+            // The entries of the store are walked in the background, the plugins do not wait for them to be pruned.
+            CompletableFuture.runAsync(this::pruneExtractionStore, executor);
+        }
+
+        if (configuration.isWatchEnabled()) {
+            watcher =
+                new PluginRegistryWatcher(
+                    Arrays.stream(registriesPath).map(Paths::get).toList(),
+                    configuration.getWatchDelay(),
+                    this::reload
+                );
+            watcher.start();
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        updateIndex();
+
+        if (watcher != null) {
+            watcher.close();
+        }
+
+        if (extractor != null) {
+            extractor.close();
+        }
     }
 
     private void init() throws Exception {
@@ -142,29 +217,83 @@ public class PluginRegistryImpl extends AbstractService<PluginRegistry> implemen
             pluginsPath = workspacesPath;
         }
 
-        this.plugins.addAll(
-            Flowable.fromArray(pluginsPath)
-                .flatMap(this::loadPluginsFromPath)
-                // reserve sort
-                .sorted((p1, p2) -> Math.negateExact(((Long) p1.getArchiveTimestamp()).compareTo(p2.getArchiveTimestamp())))
-                // As plugins arrive sorted by reverse file date
-                // we can exclude duplicates and keep the most recent one
-                .distinct()
-                .cast(Plugin.class)
-                .toList()
-                .doOnSuccess(PluginRegistryImpl::printPlugins)
-                .doOnSuccess(allPlugins ->
-                    allPlugins.forEach(plugin ->
-                        pluginByType.computeIfAbsent(plugin.type(), k -> new ConcurrentHashMap<>()).put(plugin.id(), plugin)
-                    )
-                )
-                .blockingGet()
+        registriesPath = pluginsPath;
+
+        int extractionParallelism = configuration.getExtractionParallelism();
+        extractor = new ZipExtractor(extractionParallelism > 0 ? extractionParallelism : Runtime.getRuntime().availableProcessors());
+        if (StringUtils.hasText(configuration.getExtractionStorePath())) {
+            extractionStore = new PluginExtractionStore(Paths.get(configuration.getExtractionStorePath()));
+        }
+
+        int registryConcurrency = configuration.getRegistryConcurrency();
+        final int concurrency = registryConcurrency > 0 ? registryConcurrency : Runtime.getRuntime().availableProcessors() * 2;
+        final Scheduler scheduler = Schedulers.from(executor);
+
+        final Path indexFile = configuration.isIndexEnabled() ? resolveIndexFile(pluginsPath) : null;
+        final List<PluginRegistryIndex.Registry> registries = indexFile != null ? listRegistries(pluginsPath) : null;
+        final Queue<PluginRegistryIndex.DisabledPlugin> disabledPlugins = new ConcurrentLinkedQueue<>();
+        final List<PluginCandidate> indexedCandidates = registries != null ? loadIndex(indexFile, registries, disabledPlugins) : null;
+
+        Flowable<PluginCandidate> candidates;
+        if (indexedCandidates != null) {
+            log.info("Loading plugins from index {}", indexFile);
+            candidates = Flowable.fromIterable(indexedCandidates);
+        } else {
+            candidates =
+                Flowable.fromArray(pluginsPath)
+                    .flatMap(pluginPath -> loadPluginsFromPath(pluginPath, scheduler, concurrency))
+                    .doOnNext(candidate -> {
+                        if (!candidate.plugin().valid() && candidate.manifest() != null) {
+                            PluginManifest manifest = PluginManifestFactory.create(candidate.manifest());
+                            disabledPlugins.add(new PluginRegistryIndex.DisabledPlugin(manifest.type(), manifest.id()));
+                        }
+                    });
+        }
+
+        final List<PluginCandidate> installedCandidates = candidates
+            .filter(candidate -> candidate.plugin().valid())
+            // reverse sort, archives are loaded concurrently so the archive path is used to break timestamp ties
+            .sorted(
+                Comparator.<PluginCandidate>comparingLong(candidate -> candidate.plugin().getArchiveTimestamp())
+                    .thenComparing(candidate -> candidate.archive().toString())
+                    .reversed()
+            )
+            // As plugins arrive sorted by reverse file date
+            // we can exclude duplicates and keep the most recent one
+            .distinct(PluginCandidate::plugin)
+            .concatMapEager(candidate -> Flowable.fromCompletionStage(installPlugin(candidate)).map(candidate::withPlugin))
+            .filter(candidate -> candidate.plugin().valid())
+            .toList()
+            .blockingGet();
+
+        if (registries != null) {
+            indexContent = new IndexContent(indexFile, registries, List.copyOf(disabledPlugins), installedCandidates);
+            if (indexedCandidates == null) {
+                writeIndex(indexContent);
+            }
+        }
+
+        final List<Plugin> installedPlugins = installedCandidates.stream().<Plugin>map(PluginCandidate::plugin).toList();
+        printPlugins(installedPlugins);
+        installedPlugins.forEach(plugin ->
+            pluginByType.computeIfAbsent(plugin.type(), k -> new ConcurrentHashMap<>()).put(plugin.id(), plugin)
         );
+        installedCandidates.forEach(candidate -> candidatesByArchive.put(archiveKey(candidate.archive()), candidate));
+        this.plugins.addAll(installedPlugins);
 
         init = true;
     }
 
-    private Flowable<PluginImpl> loadPluginsFromPath(final String pluginPathAsString) throws IOException {
+    /**
+     * Load all the plugin archives of a registry directory.
+     * Each archive is loaded on its own worker, with at most <code>concurrency</code> archives being loaded at the same time.
+     *
+     * @param pluginPathAsString the registry directory.
+     * @param scheduler the scheduler to load the archives on.
+     * @param concurrency the maximum number of archives loaded concurrently.
+     */
+    private Flowable<PluginCandidate> loadPluginsFromPath(final String pluginPathAsString, Scheduler scheduler, int concurrency)
+        throws IOException {
         File pluginDir = new File(pluginPathAsString);
 
         // Quick sanity check
@@ -177,14 +306,174 @@ public class PluginRegistryImpl extends AbstractService<PluginRegistry> implemen
         final Path pluginPath = pluginDir.toPath();
         log.info("Loading plugins from {}", pluginDir);
 
+        // Lazy extraction requires the manifest to be read without extracting the archive.
+        final boolean manifestFirst = configuration.isManifestFirstScanEnabled() || configuration.isLazyExtractionEnabled();
         final DirectoryStream<Path> stream = FileUtils.newDirectoryStream(pluginPath, ZIP_GLOB);
         return Flowable.fromIterable(stream)
-            .subscribeOn(Schedulers.from(executor))
-            .map(path -> loadPlugin(pluginDir, path))
-            .filter(PluginImpl::valid)
+            .subscribeOn(scheduler)
+            .flatMapSingle(
+                path ->
+                    (manifestFirst
+                            ? Single.fromCallable(() -> scanPlugin(pluginDir, path))
+                            : Single.defer(() -> Single.fromCompletionStage(loadPlugin(pluginDir, path)))).subscribeOn(scheduler),
+                false,
+                concurrency
+            )
             .doFinally(stream::close);
     }
 
+    /**
+     * Reload the plugin archives which have been added, updated or removed from the registries while running.
+     * A {@link PluginEvent#UNDEPLOYED} event is published for each plugin removed or replaced, and a {@link PluginEvent#DEPLOYED}
+     * event for each plugin added or replaced. The most recent archive still wins when several archives hold the same plugin.
+     *
+     * @param changes the changed archives, or registry directories to reload entirely.
+     */
+    synchronized void reload(Set<Path> changes) {
+        final Set<Path> archives = new TreeSet<>();
+        for (Path change : changes) {
+            if (Files.isDirectory(change)) {
+                final Path registryDir = archiveKey(change);
+                candidatesByArchive.keySet().stream().filter(archive -> archive.getParent().equals(registryDir)).forEach(archives::add);
+                try (DirectoryStream<Path> stream = FileUtils.newDirectoryStream(change, ZIP_GLOB)) {
+                    stream.forEach(archive -> archives.add(archiveKey(archive)));
+                } catch (IOException ioe) {
+                    log.error("Unable to list plugin archives from {}", change, ioe);
+                }
+            } else {
+                archives.add(archiveKey(change));
+            }
+        }
+
+        archives.forEach(this::reload);
+    }
+
+    private void reload(Path archive) {
+        final PluginCandidate previous = candidatesByArchive.get(archive);
+
+        if (!Files.isRegularFile(archive)) {
+            if (previous != null) {
+                log.info("Plugin archive {} has been removed", archive);
+                undeploy(previous);
+            }
+            return;
+        }
+
+        // Only the manifest is read until the plugin is known to replace the deployed one.
+        final PluginCandidate candidate = scanPlugin(archive.getParent().toFile(), archive);
+        final PluginImpl plugin = candidate.plugin();
+        if (!plugin.valid()) {
+            if (previous != null) {
+                log.info("Plugin archive {} does not provide a valid and enabled plugin anymore", archive);
+                undeploy(previous);
+            }
+            return;
+        }
+
+        if (bootPluginHandlerList.stream().anyMatch(bootPluginHandler -> bootPluginHandler.canHandle(plugin))) {
+            log.warn("Plugin {} from {} is a boot plugin, a restart is required to deploy it", plugin.id(), archive);
+            return;
+        }
+
+        final PluginCandidate deployed = candidatesByArchive
+            .values()
+            .stream()
+            .filter(deployedCandidate -> deployedCandidate.plugin().equals(plugin))
+            .findFirst()
+            .orElse(null);
+        if (deployed != null && deployed != previous && deployed.plugin().getArchiveTimestamp() > plugin.getArchiveTimestamp()) {
+            log.info("Plugin {} from {} is ignored, a more recent version is already deployed", plugin.id(), archive);
+            return;
+        }
+
+        if (previous != null) {
+            undeploy(previous);
+        }
+        if (deployed != null && deployed != previous) {
+            undeploy(deployed);
+        }
+
+        // The class loaders of the undeployed plugin may still be in use, its work directory is left untouched.
+        final Path workDir;
+        try {
+            workDir = newWorkDir(candidate);
+        } catch (IOException ioe) {
+            log.error("Unable to create a work directory for plugin archive {}", archive, ioe);
+            return;
+        }
+
+        final PluginImpl installedPlugin = installPlugin(candidate, workDir).join();
+        if (!installedPlugin.valid()) {
+            deleteWorkDir(workDir);
+        } else {
+            log.info("Plugin {} [{}] has been loaded from {}", installedPlugin.id(), installedPlugin.manifest().version(), archive);
+            reloadedWorkDirs.put(archive, workDir);
+            candidatesByArchive.put(archive, candidate.withPlugin(installedPlugin));
+            plugins.add(installedPlugin);
+            pluginByType.computeIfAbsent(installedPlugin.type(), k -> new ConcurrentHashMap<>()).put(installedPlugin.id(), installedPlugin);
+            eventManager.publishEvent(PluginEvent.DEPLOYED, installedPlugin);
+        }
+    }
+
+    private void undeploy(PluginCandidate candidate) {
+        final PluginImpl plugin = candidate.plugin();
+        final Path archive = archiveKey(candidate.archive());
+        candidatesByArchive.remove(archive);
+        plugins.remove(plugin);
+        final Map<String, Plugin> pluginsOfType = pluginByType.get(plugin.type());
+        if (pluginsOfType != null) {
+            pluginsOfType.remove(plugin.id(), plugin);
+        }
+        eventManager.publishEvent(PluginEvent.UNDEPLOYED, plugin);
+
+        // Handlers have released the plugin, the work directory of an archive deployed while running is not reused.
+        final Path reloadedWorkDir = reloadedWorkDirs.remove(archive);
+        if (reloadedWorkDir != null) {
+            deleteWorkDir(reloadedWorkDir);
+        }
+    }
+
+    /**
+     * Stop listing a plugin whose archive can not be extracted on first access. No event is published, the plugin has never
+     * been handed to the handlers.
+     *
+     * @param plugin the plugin.
+     */
+    private void discard(PluginImpl plugin) {
+        plugins.remove(plugin);
+        final Map<String, Plugin> pluginsOfType = pluginByType.get(plugin.type());
+        if (pluginsOfType != null) {
+            pluginsOfType.remove(plugin.id(), plugin);
+        }
+        candidatesByArchive.values().removeIf(candidate -> candidate.plugin() == plugin);
+    }
+
+    /**
+     * Create a new work directory for an archive deployed while running, next to the one it is extracted into at startup and
+     * named after it and the archive version.
+     *
+     * @param candidate the plugin candidate.
+     * @return the new and empty work directory.
+     * @throws IOException if the directory can not be created.
+     */
+    private Path newWorkDir(PluginCandidate candidate) throws IOException {
+        final Path workDir = resolveWorkDir(candidate.registryDir(), candidate.archive());
+        Files.createDirectories(workDir.getParent());
+        return Files.createTempDirectory(workDir.getParent(), workDir.getFileName() + "-" + candidate.plugin().getArchiveTimestamp() + "-");
+    }
+
+    private static void deleteWorkDir(Path workDir) {
+        try {
+            FileUtils.delete(workDir);
+        } catch (IOException ioe) {
+            log.warn("Unable to delete plugin work directory {}", workDir, ioe);
+        }
+    }
+
+    private static Path archiveKey(Path archive) {
+        return archive.toAbsolutePath().normalize();
+    }
+
     private static void printPlugins(final List<Plugin> plugins) {
         plugins
             .stream()
@@ -201,6 +490,169 @@ public class PluginRegistryImpl extends AbstractService<PluginRegistry> implemen
             .forEach(plugin -> log.info("\t> {} [{}] has been loaded", plugin.id(), plugin.manifest().version()));
     }
 
+    private Path resolveIndexFile(String[] pluginsPath) {
+        if (StringUtils.hasText(configuration.getIndexPath())) {
+            return Paths.get(configuration.getIndexPath());
+        }
+        if (StringUtils.hasText(configuration.getPluginWorkDir())) {
+            return Paths.get(configuration.getPluginWorkDir(), PluginRegistryIndex.INDEX_FILE);
+        }
+        return Paths.get(new File(pluginsPath[0]).getAbsolutePath(), ".work", PluginRegistryIndex.INDEX_FILE);
+    }
+
+    private static List<PluginRegistryIndex.Registry> listRegistries(String[] pluginsPath) {
+        try {
+            List<PluginRegistryIndex.Registry> registries = new ArrayList<>(pluginsPath.length);
+            for (String pluginPath : pluginsPath) {
+                registries.add(PluginRegistryIndex.registry(Paths.get(pluginPath)));
+            }
+            return registries;
+        } catch (IOException ioe) {
+            log.debug("Unable to list the plugin registries, the plugin index is not used", ioe);
+            return null;
+        }
+    }
+
+    /**
+     * Load the plugin candidates from the index, provided the registries still hold the archives recorded in the index and no
+     * plugin discarded because it was disabled has been enabled since then.
+     *
+     * @param indexFile the index file.
+     * @param registries the current content of the registries.
+     * @param disabledPlugins the plugins disabled when the index has been written, or since then, to keep in the index.
+     * @return the plugin candidates, or <code>null</code> if the registries have to be scanned.
+     */
+    private List<PluginCandidate> loadIndex(
+        Path indexFile,
+        List<PluginRegistryIndex.Registry> registries,
+        Collection<PluginRegistryIndex.DisabledPlugin> disabledPlugins
+    ) {
+        PluginRegistryIndex.Snapshot snapshot = PluginRegistryIndex.read(indexFile);
+        if (snapshot == null) {
+            return null;
+        }
+
+        if (
+            !snapshot.workDir().equals(Objects.toString(configuration.getPluginWorkDir(), "")) || !snapshot.registries().equals(registries)
+        ) {
+            log.info("Plugin registries have changed since the plugin index has been written, plugins will be scanned");
+            return null;
+        }
+
+        for (PluginRegistryIndex.DisabledPlugin disabledPlugin : snapshot.disabledPlugins()) {
+            if (isEnabled(disabledPlugin.type(), disabledPlugin.id())) {
+                log.info(
+                    "Plugin {} has been enabled since the plugin index has been written, plugins will be scanned",
+                    disabledPlugin.id()
+                );
+                return null;
+            }
+        }
+
+        disabledPlugins.addAll(snapshot.disabledPlugins());
+        return snapshot.plugins().stream().map(indexedPlugin -> indexedCandidate(indexedPlugin, disabledPlugins)).toList();
+    }
+
+    private PluginCandidate indexedCandidate(
+        PluginRegistryIndex.IndexedPlugin indexedPlugin,
+        Collection<PluginRegistryIndex.DisabledPlugin> disabledPlugins
+    ) {
+        File registryDir = new File(indexedPlugin.registryDir());
+        Path archive = Paths.get(indexedPlugin.archive());
+        PluginManifest manifest = PluginManifestFactory.create(indexedPlugin.manifest());
+
+        if (!isEnabled(manifest)) {
+            disabledPlugins.add(new PluginRegistryIndex.DisabledPlugin(manifest.type(), manifest.id()));
+            return new PluginCandidate(registryDir, archive, null, new PluginImpl(PluginManifestFactory.create(new Properties())), true);
+        }
+
+        PluginImpl plugin = new PluginImpl(manifest);
+        plugin.setArchiveTimestamp(indexedPlugin.archiveTimestamp());
+
+        // Fallback to the extraction when the working directory is gone or the extensions have changed.
+        List<Path> dependencies = indexedPlugin.dependencies() != null
+            ? indexedPlugin.dependencies().stream().map(dependency -> Paths.get(URI.create(dependency))).toList()
+            : Collections.emptyList();
+        boolean extracted =
+            indexedPlugin.path() != null &&
+            Files.isDirectory(Paths.get(indexedPlugin.path())) &&
+            indexedPlugin.extensionTimestamp() == PluginRegistryIndex.extensionTimestamp(extensionPath(manifest, registryDir.toPath())) &&
+            dependencies.stream().allMatch(Files::isRegularFile);
+        if (extracted) {
+            plugin.setPath(Paths.get(indexedPlugin.path()));
+            plugin.setDependencies(pathsToURLArray(dependencies));
+        }
+        return new PluginCandidate(registryDir, archive, indexedPlugin.manifest(), plugin, extracted);
+    }
+
+    /**
+     * Delete the entries of the extraction store no longer used by this node nor by the other nodes sharing the store.
+     */
+    private void pruneExtractionStore() {
+        try {
+            final int pruned = extractionStore.prune(EXTRACTION_STORE_RETENTION);
+            if (pruned > 0) {
+                log.info("Pruned {} unused entries from plugin extraction store {}", pruned, configuration.getExtractionStorePath());
+            }
+        } catch (IOException e) {
+            log.warn("Unable to prune plugin extraction store {}", configuration.getExtractionStorePath(), e);
+        }
+    }
+
+    /**
+     * Write the plugin index again if plugins have been extracted on first access since it has been written.
+     */
+    private void updateIndex() {
+        final IndexContent content = indexContent;
+        if (content != null && indexUpdatePending.getAndSet(false)) {
+            synchronized (content) {
+                writeIndex(content);
+            }
+        }
+    }
+
+    /**
+     * Write the plugin index. Plugins extracted on first access are written without their path and dependencies until they
+     * are extracted: the index is written again once the plugins have been deployed, then shortly after the plugins
+     * extracted later on.
+     *
+     * @param content the content of the index.
+     */
+    private void writeIndex(IndexContent content) {
+        List<PluginRegistryIndex.IndexedPlugin> indexedPlugins = new ArrayList<>(content.candidates().size());
+        for (PluginCandidate candidate : content.candidates()) {
+            PluginImpl plugin = candidate.plugin();
+            if (!plugin.valid()) {
+                // The archive of the plugin can not be extracted anymore.
+                continue;
+            }
+            // Do not trigger the extraction of lazy plugins, they will be extracted on next start if needed.
+            boolean resolved = plugin.resolved();
+            indexedPlugins.add(
+                new PluginRegistryIndex.IndexedPlugin(
+                    candidate.registryDir().getAbsolutePath(),
+                    candidate.archive().toAbsolutePath().toString(),
+                    plugin.getArchiveTimestamp(),
+                    PluginRegistryIndex.extensionTimestamp(extensionPath(plugin.manifest(), candidate.registryDir().toPath())),
+                    candidate.manifest(),
+                    resolved ? plugin.path().toString() : null,
+                    resolved ? Arrays.stream(plugin.dependencies()).map(URL::toString).toList() : null
+                )
+            );
+        }
+
+        PluginRegistryIndex.write(
+            content.indexFile(),
+            new PluginRegistryIndex.Snapshot(
+                Objects.toString(configuration.getPluginWorkDir(), ""),
+                content.registries(),
+                content.disabledPlugins(),
+                indexedPlugins
+            )
+        );
+        log.debug("Plugin index written to {}", content.indexFile());
+    }
+
     /**
      * Load a plugin from a zip archive.
      * <p>
@@ -216,47 +668,309 @@ public class PluginRegistryImpl extends AbstractService<PluginRegistry> implemen
      * @param registryDir       The directory containing plugins
      * @param pluginArchivePath The directory containing the plugin definition
      */
-    private PluginImpl loadPlugin(File registryDir, Path pluginArchivePath) {
+    private CompletableFuture<PluginCandidate> loadPlugin(File registryDir, Path pluginArchivePath) {
         log.debug("Loading plugin archive {}", pluginArchivePath);
 
+        // 1_ Extract plugin into a temporary working folder (or reuse the previous extraction)
+        Path workDir = resolveWorkDir(registryDir, pluginArchivePath);
+        return extractPlugin(pluginArchivePath, workDir, null)
+            .thenApply(extractedPlugin -> {
+                // 2_ Load plugin from the working folder
+                PluginManifest manifest = extractedPlugin.manifest() != null
+                    ? PluginManifestFactory.create(extractedPlugin.manifest())
+                    : null;
+
+                // create an invalid (empty) plugin as RxJava do not support null values.
+                PluginImpl plugin = new PluginImpl(PluginManifestFactory.create(new Properties()));
+                if (manifest != null && isEnabled(manifest)) {
+                    plugin = new PluginImpl(manifest);
+                    plugin.setArchiveTimestamp(getArchiveTimestamp(pluginArchivePath));
+                    plugin.setPath(workDir);
+                    plugin.setDependencies(resolveDependencies(manifest, extractedPlugin.dependencies(), registryDir));
+                }
+                return new PluginCandidate(registryDir, pluginArchivePath, extractedPlugin.manifest(), plugin, true);
+            })
+            .exceptionally(throwable -> {
+                log.error("An unexpected error occurs while loading plugin archive {}", pluginArchivePath, unwrap(throwable));
+                return new PluginCandidate(
+                    registryDir,
+                    pluginArchivePath,
+                    null,
+                    new PluginImpl(PluginManifestFactory.create(new Properties())),
+                    true
+                );
+            });
+    }
+
+    /**
+     * Scan a plugin from a zip archive by only reading its manifest.
+     * The archive is extracted later on, once disabled plugins and duplicates have been discarded.
+     *
+     * @param registryDir       The directory containing plugins
+     * @param pluginArchivePath The plugin archive
+     */
+    private PluginCandidate scanPlugin(File registryDir, Path pluginArchivePath) {
+        log.debug("Scanning plugin archive {}", pluginArchivePath);
+
         // create an invalid (empty) plugin as RxJava do not support null values.
         PluginImpl plugin = new PluginImpl(PluginManifestFactory.create(new Properties()));
+        Properties manifestProperties = null;
 
         try {
-            // 1_ Extract plugin into a temporary working folder
-            String sPluginFile = pluginArchivePath.toFile().getName();
-            sPluginFile = sPluginFile.substring(0, sPluginFile.lastIndexOf(".zip"));
-            Path workDir = FileSystems.getDefault().getPath(registryDir.getAbsolutePath(), ".work", sPluginFile);
-            if (StringUtils.hasText(configuration.getPluginWorkDir())) {
-                // use specified workDir if specified in environment
-                workDir = FileSystems.getDefault().getPath(configuration.getPluginWorkDir(), sPluginFile);
-                // make sure the work dir exists
-                if (!workDir.toFile().getParentFile().exists()) {
-                    workDir.toFile().getParentFile().mkdirs();
+            try (ZipArchive archive = ZipArchive.open(pluginArchivePath)) {
+                manifestProperties = readPluginManifest(archive, pluginArchivePath);
+            }
+            if (manifestProperties != null) {
+                PluginManifest manifest = PluginManifestFactory.create(manifestProperties);
+                if (isEnabled(manifest)) {
+                    plugin = new PluginImpl(manifest);
+                    plugin.setArchiveTimestamp(getFileTimestamp(pluginArchivePath));
                 }
             }
+        } catch (IOException ioe) {
+            log.error("An unexpected error occurs while scanning plugin archive {}", pluginArchivePath, ioe);
+        }
+        return new PluginCandidate(registryDir, pluginArchivePath, manifestProperties, plugin, false);
+    }
 
-            FileUtils.delete(workDir);
-            FileUtils.unzip(pluginArchivePath.toString(), workDir);
+    /**
+     * Extract the archive of a plugin which has only been scanned so far.
+     * In lazy mode, the extraction is deferred until the plugin path or dependencies are accessed for the first time.
+     *
+     * @param candidate the plugin candidate.
+     * @return the installed plugin, or an invalid one if the archive can not be extracted.
+     */
+    private CompletableFuture<PluginImpl> installPlugin(PluginCandidate candidate) {
+        return installPlugin(candidate, resolveWorkDir(candidate.registryDir(), candidate.archive()));
+    }
+
+    private CompletableFuture<PluginImpl> installPlugin(PluginCandidate candidate, Path workDir) {
+        PluginImpl plugin = candidate.plugin();
+        if (candidate.extracted()) {
+            return CompletableFuture.completedFuture(plugin);
+        }
+
+        if (configuration.isLazyExtractionEnabled()) {
+            plugin.setLazyResolution(new LazyExtraction(candidate, workDir));
+            return CompletableFuture.completedFuture(plugin);
+        }
+
+        return extractPlugin(candidate, plugin, workDir)
+            .thenApply(ignored -> plugin)
+            .exceptionally(throwable -> {
+                log.error("An unexpected error occurs while extracting plugin archive {}", candidate.archive(), unwrap(throwable));
+                return new PluginImpl(PluginManifestFactory.create(new Properties()));
+            });
+    }
+
+    private CompletableFuture<Void> extractPlugin(PluginCandidate candidate, PluginImpl plugin, Path workDir) {
+        log.debug("Extracting plugin archive {}", candidate.archive());
+        return extractPlugin(candidate.archive(), workDir, candidate.manifest()).thenAccept(extractedPlugin -> {
+            plugin.setPath(workDir);
+            plugin.setDependencies(resolveDependencies(plugin.manifest(), extractedPlugin.dependencies(), candidate.registryDir()));
+        });
+    }
+
+    private URL[] resolveDependencies(PluginManifest manifest, List<Path> pluginDependencyPaths, File registryDir) {
+        URL[] pluginDependencies = pathsToURLArray(pluginDependencyPaths);
+        URL[] extDependencies = extractPluginExtensionDependencies(manifest, registryDir.toPath());
+
+        URL[] dependencies = Arrays.copyOf(pluginDependencies, pluginDependencies.length + extDependencies.length);
+        System.arraycopy(extDependencies, 0, dependencies, pluginDependencies.length, extDependencies.length);
+        return dependencies;
+    }
+
+    private Path resolveWorkDir(File registryDir, Path pluginArchivePath) {
+        String sPluginFile = pluginArchivePath.toFile().getName();
+        sPluginFile = sPluginFile.substring(0, sPluginFile.lastIndexOf(ZIP_EXTENSION));
+        Path workDir = FileSystems.getDefault().getPath(registryDir.getAbsolutePath(), ".work", sPluginFile);
+        if (StringUtils.hasText(configuration.getPluginWorkDir())) {
+            // use specified workDir if specified in environment
+            workDir = FileSystems.getDefault().getPath(configuration.getPluginWorkDir(), sPluginFile);
+            // make sure the work dir exists
+            if (!workDir.toFile().getParentFile().exists()) {
+                workDir.toFile().getParentFile().mkdirs();
+            }
+        }
+        return workDir;
+    }
 
-            // 2_ Load plugin from the working folder
-            PluginManifest manifest = readPluginManifest(workDir);
-            if (manifest != null && isEnabled(manifest)) {
-                URL[] pluginDependencies = extractPluginDependencies(workDir);
-                URL[] extDependencies = extractPluginExtensionDependencies(manifest, registryDir.toPath());
+    /**
+     * Extract the plugin archive into its working directory and read the plugin manifest and jars from there.
+     * When the extraction cache is enabled and the working directory already holds an extraction of the very same archive,
+     * the manifest and jars recorded by the previous extraction are returned without touching the working directory.
+     *
+     * @param pluginArchivePath the plugin archive.
+     * @param workDir the working directory of the plugin.
+     * @param manifest the plugin manifest if it has already been read from the archive, <code>null</code> otherwise.
+     * @return the extracted plugin, with a <code>null</code> manifest if no valid manifest has been found.
+     */
+    private CompletableFuture<ExtractedPlugin> extractPlugin(Path pluginArchivePath, Path workDir, Properties manifest) {
+        PluginArchiveFingerprint fingerprint = null;
 
-                URL[] dependencies = Arrays.copyOf(pluginDependencies, pluginDependencies.length + extDependencies.length);
-                System.arraycopy(extDependencies, 0, dependencies, pluginDependencies.length, extDependencies.length);
+        if (configuration.isExtractionCacheEnabled() || extractionStore != null) {
+            try {
+                fingerprint = PluginArchiveFingerprint.of(pluginArchivePath);
+            } catch (IOException ioe) {
+                return CompletableFuture.failedFuture(ioe);
+            }
+        }
 
-                plugin = new PluginImpl(manifest);
-                plugin.setArchiveTimestamp(getFileTimestamp(pluginArchivePath));
-                plugin.setPath(workDir);
-                plugin.setDependencies(dependencies);
+        if (configuration.isExtractionCacheEnabled()) {
+            PluginExtractionCache.CachedExtraction cachedExtraction = extractionCache.lookup(workDir, fingerprint);
+            if (cachedExtraction != null) {
+                log.debug("Plugin archive {} has already been extracted into {}", pluginArchivePath, workDir);
+                return CompletableFuture.completedFuture(new ExtractedPlugin(cachedExtraction.manifest(), cachedExtraction.dependencies()));
             }
+        }
+
+        if (extractionStore != null) {
+            return extractPluginThroughStore(pluginArchivePath, workDir, manifest, fingerprint);
+        }
+
+        // The manifest is read from the archive itself, while it is opened for the extraction.
+        final PluginArchiveFingerprint archiveFingerprint = fingerprint;
+        final AtomicLong extractionStart = new AtomicLong();
+        return extractor
+            .extractAsync(pluginArchivePath, workDir, archive -> readArchiveManifest(archive, pluginArchivePath, manifest, extractionStart))
+            .thenApply(archiveManifest -> {
+                ExtractedPlugin extractedPlugin = readExtractedPlugin(workDir, archiveManifest, archiveFingerprint);
+                recordExtraction(archiveManifest, extractionStart);
+                return extractedPlugin;
+            });
+    }
+
+    /**
+     * Extract the plugin archive into the shared store, unless it has already been extracted there, then build the working
+     * directory of the plugin from the store entry.
+     */
+    private CompletableFuture<ExtractedPlugin> extractPluginThroughStore(
+        Path pluginArchivePath,
+        Path workDir,
+        Properties manifest,
+        PluginArchiveFingerprint fingerprint
+    ) {
+        final Path entry = extractionStore.entry(pluginArchivePath, fingerprint);
+        // Store entries are shared by copies of the same archive, whatever their modification time.
+        final PluginArchiveFingerprint contentFingerprint = fingerprint.withoutLastModified();
+
+        CompletableFuture<PluginExtractionCache.CachedExtraction> storedExtraction;
+        PluginExtractionCache.CachedExtraction cachedExtraction = extractionCache.lookup(entry, contentFingerprint);
+        if (cachedExtraction != null) {
+            log.debug("Plugin archive {} has already been extracted into {}", pluginArchivePath, entry);
+            storedExtraction = CompletableFuture.completedFuture(cachedExtraction);
+        } else {
+            final Path stagingDir;
+            try {
+                stagingDir = extractionStore.newStagingDir();
+            } catch (IOException ioe) {
+                return CompletableFuture.failedFuture(ioe);
+            }
+            final AtomicLong extractionStart = new AtomicLong();
+            storedExtraction =
+                extractor
+                    .extractAsync(
+                        pluginArchivePath,
+                        stagingDir,
+                        archive -> readArchiveManifest(archive, pluginArchivePath, manifest, extractionStart)
+                    )
+                    .thenApply(archiveManifest -> {
+                        try {
+                            if (archiveManifest == null) {
+                                FileUtils.delete(stagingDir);
+                                return null;
+                            }
+                            // The sidecar is committed along with the entry, so that the next lookups hit the store.
+                            extractionCache.store(stagingDir, contentFingerprint, archiveManifest, extractPluginDependencies(stagingDir));
+                            extractionStore.commit(stagingDir, entry);
+                            recordExtraction(archiveManifest, extractionStart);
+                        } catch (IOException ioe) {
+                            throw new UncheckedIOException(ioe);
+                        }
+                        return extractionCache.lookup(entry, contentFingerprint);
+                    });
+        }
+
+        return storedExtraction.thenApply(extraction -> {
+            if (extraction == null) {
+                return new ExtractedPlugin(null, Collections.emptyList());
+            }
+            try {
+                extractionStore.link(entry, workDir);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+            List<Path> dependencies = extraction
+                .dependencies()
+                .stream()
+                .map(dependency -> workDir.resolve(entry.relativize(dependency)))
+                .toList();
+            // Replace the sidecar linked from the store with one matching this very archive.
+            extractionCache.store(workDir, fingerprint, extraction.manifest(), dependencies);
+            return new ExtractedPlugin(extraction.manifest(), dependencies);
+        });
+    }
+
+    /**
+     * Read the manifest from the opened archive unless it is already known, then mark the start of the extraction itself.
+     */
+    private Properties readArchiveManifest(
+        ZipArchive archive,
+        Path pluginArchivePath,
+        Properties manifest,
+        AtomicLong extractionStart
+    ) throws IOException {
+        Properties archiveManifest = manifest != null ? manifest : readPluginManifest(archive, pluginArchivePath);
+        extractionStart.set(System.nanoTime());
+        return archiveManifest;
+    }
+
+    private Properties readPluginManifest(ZipArchive archive, Path pluginArchivePath) throws IOException {
+        long start = System.nanoTime();
+        Properties manifest = validatePluginManifest(PluginArchiveManifestReader.read(archive), pluginArchivePath);
+        recordPhase(manifest, PluginPhase.MANIFEST_READ, System.nanoTime() - start);
+        return manifest;
+    }
+
+    private static void recordExtraction(Properties manifest, AtomicLong extractionStart) {
+        recordPhase(manifest, PluginPhase.EXTRACTION, System.nanoTime() - extractionStart.get());
+    }
+
+    private static void recordPhase(Properties manifest, PluginPhase phase, long nanos) {
+        if (manifest != null) {
+            PluginStartupRecorder
+                .getInstance()
+                .record(
+                    manifest.getProperty(PluginManifestProperties.MANIFEST_TYPE_PROPERTY),
+                    manifest.getProperty(PluginManifestProperties.MANIFEST_ID_PROPERTY),
+                    phase,
+                    nanos
+                );
+        }
+    }
+
+    private ExtractedPlugin readExtractedPlugin(Path workDir, Properties manifest, PluginArchiveFingerprint fingerprint) {
+        if (manifest == null) {
+            return new ExtractedPlugin(null, Collections.emptyList());
+        }
+
+        List<Path> dependencies = extractPluginDependencies(workDir);
+        if (fingerprint != null) {
+            extractionCache.store(workDir, fingerprint, manifest, dependencies);
+        }
+        return new ExtractedPlugin(manifest, dependencies);
+    }
+
+    private static long getArchiveTimestamp(Path pluginArchivePath) {
+        try {
+            return getFileTimestamp(pluginArchivePath);
         } catch (IOException ioe) {
-            log.error("An unexpected error occurs while loading plugin archive {}", pluginArchivePath, ioe);
+            throw new UncheckedIOException(ioe);
         }
-        return plugin;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
     }
 
     static long getFileTimestamp(Path pluginArchivePath) throws IOException {
@@ -273,22 +987,18 @@ public class PluginRegistryImpl extends AbstractService<PluginRegistry> implemen
      * @return true if plugin is enabled
      */
     private boolean isEnabled(PluginManifest pluginManifest) {
+        return isEnabled(pluginManifest.type(), pluginManifest.id());
+    }
+
+    private boolean isEnabled(String type, String id) {
         boolean enabled;
-        final String propertyFromAlias = String.format(
-            PROPERTY_STRING_FORMAT,
-            PLUGIN_TYPE_PROPERTY_ALIASES.get(pluginManifest.type()),
-            pluginManifest.id()
-        );
-        if (PLUGIN_TYPE_PROPERTY_ALIASES.containsKey(pluginManifest.type()) && environment.containsProperty(propertyFromAlias)) {
+        final String propertyFromAlias = String.format(PROPERTY_STRING_FORMAT, PLUGIN_TYPE_PROPERTY_ALIASES.get(type), id);
+        if (PLUGIN_TYPE_PROPERTY_ALIASES.containsKey(type) && environment.containsProperty(propertyFromAlias)) {
             enabled = environment.getProperty(propertyFromAlias, Boolean.class, true);
         } else {
-            enabled = environment.getProperty(
-                String.format(PROPERTY_STRING_FORMAT, pluginManifest.type(), pluginManifest.id()),
-                Boolean.class,
-                true
-            );
+            enabled = environment.getProperty(String.format(PROPERTY_STRING_FORMAT, type, id), Boolean.class, true);
         }
-        log.debug("Plugin {} is loaded in registry: {}", pluginManifest.id(), enabled);
+        log.debug("Plugin {} is loaded in registry: {}", id, enabled);
         return enabled;
     }
 
@@ -296,17 +1006,16 @@ public class PluginRegistryImpl extends AbstractService<PluginRegistry> implemen
      * Extract plugin dependencies by reading all jars from plugin directory root path.
      *
      * @param pluginDirPath Plugin directory root path
-     * @return Plugin ext dependency URLs or empty array (if an error occurres)
+     * @return Plugin dependency paths or empty list (if an error occurres)
      */
-    private URL[] extractPluginDependencies(Path pluginDirPath) {
+    private List<Path> extractPluginDependencies(Path pluginDirPath) {
         try {
             GlobMatchingFileVisitor visitor = new GlobMatchingFileVisitor(JAR_GLOB);
             Files.walkFileTree(pluginDirPath, visitor);
-            List<Path> pluginDependencies = visitor.getMatchedPaths();
-            return pathsToURLArray(pluginDependencies);
+            return visitor.getMatchedPaths();
         } catch (IOException ioe) {
             log.error("Unexpected error while looking for plugin dependencies", ioe);
-            return new URL[0];
+            return Collections.emptyList();
         }
     }
 
@@ -318,67 +1027,33 @@ public class PluginRegistryImpl extends AbstractService<PluginRegistry> implemen
      * @return Plugin ext dependency URLs or empty array (if an error occurres)
      */
     private URL[] extractPluginExtensionDependencies(PluginManifest manifest, Path registryPath) {
-        Path extPath = Paths.get(registryPath.toString(), "ext", manifest.id());
+        Path extPath = extensionPath(manifest, registryPath);
         if (extPath.toFile().exists()) {
-            return extractPluginDependencies(extPath);
+            return pathsToURLArray(extractPluginDependencies(extPath));
         } else {
             return new URL[0];
         }
     }
 
-    private PluginManifest readPluginManifest(Path pluginPath) {
-        try (DirectoryStream<Path> stream = FileUtils.newDirectoryStream(pluginPath, JAR_GLOB)) {
-            Iterator<Path> iterator = stream.iterator();
-            if (!iterator.hasNext()) {
-                log.debug("Unable to find a jar in the root directory: {}", pluginPath);
-                return null;
-            }
-
-            Path pluginJarPath = iterator.next();
-            log.debug("Found a jar in the root directory, looking for a plugin manifest in {}", pluginJarPath);
-
-            Properties pluginManifestProperties = loadPluginManifest(pluginJarPath.toString());
-            if (pluginManifestProperties.isEmpty()) {
-                log.error("No plugin.properties found from {}", pluginJarPath);
-                return null;
-            }
-
-            log.debug("A plugin manifest has been loaded from: {}", pluginJarPath);
-
-            PluginManifestValidator validator = new PropertiesBasedPluginManifestValidator(pluginManifestProperties);
-            if (!validator.validate()) {
-                log.error("Plugin manifest not valid, skipping plugin registration.");
-                return null;
-            }
-
-            return PluginManifestFactory.create(pluginManifestProperties);
-        } catch (IOException ioe) {
-            log.error("Unexpected error while trying to load plugin manifest", ioe);
-            throw new IllegalStateException("Unexpected error while trying to load plugin manifest", ioe);
-        }
+    private static Path extensionPath(PluginManifest manifest, Path registryPath) {
+        return Paths.get(registryPath.toString(), "ext", manifest.id());
     }
 
-    private Properties loadPluginManifest(String pluginPath) {
-        try (FileSystem zipFileSystem = FileUtils.createZipFileSystem(pluginPath, false)) {
-            final Path root = zipFileSystem.getPath("/");
+    private Properties validatePluginManifest(Properties pluginManifestProperties, Path source) {
+        if (pluginManifestProperties.isEmpty()) {
+            log.error("No plugin.properties found from {}", source);
+            return null;
+        }
 
-            // Walk the jar file tree and search for plugin.properties file
-            PluginManifestVisitor visitor = new PluginManifestVisitor();
-            Files.walkFileTree(root, visitor);
-            Path pluginManifestPath = visitor.getPluginManifest();
+        log.debug("A plugin manifest has been loaded from: {}", source);
 
-            if (pluginManifestPath != null) {
-                Properties properties = new Properties();
-                try (InputStream is = Files.newInputStream(pluginManifestPath)) {
-                    properties.load(is);
-                }
-                return properties;
-            }
-        } catch (IOException e) {
-            log.error("{}", e.getMessage(), e);
+        PluginManifestValidator validator = new PropertiesBasedPluginManifestValidator(pluginManifestProperties);
+        if (!validator.validate()) {
+            log.error("Plugin manifest not valid, skipping plugin registration.");
+            return null;
         }
 
-        return new Properties();
+        return pluginManifestProperties;
     }
 
     private URL[] pathsToURLArray(List<Path> paths) {
@@ -414,22 +1089,60 @@ public class PluginRegistryImpl extends AbstractService<PluginRegistry> implemen
         return plugins != null ? plugins.get(id) : null;
     }
 
-    static class PluginManifestVisitor extends SimpleFileVisitor<Path> {
+    private record PluginCandidate(File registryDir, Path archive, Properties manifest, PluginImpl plugin, boolean extracted) {
+        PluginCandidate withPlugin(PluginImpl installedPlugin) {
+            return new PluginCandidate(registryDir, archive, manifest, installedPlugin, extracted);
+        }
+    }
+
+    private record ExtractedPlugin(Properties manifest, List<Path> dependencies) {}
+
+    private record IndexContent(
+        Path indexFile,
+        List<PluginRegistryIndex.Registry> registries,
+        List<PluginRegistryIndex.DisabledPlugin> disabledPlugins,
+        List<PluginCandidate> candidates
+    ) {}
 
-        private Path pluginManifest = null;
+    /**
+     * Extraction of a plugin archive deferred until the plugin path or dependencies are accessed for the first time.
+     */
+    @RequiredArgsConstructor
+    private class LazyExtraction implements PluginImpl.LazyResolution {
+
+        private final PluginCandidate candidate;
+        private final Path workDir;
 
         @Override
-        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-            if (file.getFileName().toString().equals(PLUGIN_MANIFEST_FILE)) {
-                pluginManifest = file;
-                return FileVisitResult.TERMINATE;
+        public void resolve(PluginImpl plugin) throws IOException {
+            try {
+                extractPlugin(candidate, plugin, workDir).join();
+            } catch (CompletionException e) {
+                log.error("An unexpected error occurs while extracting plugin archive {}", candidate.archive(), unwrap(e));
+                discard(plugin);
+                if (e.getCause() instanceof IOException ioe) {
+                    throw ioe;
+                }
+                throw e;
             }
-
-            return super.visitFile(file, attrs);
         }
 
-        public Path getPluginManifest() {
-            return pluginManifest;
+        @Override
+        public void resolved(PluginImpl plugin) {
+            // The index has been written before the plugin was extracted, the next start can reuse the extraction.
+            final IndexContent content = indexContent;
+            if (
+                content != null &&
+                content.candidates().stream().anyMatch(indexed -> indexed.plugin() == plugin) &&
+                indexUpdatePending.compareAndSet(false, true) &&
+                deployed
+            ) {
+                // Extractions close to each other are indexed together.
+                CompletableFuture.runAsync(
+                    PluginRegistryImpl.this::updateIndex,
+                    CompletableFuture.delayedExecutor(INDEX_UPDATE_DELAY_MS, TimeUnit.MILLISECONDS, executor)
+                );
+            }
         }
     }
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import io.gravitee.plugin.core.utils.FileUtils;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Binary snapshot of the plugins resolved by the registry, used to skip the scan of the registry directories on restart.
+ * <p>
+ * The snapshot records the archives of every registry directory with their size and last modification time, the plugins
+ * which have been discarded because they were disabled, and for every resolved plugin its manifest, archive timestamp,
+ * working directory and dependencies. A snapshot is only usable as long as the registry directories hold the very same
+ * archives.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class PluginRegistryIndex {
+
+    static final String INDEX_FILE = ".plugin-index";
+
+    private static final int MAGIC = 0x47494F50;
+    private static final int VERSION = 1;
+    private static final String ZIP_GLOB = "*.zip";
+    private static final long NO_TIMESTAMP = -1L;
+
+    /**
+     * Read a snapshot.
+     *
+     * @param file the snapshot file.
+     * @return the snapshot, or <code>null</code> if there is no snapshot or if it can not be read.
+     */
+    static Snapshot read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.debug("Ignoring plugin index {} written by another version", file);
+                return null;
+            }
+
+            final String workDir = in.readUTF();
+
+            final int registryCount = in.readInt();
+            final List<Registry> registries = new ArrayList<>(registryCount);
+            for (int i = 0; i < registryCount; i++) {
+                final String path = in.readUTF();
+                final int archiveCount = in.readInt();
+                final Map<String, ArchiveStamp> archives = new HashMap<>(archiveCount);
+                for (int j = 0; j < archiveCount; j++) {
+                    archives.put(in.readUTF(), new ArchiveStamp(in.readLong(), in.readLong()));
+                }
+                registries.add(new Registry(path, archives));
+            }
+
+            final int disabledCount = in.readInt();
+            final List<DisabledPlugin> disabledPlugins = new ArrayList<>(disabledCount);
+            for (int i = 0; i < disabledCount; i++) {
+                disabledPlugins.add(new DisabledPlugin(in.readUTF(), in.readUTF()));
+            }
+
+            final int pluginCount = in.readInt();
+            final List<IndexedPlugin> plugins = new ArrayList<>(pluginCount);
+            for (int i = 0; i < pluginCount; i++) {
+                final String registryDir = in.readUTF();
+                final String archive = in.readUTF();
+                final long archiveTimestamp = in.readLong();
+                final long extensionTimestamp = in.readLong();
+
+                final Properties manifest = new Properties();
+                final int propertyCount = in.readInt();
+                for (int j = 0; j < propertyCount; j++) {
+                    manifest.setProperty(in.readUTF(), in.readUTF());
+                }
+
+                String path = null;
+                List<String> dependencies = null;
+                if (in.readBoolean()) {
+                    path = in.readUTF();
+                    final int dependencyCount = in.readInt();
+                    dependencies = new ArrayList<>(dependencyCount);
+                    for (int j = 0; j < dependencyCount; j++) {
+                        dependencies.add(in.readUTF());
+                    }
+                }
+
+                plugins.add(
+                    new IndexedPlugin(registryDir, archive, archiveTimestamp, extensionTimestamp, manifest, path, dependencies)
+                );
+            }
+
+            return new Snapshot(workDir, registries, disabledPlugins, plugins);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to read plugin index {}, plugins will be scanned again", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Write a snapshot. The file is replaced atomically, so that an interrupted write never results in a partial snapshot.
+     *
+     * @param file the snapshot file.
+     * @param snapshot the snapshot to write.
+     */
+    static void write(Path file, Snapshot snapshot) {
+        try {
+            Files.createDirectories(file.getParent());
+            final Path tmp = Files.createTempFile(file.getParent(), INDEX_FILE, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(snapshot.workDir());
+
+                out.writeInt(snapshot.registries().size());
+                for (Registry registry : snapshot.registries()) {
+                    out.writeUTF(registry.path());
+                    out.writeInt(registry.archives().size());
+                    for (Map.Entry<String, ArchiveStamp> archive : registry.archives().entrySet()) {
+                        out.writeUTF(archive.getKey());
+                        out.writeLong(archive.getValue().size());
+                        out.writeLong(archive.getValue().lastModified());
+                    }
+                }
+
+                out.writeInt(snapshot.disabledPlugins().size());
+                for (DisabledPlugin disabledPlugin : snapshot.disabledPlugins()) {
+                    out.writeUTF(disabledPlugin.type());
+                    out.writeUTF(disabledPlugin.id());
+                }
+
+                out.writeInt(snapshot.plugins().size());
+                for (IndexedPlugin plugin : snapshot.plugins()) {
+                    out.writeUTF(plugin.registryDir());
+                    out.writeUTF(plugin.archive());
+                    out.writeLong(plugin.archiveTimestamp());
+                    out.writeLong(plugin.extensionTimestamp());
+
+                    out.writeInt(plugin.manifest().size());
+                    for (String name : plugin.manifest().stringPropertyNames()) {
+                        out.writeUTF(name);
+                        out.writeUTF(plugin.manifest().getProperty(name));
+                    }
+
+                    out.writeBoolean(plugin.path() != null);
+                    if (plugin.path() != null) {
+                        out.writeUTF(plugin.path());
+                        out.writeInt(plugin.dependencies().size());
+                        for (String dependency : plugin.dependencies()) {
+                            out.writeUTF(dependency);
+                        }
+                    }
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Unable to write plugin index {}", file, e);
+        }
+    }
+
+    /**
+     * List the archives currently available in a registry directory.
+     *
+     * @param registryDir the registry directory.
+     * @return the registry with its archives.
+     * @throws IOException if the directory can not be listed.
+     */
+    static Registry registry(Path registryDir) throws IOException {
+        final Map<String, ArchiveStamp> archives = new HashMap<>();
+        try (DirectoryStream<Path> stream = FileUtils.newDirectoryStream(registryDir, ZIP_GLOB)) {
+            for (Path archive : stream) {
+                final BasicFileAttributes attributes = Files.readAttributes(archive, BasicFileAttributes.class);
+                archives.put(
+                    archive.getFileName().toString(),
+                    new ArchiveStamp(attributes.size(), attributes.lastModifiedTime().toMillis())
+                );
+            }
+        }
+        return new Registry(registryDir.toAbsolutePath().toString(), archives);
+    }
+
+    /**
+     * @param extensionDir the extension directory of a plugin.
+     * @return the last modification time of the directory, or a marker value if it does not exist.
+     */
+    static long extensionTimestamp(Path extensionDir) {
+        try {
+            return Files.isDirectory(extensionDir) ? Files.getLastModifiedTime(extensionDir).toMillis() : NO_TIMESTAMP;
+        } catch (IOException e) {
+            return NO_TIMESTAMP;
+        }
+    }
+
+    record Snapshot(String workDir, List<Registry> registries, List<DisabledPlugin> disabledPlugins, List<IndexedPlugin> plugins) {}
+
+    record Registry(String path, Map<String, ArchiveStamp> archives) {}
+
+    record ArchiveStamp(long size, long lastModified) {}
+
+    record DisabledPlugin(String type, String id) {}
+
+    /**
+     * A plugin of the snapshot. Its <code>path</code> and <code>dependencies</code> are <code>null</code> when the plugin
+     * archive had not been extracted yet when the snapshot was taken.
+     */
+    record IndexedPlugin(
+        String registryDir,
+        String archive,
+        long archiveTimestamp,
+        long extensionTimestamp,
+        Properties manifest,
+        String path,
+        List<String> dependencies
+    ) {}
+}
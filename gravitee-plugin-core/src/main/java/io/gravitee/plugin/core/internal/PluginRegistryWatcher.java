@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watch the registry directories and report the plugin archives which have been added, updated or removed.
+ * <p>
+ * Changes are reported once the directories have been quiet for the configured delay, so that an archive still being
+ * copied is not reported before it is complete, and so that a burst of changes is reported as a single batch. When the
+ * file system reports that some events have been lost, the whole directory is reported.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+class PluginRegistryWatcher implements Closeable {
+
+    private static final String ZIP_EXTENSION = ".zip";
+
+    private final List<Path> directories;
+    private final long delay;
+    private final Consumer<Set<Path>> listener;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    /**
+     * @param directories the registry directories to watch.
+     * @param delay the quiet period in milliseconds before reporting changes.
+     * @param listener the listener receiving the changed archives, or a registry directory when events have been lost.
+     * @throws IOException if the directories can not be watched.
+     */
+    PluginRegistryWatcher(List<Path> directories, long delay, Consumer<Set<Path>> listener) throws IOException {
+        this.directories = directories;
+        this.delay = delay;
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        for (Path directory : directories) {
+            directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        }
+        this.thread = new Thread(this::watch, "gio.plugin-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        log.info("Watching plugin registries {} for changes", directories);
+        thread.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+
+    private void watch() {
+        final Set<Path> pending = new LinkedHashSet<>();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final WatchKey key = pending.isEmpty() ? watchService.take() : watchService.poll(delay, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    // Quiet period elapsed, report the pending changes.
+                    final Set<Path> changes = new LinkedHashSet<>(pending);
+                    pending.clear();
+                    notify(changes);
+                    continue;
+                }
+
+                final Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        log.debug("Some events have been lost while watching {}", directory);
+                        pending.add(directory);
+                    } else {
+                        final Path archive = directory.resolve((Path) event.context());
+                        if (archive.getFileName().toString().endsWith(ZIP_EXTENSION)) {
+                            pending.add(archive);
+                        }
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // The watcher has been closed.
+        }
+        log.debug("Stopped watching plugin registries {}", directories);
+    }
+
+    private void notify(Set<Path> changes) {
+        try {
+            listener.accept(changes);
+        } catch (RuntimeException e) {
+            log.error("An unexpected error occurs while reloading plugin archives {}", changes, e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+/**
+ * Thrown when the {@link io.gravitee.plugin.core.api.Plugin#path() path} or the
+ * {@link io.gravitee.plugin.core.api.Plugin#dependencies() dependencies} of a plugin whose extraction has been deferred are
+ * accessed while its archive can not be extracted.
+ *
+ * @author GraviteeSource Team
+ */
+public class PluginResolutionException extends IllegalStateException {
+
+    public PluginResolutionException(String pluginId, Throwable cause) {
+        super("Unable to resolve plugin " + pluginId, cause);
+    }
+}
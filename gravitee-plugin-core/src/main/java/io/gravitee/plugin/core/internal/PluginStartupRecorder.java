@@ -0,0 +1,254 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.api.PluginPhase;
+import io.gravitee.plugin.core.api.PluginStartupReport;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records the time spent by each plugin in each {@link PluginPhase}.
+ * <p>
+ * Phases are timed with {@link #start(String, String, PluginPhase)}, which returns a {@link Timer} bound to the current
+ * thread. A phase started while another one is running on the same thread is nested into it: its time is subtracted from
+ * the outer phase, so that each nanosecond is accounted for once. {@link #start(PluginPhase)} times a phase on behalf of the
+ * plugin being timed on the current thread, for code which does not know the plugin it is working for, such as the subtype
+ * finders.
+ * <p>
+ * There is a single recorder, shared by all the plugin components whether they are Spring beans or not.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public final class PluginStartupRecorder implements PluginStartupReport {
+
+    private static final PluginStartupRecorder INSTANCE = new PluginStartupRecorder();
+    private static final int SLOWEST_PLUGINS = 10;
+    private static final PluginPhase[] PHASES = PluginPhase.values();
+
+    private final Map<PluginKey, AtomicLongArray> timings = new ConcurrentHashMap<>();
+    private final ThreadLocal<Timer> currentTimer = new ThreadLocal<>();
+
+    private PluginStartupRecorder() {}
+
+    public static PluginStartupRecorder getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start timing a phase of the given plugin on the current thread.
+     *
+     * @param plugin the plugin.
+     * @param phase the phase.
+     * @return the timer to close once the phase is over.
+     */
+    public Timer start(Plugin plugin, PluginPhase phase) {
+        return start(plugin.type(), plugin.id(), phase);
+    }
+
+    /**
+     * Start timing a phase of the given plugin on the current thread.
+     *
+     * @param type the plugin type.
+     * @param id the plugin id.
+     * @param phase the phase.
+     * @return the timer to close once the phase is over.
+     */
+    public Timer start(String type, String id, PluginPhase phase) {
+        final Timer timer = new Timer(type, id, phase, currentTimer.get());
+        currentTimer.set(timer);
+        return timer;
+    }
+
+    /**
+     * Start timing a phase of the plugin already being timed on the current thread.
+     * If no plugin is being timed, the phase is not recorded.
+     *
+     * @param phase the phase.
+     * @return the timer to close once the phase is over.
+     */
+    public Timer start(PluginPhase phase) {
+        final Timer parent = currentTimer.get();
+        return parent != null ? start(parent.type, parent.id, phase) : start(null, null, phase);
+    }
+
+    /**
+     * Record the time spent by a plugin in a phase which has been timed by the caller.
+     *
+     * @param type the plugin type.
+     * @param id the plugin id.
+     * @param phase the phase.
+     * @param nanos the time spent in the phase, in nanoseconds.
+     */
+    public void record(String type, String id, PluginPhase phase, long nanos) {
+        if (type == null || id == null || nanos <= 0) {
+            return;
+        }
+        timings.computeIfAbsent(new PluginKey(type, id), key -> new AtomicLongArray(PHASES.length)).addAndGet(phase.ordinal(), nanos);
+    }
+
+    @Override
+    public List<PluginTimings> plugins() {
+        return timings
+            .entrySet()
+            .stream()
+            .map(entry -> pluginTimings(entry.getKey(), entry.getValue()))
+            .sorted(Comparator.comparing(PluginTimings::total).reversed())
+            .toList();
+    }
+
+    @Override
+    public List<PhaseTiming> phases() {
+        final long[] totals = new long[PHASES.length];
+        timings
+            .values()
+            .forEach(phases -> {
+                for (int i = 0; i < PHASES.length; i++) {
+                    totals[i] += phases.get(i);
+                }
+            });
+
+        return Arrays.stream(PHASES)
+            .map(phase -> new PhaseTiming(phase, Duration.ofNanos(totals[phase.ordinal()])))
+            .sorted(Comparator.comparing(PhaseTiming::duration).reversed())
+            .toList();
+    }
+
+    @Override
+    public Duration total() {
+        return phases().stream().map(PhaseTiming::duration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    @Override
+    public String toFoldedStacks() {
+        final StringBuilder folded = new StringBuilder();
+        timings.forEach((key, phases) -> {
+            for (PluginPhase phase : PHASES) {
+                final long nanos = phases.get(phase.ordinal());
+                if (nanos > 0) {
+                    folded.append(key.type()).append(';').append(key.id()).append(';').append(phase.name().toLowerCase());
+                    folded.append(' ').append(nanos).append('\n');
+                }
+            }
+        });
+        return folded.toString();
+    }
+
+    /**
+     * Log the totals per phase and the slowest plugins, the full breakdown being logged in debug.
+     */
+    public void log() {
+        if (timings.isEmpty()) {
+            return;
+        }
+
+        log.info(
+            "Plugins loaded and deployed in {} ms ({})",
+            total().toMillis(),
+            phases()
+                .stream()
+                .filter(timing -> !timing.duration().isZero())
+                .map(timing -> timing.phase().name().toLowerCase() + ": " + timing.duration().toMillis() + " ms")
+                .collect(Collectors.joining(", "))
+        );
+
+        final List<PluginTimings> plugins = plugins();
+        log.info(
+            "Slowest plugins: {}",
+            plugins
+                .stream()
+                .limit(SLOWEST_PLUGINS)
+                .map(timing -> timing.type() + ':' + timing.id() + " (" + timing.total().toMillis() + " ms)")
+                .collect(Collectors.joining(", "))
+        );
+
+        if (log.isDebugEnabled()) {
+            plugins.forEach(timing -> log.debug("Plugin {}:{} {}", timing.type(), timing.id(), timing.phases()));
+        }
+    }
+
+    /**
+     * Forget all the recorded timings.
+     */
+    public void reset() {
+        timings.clear();
+    }
+
+    private static PluginTimings pluginTimings(PluginKey key, AtomicLongArray phases) {
+        final Map<PluginPhase, Duration> durations = new EnumMap<>(PluginPhase.class);
+        long total = 0;
+        for (PluginPhase phase : PHASES) {
+            final long nanos = phases.get(phase.ordinal());
+            if (nanos > 0) {
+                durations.put(phase, Duration.ofNanos(nanos));
+                total += nanos;
+            }
+        }
+
+        final Map<PluginPhase, Duration> sorted = new LinkedHashMap<>();
+        durations
+            .entrySet()
+            .stream()
+            .sorted(Map.Entry.<PluginPhase, Duration>comparingByValue().reversed())
+            .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return new PluginTimings(key.type(), key.id(), sorted, Duration.ofNanos(total));
+    }
+
+    /**
+     * Times a phase on the thread which started it. Nested phases have to be closed before their outer phase.
+     */
+    public final class Timer implements AutoCloseable {
+
+        private final String type;
+        private final String id;
+        private final PluginPhase phase;
+        private final Timer parent;
+        private final long startNanos = System.nanoTime();
+        private long nestedNanos;
+
+        private Timer(String type, String id, PluginPhase phase, Timer parent) {
+            this.type = type;
+            this.id = id;
+            this.phase = phase;
+            this.parent = parent;
+        }
+
+        @Override
+        public void close() {
+            final long elapsedNanos = System.nanoTime() - startNanos;
+            if (parent != null) {
+                parent.nestedNanos += elapsedNanos;
+                currentTimer.set(parent);
+            } else {
+                currentTimer.remove();
+            }
+            record(type, id, phase, elapsedNanos - nestedNanos);
+        }
+    }
+
+    private record PluginKey(String type, String id) {}
+}
@@ -18,13 +18,8 @@ package io.gravitee.plugin.core.internal;
 import io.gravitee.plugin.core.api.Plugin;
 import io.gravitee.plugin.core.api.PluginClassLoaderFactory;
 import io.gravitee.plugin.core.api.PluginConfigurationResolver;
+import io.gravitee.plugin.core.api.PluginPhase;
 import java.util.Set;
-import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
-import org.reflections.util.FilterBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -51,16 +46,9 @@ public class ReflectionBasedPluginConfigurationResolver implements PluginConfigu
                 pluginClass.getPackage().getName()
             );
 
-            Reflections reflections = new Reflections(
-                new ConfigurationBuilder()
-                    .addClassLoader(pluginClass.getClassLoader())
-                    .setExpandSuperTypes(false)
-                    .setUrls(ClasspathHelper.forClass(pluginClass, pluginClass.getClassLoader()))
-                    .setScanners(new SubTypesScanner(false), new TypeAnnotationsScanner())
-                    .filterInputsBy(new FilterBuilder().includePackage(pluginClass.getPackage().getName()))
-            );
-
-            return reflections.getTypesAnnotatedWith(Configuration.class);
+            try (PluginStartupRecorder.Timer ignored = PluginStartupRecorder.getInstance().start(PluginPhase.CLASSPATH_SCAN)) {
+                return PluginClasspathScan.of(pluginClass, pluginClass.getClassLoader()).typesAnnotatedWith(Configuration.class);
+            }
         } catch (ClassNotFoundException e) {
             e.printStackTrace();
             return null;
@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.metrics;
+
+import io.gravitee.plugin.core.api.Plugin;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Entry point of the plugin components towards the plugin metrics.
+ * <p>
+ * Metrics are disabled until a {@link PluginMetricsBinder} is created: each method then boils down to a read of a volatile
+ * field, and {@link #start()} does not even read the clock. This class does not depend on Micrometer, which is an optional
+ * dependency only required once the metrics are enabled.
+ *
+ * @author GraviteeSource Team
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PluginMetrics {
+
+    /**
+     * Start time given to the operations called from another operation, which are not recorded.
+     */
+    private static final long NESTED = Long.MIN_VALUE;
+
+    /**
+     * Number of operations in progress in the current thread, only the outermost one is recorded.
+     */
+    private static final ThreadLocal<int[]> OPERATIONS_IN_PROGRESS = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static volatile Listener listener;
+
+    /**
+     * @return <code>true</code> if the plugin metrics are enabled.
+     */
+    public static boolean isEnabled() {
+        return listener != null;
+    }
+
+    /**
+     * Start timing a plugin manager operation. An operation called from another one, for instance a <code>get</code> to
+     * read the schema of a plugin, is part of the outer operation and is not recorded on its own.
+     *
+     * @return the start time to give back to {@link #operation(Class, Operation, long)}, <code>0</code> if metrics are disabled.
+     */
+    public static long start() {
+        if (listener == null) {
+            return 0L;
+        }
+        return OPERATIONS_IN_PROGRESS.get()[0]++ == 0 ? System.nanoTime() : NESTED;
+    }
+
+    /**
+     * Record a plugin manager operation started with {@link #start()}, unless it has been called from another operation.
+     * It must be called once for each call to {@link #start()}, typically from a <code>finally</code> block.
+     *
+     * @param manager the class of the plugin manager.
+     * @param operation the operation.
+     * @param startNanos the start time returned by {@link #start()}.
+     */
+    public static void operation(Class<?> manager, Operation operation, long startNanos) {
+        if (startNanos == 0L) {
+            return;
+        }
+        OPERATIONS_IN_PROGRESS.get()[0]--;
+
+        final Listener current = listener;
+        if (current != null && startNanos != NESTED) {
+            current.operation(manager, operation, System.nanoTime() - startNanos);
+        }
+    }
+
+    public static void pluginDeployed(Plugin plugin) {
+        final Listener current = listener;
+        if (current != null) {
+            current.pluginDeployed(plugin);
+        }
+    }
+
+    public static void pluginUndeployed(Plugin plugin) {
+        final Listener current = listener;
+        if (current != null) {
+            current.pluginUndeployed(plugin);
+        }
+    }
+
+    public static void deploymentFailed(Plugin plugin) {
+        final Listener current = listener;
+        if (current != null) {
+            current.deploymentFailed(plugin);
+        }
+    }
+
+    public static void classLoaderCreated(ClassLoader classLoader) {
+        final Listener current = listener;
+        if (current != null) {
+            current.classLoaderCreated(classLoader);
+        }
+    }
+
+    public static void contextCreated(ConfigurableApplicationContext context) {
+        final Listener current = listener;
+        if (current != null) {
+            current.contextCreated(context);
+        }
+    }
+
+    static synchronized void enable(Listener metricsListener) {
+        listener = metricsListener;
+    }
+
+    static synchronized void disable(Listener metricsListener) {
+        if (listener == metricsListener) {
+            listener = null;
+        }
+    }
+
+    /**
+     * Timed plugin manager operations.
+     */
+    public enum Operation {
+        GET,
+        FIND_ALL,
+        GET_SCHEMA,
+        GET_ICON,
+        GET_DOCUMENTATION,
+    }
+
+    interface Listener {
+        void operation(Class<?> manager, Operation operation, long nanos);
+
+        void pluginDeployed(Plugin plugin);
+
+        void pluginUndeployed(Plugin plugin);
+
+        void deploymentFailed(Plugin plugin);
+
+        void classLoaderCreated(ClassLoader classLoader);
+
+        void contextCreated(ConfigurableApplicationContext context);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.metrics;
+
+import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.internal.PluginRegistryConfiguration;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.StringUtils;
+
+/**
+ * Publish the metrics of the plugin subsystem to the Micrometer registry supplied by the host application:
+ * <ul>
+ *     <li><code>gio.plugins.deployed</code>: plugins deployed, per type</li>
+ *     <li><code>gio.plugins.deployment.failures</code>: plugins which failed to deploy</li>
+ *     <li><code>gio.plugins.classloaders.alive</code>: plugin classloaders which have not been garbage collected yet</li>
+ *     <li><code>gio.plugins.contexts.alive</code>: plugin Spring contexts which have not been closed</li>
+ *     <li><code>gio.plugins.workdir.size</code>: disk usage of the plugin working directories, in bytes</li>
+ *     <li><code>gio.plugins.manager.operations</code>: latency of the plugin manager lookups, per manager and operation</li>
+ * </ul>
+ * Plugins are counted as soon as the binder is created, meters are only published once it is bound to a registry.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class PluginMetricsBinder implements MeterBinder, PluginMetrics.Listener, AutoCloseable {
+
+    private static final String PREFIX = "gio.plugins.";
+    private static final long WORK_DIR_SIZE_REFRESH_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final List<Path> workDirs;
+    private final Map<String, AtomicInteger> deployedByType = new ConcurrentHashMap<>();
+    private final AtomicLong deploymentFailures = new AtomicLong();
+    private final Set<ClassLoader> classLoaders = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private final Set<ConfigurableApplicationContext> contexts = Collections.synchronizedSet(
+        Collections.newSetFromMap(new WeakHashMap<>())
+    );
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry registry;
+    private long workDirSize;
+    private long workDirSizeTimestamp;
+
+    public PluginMetricsBinder(PluginRegistryConfiguration configuration) {
+        this.workDirs = workDirs(configuration);
+        PluginMetrics.enable(this);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        this.registry = meterRegistry;
+
+        deployedByType.forEach(this::registerDeployedGauge);
+        FunctionCounter
+            .builder(PREFIX + "deployment.failures", deploymentFailures, AtomicLong::get)
+            .description("Plugins which failed to deploy")
+            .register(meterRegistry);
+        Gauge
+            .builder(PREFIX + "classloaders.alive", classLoaders, Set::size)
+            .description("Plugin classloaders which have not been garbage collected yet")
+            .register(meterRegistry);
+        Gauge
+            .builder(PREFIX + "contexts.alive", this, PluginMetricsBinder::aliveContexts)
+            .description("Plugin Spring contexts which have not been closed")
+            .register(meterRegistry);
+        Gauge
+            .builder(PREFIX + "workdir.size", this, PluginMetricsBinder::workDirSize)
+            .description("Disk usage of the plugin working directories")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void close() {
+        PluginMetrics.disable(this);
+    }
+
+    @Override
+    public void operation(Class<?> manager, PluginMetrics.Operation operation, long nanos) {
+        final MeterRegistry meterRegistry = registry;
+        if (meterRegistry != null) {
+            timers
+                .computeIfAbsent(
+                    new TimerKey(manager, operation),
+                    key ->
+                        Timer
+                            .builder(PREFIX + "manager.operations")
+                            .description("Latency of the plugin manager lookups")
+                            .tag("manager", manager.getSimpleName())
+                            .tag("operation", operation.name().toLowerCase())
+                            .register(meterRegistry)
+                )
+                .record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void pluginDeployed(Plugin plugin) {
+        deployedByType.computeIfAbsent(plugin.type(), this::newDeployedCounter).incrementAndGet();
+    }
+
+    @Override
+    public void pluginUndeployed(Plugin plugin) {
+        final AtomicInteger deployed = deployedByType.get(plugin.type());
+        if (deployed != null) {
+            deployed.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void deploymentFailed(Plugin plugin) {
+        deploymentFailures.incrementAndGet();
+    }
+
+    @Override
+    public void classLoaderCreated(ClassLoader classLoader) {
+        classLoaders.add(classLoader);
+    }
+
+    @Override
+    public void contextCreated(ConfigurableApplicationContext context) {
+        contexts.add(context);
+    }
+
+    private AtomicInteger newDeployedCounter(String type) {
+        final AtomicInteger deployed = new AtomicInteger();
+        if (registry != null) {
+            registerDeployedGauge(type, deployed);
+        }
+        return deployed;
+    }
+
+    private void registerDeployedGauge(String type, AtomicInteger deployed) {
+        Gauge
+            .builder(PREFIX + "deployed", deployed, AtomicInteger::get)
+            .description("Plugins deployed")
+            .tag("type", type)
+            .register(registry);
+    }
+
+    private double aliveContexts() {
+        synchronized (contexts) {
+            return contexts.stream().filter(ConfigurableApplicationContext::isActive).count();
+        }
+    }
+
+    /**
+     * Walking the working directories is costly, the size is computed once per refresh period at most.
+     */
+    private synchronized double workDirSize() {
+        final long now = System.nanoTime();
+        if (workDirSizeTimestamp == 0L || now - workDirSizeTimestamp > WORK_DIR_SIZE_REFRESH_NANOS) {
+            // Working directories may be hard linked to the extraction store, linked files are only counted once.
+            final Set<Object> visitedFiles = new HashSet<>();
+            long size = 0;
+            for (Path workDir : workDirs) {
+                size += directorySize(workDir, visitedFiles);
+            }
+            workDirSize = size;
+            workDirSizeTimestamp = now;
+        }
+        return workDirSize;
+    }
+
+    private static long directorySize(Path directory, Set<Object> visitedFiles) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        final AtomicLong size = new AtomicLong();
+        try {
+            Files.walkFileTree(
+                directory,
+                new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if (attrs.fileKey() == null || visitedFiles.add(attrs.fileKey())) {
+                            size.addAndGet(attrs.size());
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                }
+            );
+        } catch (IOException e) {
+            log.debug("Unable to compute the size of {}", directory, e);
+        }
+        return size.get();
+    }
+
+    private static List<Path> workDirs(PluginRegistryConfiguration configuration) {
+        final List<Path> workDirs = new ArrayList<>();
+        if (StringUtils.hasText(configuration.getPluginWorkDir())) {
+            workDirs.add(Paths.get(configuration.getPluginWorkDir()));
+        } else if (configuration.getPluginsPath() != null) {
+            for (String pluginsPath : configuration.getPluginsPath()) {
+                workDirs.add(Paths.get(pluginsPath, ".work"));
+            }
+        }
+        if (StringUtils.hasText(configuration.getExtractionStorePath())) {
+            workDirs.add(Paths.get(configuration.getExtractionStorePath()));
+        }
+        return workDirs;
+    }
+
+    private record TimerKey(Class<?> manager, PluginMetrics.Operation operation) {}
+}
@@ -26,6 +26,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.env.Environment;
 
 /**
@@ -33,6 +34,7 @@ import org.springframework.core.env.Environment;
  * @author GraviteeSource Team
  */
 @Configuration
+@Import(PluginMetricsConfiguration.class)
 public class BootPluginConfiguration {
 
     public static final int PARALLELISM = Runtime.getRuntime().availableProcessors() * 2;
@@ -42,6 +44,11 @@ public class BootPluginConfiguration {
         return new PluginRegistryConfiguration();
     }
 
+    @Bean
+    public PluginStartupReport pluginStartupReport() {
+        return PluginStartupRecorder.getInstance();
+    }
+
     @Bean(name = "pluginEventManager")
     public EventManager eventManager() {
         return new EventManagerImpl();
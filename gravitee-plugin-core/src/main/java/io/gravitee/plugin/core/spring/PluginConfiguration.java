@@ -34,8 +34,12 @@ import org.springframework.core.env.Environment;
 public class PluginConfiguration {
 
     @Bean
-    public PluginContextFactory pluginContextFactory() {
-        return new PluginContextFactoryImpl();
+    public PluginContextFactory pluginContextFactory(Environment environment) {
+        final Integer refreshParallelism = environment.getProperty(
+            PluginContextFactoryImpl.CONTEXT_REFRESH_PARALLELISM_PROPERTY,
+            Integer.class
+        );
+        return new PluginContextFactoryImpl(refreshParallelism != null ? refreshParallelism : 1);
     }
 
     @Bean
@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.spring;
+
+import io.gravitee.plugin.core.internal.PluginRegistryConfiguration;
+import io.gravitee.plugin.core.metrics.PluginMetricsBinder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Define the plugin metrics binder when the <code>plugins.metrics.enabled</code> property is set and Micrometer is on the
+ * classpath. The binder is bound to the {@link MeterRegistry} of the application context if there is one, otherwise the host
+ * application is in charge of binding it to its own registry.
+ *
+ * @author GraviteeSource Team
+ */
+@Configuration
+@Conditional(PluginMetricsConfiguration.MetricsEnabledCondition.class)
+public class PluginMetricsConfiguration {
+
+    public static final String METRICS_ENABLED_PROPERTY = "plugins.metrics.enabled";
+
+    @Bean
+    public PluginMetricsBinder pluginMetricsBinder(
+        PluginRegistryConfiguration pluginRegistryConfiguration,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        final PluginMetricsBinder pluginMetricsBinder = new PluginMetricsBinder(pluginRegistryConfiguration);
+        meterRegistry.ifAvailable(pluginMetricsBinder::bindTo);
+        return pluginMetricsBinder;
+    }
+
+    static class MetricsEnabledCondition implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return (
+                context.getEnvironment().getProperty(METRICS_ENABLED_PROPERTY, Boolean.class, false) &&
+                ClassUtils.isPresent("io.micrometer.core.instrument.MeterRegistry", context.getClassLoader())
+            );
+        }
+    }
+}
@@ -0,0 +1,504 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.utils;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * A read-only zip archive read through positional reads of the archive file.
+ * <p>
+ * The central directory is read and parsed once when the archive is opened, then the entries are read straight from the
+ * file: there is no need to open the archive again to read the plugin manifest, to list the entries or to extract them.
+ * Jars nested in the archive can be opened as archives too: a stored jar is read from the file of its parent archive, a
+ * deflated one is inflated once in memory.
+ * <p>
+ * The archive file is released as soon as the archive is {@link #close() closed}, so that it can be deleted or replaced
+ * right away. A nested archive stored in its parent can not be read anymore once its parent is closed.
+ *
+ * @author GraviteeSource Team
+ */
+public final class ZipArchive implements Closeable {
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE = 56;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE = 20;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private static final int ZIP64_EXTRA_FIELD = 0x0001;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    public static final int STORED = 0;
+    public static final int DEFLATED = 8;
+
+    private final String name;
+    private final Source source;
+    private final Map<String, Entry> entries;
+
+    private ZipArchive(String name, Source source) throws IOException {
+        this.name = name;
+        this.source = source;
+        this.entries = readCentralDirectory();
+    }
+
+    /**
+     * Open the given zip archive and read its central directory.
+     *
+     * @param archive the zip archive.
+     * @return the opened archive, to be closed once read.
+     * @throws IOException if the archive can not be read, or is not a valid zip archive.
+     */
+    public static ZipArchive open(Path archive) throws IOException {
+        final FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ);
+        try {
+            return new ZipArchive(archive.toString(), new ChannelSource(channel, 0, channel.size(), true));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the entries of the archive, in the order of the central directory.
+     */
+    public Collection<Entry> entries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    /**
+     * @param entryName the name of the entry.
+     * @return the entry with the given name or <code>null</code> if the archive does not hold such an entry.
+     */
+    public Entry entry(String entryName) {
+        return entries.get(entryName);
+    }
+
+    /**
+     * Open a stream on the uncompressed content of an entry.
+     *
+     * @param entry an entry of this archive.
+     * @return a stream of the entry content, read from the archive file.
+     * @throws IOException if the entry can not be read, or is compressed with an unsupported method.
+     */
+    public InputStream getInputStream(Entry entry) throws IOException {
+        final InputStream data = source.stream(dataOffset(entry), entry.compressedSize());
+        return switch (entry.method()) {
+            case STORED -> data;
+            case DEFLATED -> new InflatingInputStream(data, entry.size());
+            default -> throw new ZipException("Unsupported compression method " + entry.method() + " for entry " + entry.name());
+        };
+    }
+
+    /**
+     * Open a zip archive nested in this archive, typically a jar.
+     * A stored entry is read from the file of this archive, a compressed one is inflated in memory first.
+     *
+     * @param entry an entry of this archive holding a zip archive.
+     * @return the nested archive.
+     * @throws IOException if the entry can not be read or is not a valid zip archive.
+     */
+    public ZipArchive openNested(Entry entry) throws IOException {
+        final String nestedName = name + "!/" + entry.name();
+        if (entry.method() == STORED) {
+            return new ZipArchive(nestedName, source.slice(dataOffset(entry), entry.compressedSize()));
+        }
+
+        if (entry.size() > Integer.MAX_VALUE) {
+            throw new ZipException("Entry " + nestedName + " is too large to be opened");
+        }
+        final byte[] content = new byte[(int) entry.size()];
+        try (InputStream is = getInputStream(entry)) {
+            final int read = is.readNBytes(content, 0, content.length);
+            if (read != content.length) {
+                throw new ZipException("Unexpected end of entry " + nestedName);
+            }
+        }
+        return new ZipArchive(nestedName, new BufferSource(ByteBuffer.wrap(content)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private long dataOffset(Entry entry) throws IOException {
+        final long offset = position(entry.localHeaderOffset(), LOCAL_HEADER_SIZE);
+        final ByteBuffer header = source.read(offset, LOCAL_HEADER_SIZE);
+        if (header.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("Invalid local header for entry " + entry.name() + " of " + name);
+        }
+        final long dataOffset = offset + LOCAL_HEADER_SIZE + unsignedShort(header, 26) + unsignedShort(header, 28);
+        if (entry.compressedSize() < 0 || dataOffset + entry.compressedSize() > source.size()) {
+            throw new ZipException("Entry " + entry.name() + " of " + name + " is truncated");
+        }
+        return dataOffset;
+    }
+
+    private Map<String, Entry> readCentralDirectory() throws IOException {
+        // The end of central directory record is followed by a comment of at most 64KiB, the whole tail is read at once.
+        final int tailSize = (int) Math.min(source.size(), END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+        final long tailOffset = source.size() - tailSize;
+        final ByteBuffer tail = source.read(tailOffset, tailSize);
+
+        final int endOfCentralDirectory = findEndOfCentralDirectory(tail);
+        long entryCount = unsignedShort(tail, endOfCentralDirectory + 10);
+        long centralDirectorySize = unsignedInt(tail, endOfCentralDirectory + 12);
+        long centralDirectoryOffset = unsignedInt(tail, endOfCentralDirectory + 16);
+
+        final int zip64Locator = endOfCentralDirectory - ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE;
+        if (zip64Locator >= 0 && tail.getInt(zip64Locator) == ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE) {
+            final long zip64Offset = position(tail.getLong(zip64Locator + 8), ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE);
+            final ByteBuffer zip64EndOfCentralDirectory = source.read(zip64Offset, ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE);
+            if (zip64EndOfCentralDirectory.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                throw new ZipException("Invalid zip64 end of central directory in " + name);
+            }
+            entryCount = zip64EndOfCentralDirectory.getLong(32);
+            centralDirectorySize = zip64EndOfCentralDirectory.getLong(40);
+            centralDirectoryOffset = zip64EndOfCentralDirectory.getLong(48);
+        }
+
+        if (centralDirectorySize < 0 || centralDirectorySize > Integer.MAX_VALUE) {
+            throw new ZipException("Invalid central directory size in " + name);
+        }
+        final ByteBuffer centralDirectory = source.read(position(centralDirectoryOffset, centralDirectorySize), (int) centralDirectorySize);
+
+        final Map<String, Entry> result = new LinkedHashMap<>();
+        int offset = 0;
+        for (long i = 0; i < entryCount; i++) {
+            if (offset + CENTRAL_HEADER_SIZE > centralDirectory.limit() || centralDirectory.getInt(offset) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid central directory header in " + name);
+            }
+            final int method = unsignedShort(centralDirectory, offset + 10);
+            final long crc = unsignedInt(centralDirectory, offset + 16);
+            long compressedSize = unsignedInt(centralDirectory, offset + 20);
+            long size = unsignedInt(centralDirectory, offset + 24);
+            final int nameLength = unsignedShort(centralDirectory, offset + 28);
+            final int extraLength = unsignedShort(centralDirectory, offset + 30);
+            final int commentLength = unsignedShort(centralDirectory, offset + 32);
+            long localHeaderOffset = unsignedInt(centralDirectory, offset + 42);
+
+            final int next = offset + CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+            if (next > centralDirectory.limit()) {
+                throw new ZipException("Invalid central directory header in " + name);
+            }
+
+            final byte[] nameBytes = new byte[nameLength];
+            centralDirectory.get(offset + CENTRAL_HEADER_SIZE, nameBytes);
+            final String entryName = new String(nameBytes, StandardCharsets.UTF_8);
+
+            if (size == ZIP64_MAGIC || compressedSize == ZIP64_MAGIC || localHeaderOffset == ZIP64_MAGIC) {
+                // Zip64 values appear in the extra field in this order, and only when the header value overflowed.
+                int extra = offset + CENTRAL_HEADER_SIZE + nameLength;
+                final int extraEnd = extra + extraLength;
+                while (extra + 4 <= extraEnd) {
+                    final int tag = unsignedShort(centralDirectory, extra);
+                    final int length = unsignedShort(centralDirectory, extra + 2);
+                    if (tag == ZIP64_EXTRA_FIELD) {
+                        int field = extra + 4;
+                        if (size == ZIP64_MAGIC) {
+                            size = centralDirectory.getLong(field);
+                            field += 8;
+                        }
+                        if (compressedSize == ZIP64_MAGIC) {
+                            compressedSize = centralDirectory.getLong(field);
+                            field += 8;
+                        }
+                        if (localHeaderOffset == ZIP64_MAGIC) {
+                            localHeaderOffset = centralDirectory.getLong(field);
+                        }
+                        break;
+                    }
+                    extra += 4 + length;
+                }
+            }
+
+            result.putIfAbsent(entryName, new Entry(entryName, method, crc, compressedSize, size, localHeaderOffset));
+            offset = next;
+        }
+        return result;
+    }
+
+    private int findEndOfCentralDirectory(ByteBuffer tail) throws IOException {
+        for (int offset = tail.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; offset >= 0; offset--) {
+            if (tail.getInt(offset) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                return offset;
+            }
+        }
+        throw new ZipException("Unable to find the end of central directory of " + name + ", not a zip archive");
+    }
+
+    private long position(long offset, long length) throws ZipException {
+        if (offset < 0 || offset + length > source.size()) {
+            throw new ZipException("Invalid offset " + offset + " in " + name);
+        }
+        return offset;
+    }
+
+    private static int unsignedShort(ByteBuffer buffer, int offset) {
+        return Short.toUnsignedInt(buffer.getShort(offset));
+    }
+
+    private static long unsignedInt(ByteBuffer buffer, int offset) {
+        return Integer.toUnsignedLong(buffer.getInt(offset));
+    }
+
+    /**
+     * An entry of the central directory.
+     *
+     * @param name the entry name, directories end with a <code>/</code>.
+     * @param method the compression method, {@link #STORED} or {@link #DEFLATED}.
+     * @param crc the CRC-32 of the uncompressed content.
+     * @param compressedSize the size of the entry in the archive.
+     * @param size the uncompressed size of the entry.
+     * @param localHeaderOffset the offset of the local header of the entry in the archive.
+     */
+    public record Entry(String name, int method, long crc, long compressedSize, long size, long localHeaderOffset) {
+        public boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+
+    /**
+     * The bytes of an archive, either a region of a file or a buffer in memory.
+     */
+    private sealed interface Source extends Closeable permits ChannelSource, BufferSource {
+        long size();
+
+        /**
+         * @return a little-endian buffer holding the <code>length</code> bytes found at the given position.
+         */
+        ByteBuffer read(long position, int length) throws IOException;
+
+        InputStream stream(long position, long length);
+
+        Source slice(long position, long length);
+    }
+
+    private record ChannelSource(FileChannel channel, long offset, long size, boolean owner) implements Source {
+        @Override
+        public ByteBuffer read(long position, int length) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining()) {
+                // Positional reads leave the position of the channel untouched, they can be done concurrently.
+                if (channel.read(buffer, offset + position + buffer.position()) < 0) {
+                    throw new EOFException("Unexpected end of archive");
+                }
+            }
+            return buffer.flip();
+        }
+
+        @Override
+        public InputStream stream(long position, long length) {
+            return new ChannelInputStream(channel, offset + position, length);
+        }
+
+        @Override
+        public Source slice(long position, long length) {
+            return new ChannelSource(channel, offset + position, length, false);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (owner) {
+                channel.close();
+            }
+        }
+    }
+
+    private record BufferSource(ByteBuffer buffer) implements Source {
+        @Override
+        public long size() {
+            return buffer.limit();
+        }
+
+        @Override
+        public ByteBuffer read(long position, int length) {
+            return buffer.slice((int) position, length).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        @Override
+        public InputStream stream(long position, long length) {
+            return new ByteBufferInputStream(buffer.slice((int) position, (int) length));
+        }
+
+        @Override
+        public Source slice(long position, long length) {
+            return new BufferSource(buffer.slice((int) position, (int) length));
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private static final class ChannelInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private long position;
+        private long remaining;
+
+        private ChannelInputStream(FileChannel channel, long position, long length) {
+            this.channel = channel;
+            this.position = position;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (remaining == 0) {
+                return -1;
+            }
+            final int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)), position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of archive");
+            }
+            position += read;
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            final long skipped = Math.max(0, Math.min(n, remaining));
+            position += skipped;
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(remaining, Integer.MAX_VALUE);
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    private static final class InflatingInputStream extends InflaterInputStream {
+
+        private static final int BUFFER_SIZE = 8 * 1024;
+
+        private final long size;
+        private boolean closed;
+
+        private InflatingInputStream(InputStream in, long size) {
+            // Entries are raw deflate streams, without zlib header.
+            super(in, new Inflater(true), BUFFER_SIZE);
+            this.size = size;
+        }
+
+        @Override
+        public int available() throws IOException {
+            if (closed) {
+                return 0;
+            }
+            final long remaining = size - inf.getBytesWritten();
+            return remaining > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) Math.max(remaining, 0);
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            len = in.read(buf, 0, buf.length);
+            if (len == -1) {
+                // The raw inflater may need an extra dummy byte to detect the end of the stream.
+                buf[0] = 0;
+                len = 1;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                inf.end();
+                super.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extract zip archives entry per entry, streaming each of them from the {@link ZipArchive} file to its destination
+ * file through a {@link FileChannel}.
+ * <p>
+ * Archives can be extracted concurrently thanks to {@link #extractAsync(Path, Path)}, which runs the extractions on a pool
+ * bounded to the parallelism given at construction time.
+ *
+ * @author GraviteeSource Team
+ */
+public class ZipExtractor implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ThreadPoolExecutor executor;
+
+    public ZipExtractor(int parallelism) {
+        final AtomicInteger counter = new AtomicInteger();
+        this.executor =
+            new ThreadPoolExecutor(
+                parallelism,
+                parallelism,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    final Thread thread = new Thread(r, "gio.plugin-extractor-" + counter.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Extract the specified archive to the destination directory on the extraction pool.
+     * The destination directory is deleted first so that it ends up holding the content of the archive only.
+     *
+     * @param archive the zip archive to extract.
+     * @param destDir the directory to extract to.
+     * @return a future completed with the destination directory once the archive has been extracted.
+     */
+    public CompletableFuture<Path> extractAsync(Path archive, Path destDir) {
+        return extractAsync(archive, destDir, zipArchive -> destDir);
+    }
+
+    /**
+     * Extract the specified archive to the destination directory on the extraction pool, reading it beforehand with the given
+     * reader. The archive is opened only once for both the read and the extraction.
+     * The destination directory is deleted first so that it ends up holding the content of the archive only.
+     *
+     * @param archive the zip archive to extract.
+     * @param destDir the directory to extract to.
+     * @param reader the reader to apply to the archive before extracting it.
+     * @return a future completed with the result of the reader once the archive has been extracted.
+     */
+    public <T> CompletableFuture<T> extractAsync(Path archive, Path destDir, ArchiveReader<T> reader) {
+        return CompletableFuture.supplyAsync(
+            () -> {
+                try (ZipArchive zipArchive = ZipArchive.open(archive)) {
+                    final T result = reader.read(zipArchive);
+                    FileUtils.delete(destDir);
+                    extract(zipArchive, destDir);
+                    return result;
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            },
+            executor
+        );
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Extract the specified archive to the destination directory, in the calling thread.
+     * Replaces any files in the destination, if they already exist.
+     *
+     * @param archive the zip archive to extract.
+     * @param destDir the directory to extract to.
+     * @throws IOException if the archive can not be read, the files can not be written, or an entry points outside the destination.
+     */
+    public static void extract(Path archive, Path destDir) throws IOException {
+        try (ZipArchive zipArchive = ZipArchive.open(archive)) {
+            extract(zipArchive, destDir);
+        }
+    }
+
+    /**
+     * Extract an already opened archive to the destination directory, in the calling thread.
+     * Replaces any files in the destination, if they already exist.
+     *
+     * @param archive the zip archive to extract.
+     * @param destDir the directory to extract to.
+     * @throws IOException if the archive can not be read, the files can not be written, or an entry points outside the destination.
+     */
+    public static void extract(ZipArchive archive, Path destDir) throws IOException {
+        final Path root = destDir.toAbsolutePath().normalize();
+        Files.createDirectories(root);
+
+        final Set<Path> createdDirectories = new HashSet<>();
+        createdDirectories.add(root);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        for (ZipArchive.Entry entry : archive.entries()) {
+            final Path target = root.resolve(entry.name()).normalize();
+            if (!target.startsWith(root)) {
+                throw new IOException("Entry " + entry.name() + " of " + archive + " is outside of the target directory");
+            }
+
+            if (entry.isDirectory()) {
+                createDirectories(target, createdDirectories);
+                continue;
+            }
+
+            createDirectories(target.getParent(), createdDirectories);
+            try (
+                InputStream is = archive.getInputStream(entry);
+                ReadableByteChannel source = Channels.newChannel(is);
+                FileChannel destination = FileChannel.open(
+                    target,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING
+                )
+            ) {
+                copy(source, destination, buffer);
+            }
+        }
+    }
+
+    private static void createDirectories(Path directory, Set<Path> createdDirectories) throws IOException {
+        if (createdDirectories.add(directory)) {
+            Files.createDirectories(directory);
+        }
+    }
+
+    private static void copy(ReadableByteChannel source, FileChannel destination, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        while (source.read(buffer) != -1) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                destination.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Reads an opened archive before it gets extracted.
+     */
+    @FunctionalInterface
+    public interface ArchiveReader<T> {
+        T read(ZipArchive archive) throws IOException;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.api.PluginClassLoader;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CachedPluginClassLoaderFactoryTest {
+
+    private final CachedPluginClassLoaderFactory<Plugin> factory = new CachedPluginClassLoaderFactory<>();
+    private final ClassLoader parent = getClass().getClassLoader();
+
+    @TempDir
+    Path pluginDir;
+
+    private Plugin plugin;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(pluginDir.resolve("resource.txt"), "content");
+        plugin = plugin("my-plugin", pluginDir);
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.close();
+    }
+
+    @Test
+    void should_create_class_loader_once_when_deployed_concurrently() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<CompletableFuture<PluginClassLoader>> futures = IntStream
+                .range(0, 8)
+                .mapToObj(i ->
+                    CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                start.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return factory.getOrCreateClassLoader(plugin, parent);
+                        },
+                        executor
+                    )
+                )
+                .toList();
+            start.countDown();
+
+            final PluginClassLoader classLoader = futures.get(0).get();
+            assertThat(futures).allSatisfy(future -> assertThat(future.get()).isSameAs(classLoader));
+            assertThat(PluginClassLoaderRegistry.getInstance().references(classLoader)).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_not_share_class_loader_between_parents_or_types() throws Exception {
+        final PluginClassLoader classLoader = factory.getOrCreateClassLoader(plugin, parent);
+
+        assertThat(factory.getOrCreateClassLoader(plugin, ClassLoader.getPlatformClassLoader())).isNotSameAs(classLoader);
+
+        final Plugin otherType = plugin("my-plugin", pluginDir);
+        when(otherType.type()).thenReturn("notifier");
+        assertThat(factory.getOrCreateClassLoader(otherType, parent)).isNotSameAs(classLoader);
+    }
+
+    @Test
+    void should_close_class_loader_when_plugin_is_invalidated() {
+        final PluginClassLoader classLoader = factory.getOrCreateClassLoader(plugin, parent);
+        assertThat(classLoader.findResource("resource.txt")).isNotNull();
+
+        factory.invalidate(plugin);
+
+        assertThat(classLoader.findResource("resource.txt")).isNull();
+        assertThat(factory.getOrCreateClassLoader(plugin, parent)).isNotSameAs(classLoader);
+    }
+
+    @Test
+    void should_create_new_class_loader_and_evict_previous_one_when_archive_is_redeployed() throws Exception {
+        final URL[] dependencies = plugin.dependencies();
+        final PluginImpl deployed = mock(PluginImpl.class);
+        when(deployed.type()).thenReturn("policy");
+        when(deployed.id()).thenReturn("my-plugin");
+        when(deployed.dependencies()).thenReturn(dependencies);
+        when(deployed.getArchiveTimestamp()).thenReturn(1_000L);
+        final PluginImpl redeployed = mock(PluginImpl.class);
+        when(redeployed.type()).thenReturn("policy");
+        when(redeployed.id()).thenReturn("my-plugin");
+        when(redeployed.dependencies()).thenReturn(dependencies);
+        when(redeployed.getArchiveTimestamp()).thenReturn(2_000L);
+
+        final PluginClassLoader classLoader = factory.getOrCreateClassLoader(deployed, parent);
+        final PluginClassLoader redeployedClassLoader = factory.getOrCreateClassLoader(redeployed, parent);
+
+        assertThat(redeployedClassLoader).isNotSameAs(classLoader);
+        assertThat(classLoader.findResource("resource.txt")).isNull();
+        assertThat(redeployedClassLoader.findResource("resource.txt")).isNotNull();
+        assertThat(factory.getOrCreateClassLoader(redeployed, parent)).isSameAs(redeployedClassLoader);
+    }
+
+    private static Plugin plugin(String id, Path dir) throws Exception {
+        final Plugin plugin = mock(Plugin.class);
+        when(plugin.type()).thenReturn("policy");
+        when(plugin.id()).thenReturn(id);
+        when(plugin.dependencies()).thenReturn(new URL[] { dir.toUri().toURL() });
+        return plugin;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class IndexedPluginClassLoaderTest {
+
+    private static final String SAMPLE_CLASS_ENTRY = Sample.class.getName().replace('.', '/') + ".class";
+
+    @TempDir
+    Path pluginDir;
+
+    @Test
+    void should_load_classes_and_resources_from_indexed_jars() throws Exception {
+        final URL[] classpath = new URL[] {
+            jar("plugin.jar", Map.of(SAMPLE_CLASS_ENTRY, sampleClassBytes(), "config/plugin.properties", bytes("plugin"))),
+            jar("lib.jar", Map.of("config/plugin.properties", bytes("lib"), "lib/lib.txt", bytes("lib"))),
+        };
+
+        try (IndexedPluginClassLoader classLoader = new IndexedPluginClassLoader(classpath, ClassLoader.getPlatformClassLoader())) {
+            final Class<?> sample = classLoader.loadClass(Sample.class.getName());
+            assertThat(sample.getClassLoader()).isSameAs(classLoader);
+            assertThat(sample.getPackage().getName()).isEqualTo(Sample.class.getPackageName());
+
+            try (InputStream is = classLoader.getResourceAsStream("config/plugin.properties")) {
+                assertThat(new String(is.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("plugin");
+            }
+            assertThat(Collections.list(classLoader.getResources("config/plugin.properties"))).hasSize(2);
+            assertThat(classLoader.getResource("lib/lib.txt")).isNotNull();
+            assertThat(classLoader.getResource("lib")).isNull();
+            assertThat(classLoader.getResource("missing/missing.txt")).isNull();
+            assertThatThrownBy(() -> classLoader.loadClass("io.gravitee.missing.Missing")).isInstanceOf(ClassNotFoundException.class);
+        }
+    }
+
+    @Test
+    void should_look_up_classpath_with_directories_linearly() throws Exception {
+        final Path classesDir = pluginDir.resolve("classes");
+        Files.createDirectories(classesDir.resolve("config"));
+        Files.writeString(classesDir.resolve("config/plugin.properties"), "classes");
+
+        final URL[] classpath = new URL[] {
+            classesDir.toUri().toURL(),
+            jar("plugin.jar", Map.of(SAMPLE_CLASS_ENTRY, sampleClassBytes())),
+        };
+
+        try (IndexedPluginClassLoader classLoader = new IndexedPluginClassLoader(classpath, ClassLoader.getPlatformClassLoader())) {
+            assertThat(classLoader.loadClass(Sample.class.getName()).getClassLoader()).isSameAs(classLoader);
+            try (InputStream is = classLoader.getResourceAsStream("config/plugin.properties")) {
+                assertThat(new String(is.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("classes");
+            }
+        }
+    }
+
+    @Test
+    void should_not_find_resources_once_closed() throws Exception {
+        final URL[] classpath = new URL[] { jar("plugin.jar", Map.of("config/plugin.properties", bytes("plugin"))) };
+
+        final IndexedPluginClassLoader classLoader = new IndexedPluginClassLoader(classpath, ClassLoader.getPlatformClassLoader());
+        assertThat(classLoader.findResource("config/plugin.properties")).isNotNull();
+
+        classLoader.close();
+
+        assertThat(classLoader.findResource("config/plugin.properties")).isNull();
+    }
+
+    private URL jar(String name, Map<String, byte[]> entries) throws IOException {
+        final Path jar = pluginDir.resolve(name);
+        try (OutputStream os = Files.newOutputStream(jar); JarOutputStream jos = new JarOutputStream(os)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                jos.putNextEntry(new JarEntry(entry.getKey()));
+                jos.write(entry.getValue());
+                jos.closeEntry();
+            }
+        }
+        return jar.toUri().toURL();
+    }
+
+    private static byte[] sampleClassBytes() throws IOException {
+        try (InputStream is = IndexedPluginClassLoaderTest.class.getClassLoader().getResourceAsStream(SAMPLE_CLASS_ENTRY)) {
+            return is.readAllBytes();
+        }
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static class Sample {}
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.api.PluginClassLoader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PluginClassLoaderRegistryTest {
+
+    private final PluginClassLoaderRegistry registry = PluginClassLoaderRegistry.getInstance();
+
+    @TempDir
+    Path pluginDir;
+
+    private Plugin plugin;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(pluginDir.resolve("resource.txt"), "content");
+
+        plugin = mock(Plugin.class);
+        when(plugin.type()).thenReturn("policy");
+        when(plugin.id()).thenReturn("my-policy");
+        when(plugin.dependencies()).thenReturn(new URL[] { pluginDir.toUri().toURL() });
+    }
+
+    @Test
+    void should_share_class_loader_of_a_plugin_between_users() {
+        final ClassLoader parent = getClass().getClassLoader();
+
+        final PluginClassLoader first = registry.acquire(plugin, parent);
+        final PluginClassLoader second = registry.acquire(plugin, parent);
+
+        assertThat(registry.references(first)).isEqualTo(2);
+        assertThat(registry.references(second)).isEqualTo(2);
+
+        assertThat(registry.release(first)).isTrue();
+        assertThat(registry.release(second)).isTrue();
+        assertThat(registry.references(first)).isZero();
+    }
+
+    @Test
+    void should_release_a_handle_only_once() throws Exception {
+        final PluginClassLoader first = registry.acquire(plugin, getClass().getClassLoader());
+        final PluginClassLoader second = registry.acquire(plugin, getClass().getClassLoader());
+
+        first.close();
+        first.close();
+        assertThat(registry.release(first)).isTrue();
+
+        assertThat(registry.references(second)).isEqualTo(1);
+        assertThat(second.findResource("resource.txt")).isNotNull();
+
+        second.close();
+        assertThat(second.findResource("resource.txt")).isNull();
+    }
+
+    @Test
+    void should_not_wait_for_class_loader_of_another_plugin_being_created() throws Exception {
+        final CountDownLatch creating = new CountDownLatch(1);
+        final CountDownLatch created = new CountDownLatch(1);
+        final URL[] dependencies = plugin.dependencies();
+        final Plugin slowPlugin = mock(Plugin.class);
+        when(slowPlugin.type()).thenReturn("policy");
+        when(slowPlugin.id()).thenReturn("my-slow-policy");
+        // The first call computes the lookup key, the second one creates the class loader.
+        when(slowPlugin.dependencies())
+            .thenReturn(dependencies)
+            .thenAnswer(invocation -> {
+                creating.countDown();
+                created.await(5, TimeUnit.SECONDS);
+                return dependencies;
+            });
+
+        final CompletableFuture<PluginClassLoader> slow = CompletableFuture.supplyAsync(() ->
+            registry.acquire(slowPlugin, getClass().getClassLoader())
+        );
+        assertThat(creating.await(5, TimeUnit.SECONDS)).isTrue();
+
+        final PluginClassLoader classLoader = registry.acquire(plugin, getClass().getClassLoader());
+        assertThat(slow).isNotDone();
+
+        created.countDown();
+        registry.release(slow.get(5, TimeUnit.SECONDS));
+        registry.release(classLoader);
+    }
+
+    @Test
+    void should_not_share_class_loader_between_parents() {
+        final PluginClassLoader first = registry.acquire(plugin, getClass().getClassLoader());
+        final PluginClassLoader second = registry.acquire(plugin, ClassLoader.getPlatformClassLoader());
+
+        assertThat(second).isNotSameAs(first);
+
+        registry.release(first);
+        registry.release(second);
+    }
+
+    @Test
+    void should_not_share_class_loader_once_archive_is_redeployed() {
+        final PluginImpl deployed = archive(1_000L);
+        final PluginImpl redeployed = archive(2_000L);
+
+        final PluginClassLoader first = registry.acquire(deployed, getClass().getClassLoader());
+        final PluginClassLoader second = registry.acquire(redeployed, getClass().getClassLoader());
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(registry.references(first)).isEqualTo(1);
+        assertThat(registry.references(second)).isEqualTo(1);
+
+        registry.release(first);
+        registry.release(second);
+    }
+
+    @Test
+    void should_close_class_loader_once_last_reference_is_released() throws Exception {
+        final PluginClassLoader classLoader = registry.acquire(plugin, getClass().getClassLoader());
+        final PluginClassLoader other = registry.acquire(plugin, getClass().getClassLoader());
+
+        classLoader.close();
+        assertThat(classLoader.findResource("resource.txt")).isNotNull();
+
+        other.close();
+        assertThat(classLoader.findResource("resource.txt")).isNull();
+
+        final PluginClassLoader reacquired = registry.acquire(plugin, getClass().getClassLoader());
+        assertThat(reacquired.findResource("resource.txt")).isNotNull();
+        registry.release(reacquired);
+    }
+
+    @Test
+    void should_ignore_class_loaders_it_does_not_manage() throws Exception {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[0])) {
+            assertThat(registry.release(classLoader)).isFalse();
+        }
+    }
+
+    private PluginImpl archive(long archiveTimestamp) {
+        // Same plugin extracted at the same location, only the archive differs.
+        final URL[] dependencies = plugin.dependencies();
+        final PluginImpl archive = mock(PluginImpl.class);
+        when(archive.type()).thenReturn("policy");
+        when(archive.id()).thenReturn("my-policy");
+        when(archive.dependencies()).thenReturn(dependencies);
+        when(archive.getArchiveTimestamp()).thenReturn(archiveTimestamp);
+        return archive;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PluginClasspathScanTest {
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+
+    @Test
+    void should_share_scan_of_a_package_within_a_scope() {
+        final PluginClasspathScan scan;
+        try (PluginClasspathScan.Scope scope = PluginClasspathScan.openScope()) {
+            scan = PluginClasspathScan.of(ScannedType.class, classLoader);
+
+            assertThat(PluginClasspathScan.of(ScannedImplementation.class, classLoader)).isSameAs(scan);
+            assertThat(scan.subTypesOf(ScannedType.class)).containsExactly(ScannedImplementation.class);
+        }
+
+        assertThat(PluginClasspathScan.of(ScannedType.class, classLoader)).isNotSameAs(scan);
+    }
+
+    @Test
+    void should_release_scans_when_outermost_scope_is_closed() {
+        try (PluginClasspathScan.Scope scope = PluginClasspathScan.openScope()) {
+            final PluginClasspathScan scan = PluginClasspathScan.of(ScannedType.class, classLoader);
+
+            try (PluginClasspathScan.Scope nested = PluginClasspathScan.openScope()) {
+                assertThat(PluginClasspathScan.of(ScannedType.class, classLoader)).isSameAs(scan);
+            }
+
+            assertThat(PluginClasspathScan.of(ScannedType.class, classLoader)).isSameAs(scan);
+        }
+    }
+
+    @Test
+    void should_not_share_scans_outside_of_a_scope() {
+        assertThat(PluginClasspathScan.of(ScannedType.class, classLoader)).isNotSameAs(
+            PluginClasspathScan.of(ScannedType.class, classLoader)
+        );
+    }
+
+    public interface ScannedType {}
+
+    public static class ScannedImplementation implements ScannedType {}
+}
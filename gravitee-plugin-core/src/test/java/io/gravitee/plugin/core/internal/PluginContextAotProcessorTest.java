@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.api.PluginClassLoader;
+import io.gravitee.plugin.core.api.PluginClassLoaderFactory;
+import io.gravitee.plugin.core.api.PluginConfigurationResolver;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.aot.AbstractAotProcessor;
+import org.springframework.javapoet.ClassName;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PluginContextAotProcessorTest {
+
+    @TempDir
+    Path outputDir;
+
+    private final Plugin plugin = mock(Plugin.class);
+    private final PluginConfigurationResolver pluginConfigurationResolver = mock(PluginConfigurationResolver.class);
+    private final PluginClassLoaderFactory<Plugin> pluginClassLoaderFactory = mock(PluginClassLoaderFactory.class);
+    private final StandardEnvironment environment = new StandardEnvironment();
+    private AnnotationConfigApplicationContext containerContext;
+    private PluginContextFactoryImpl pluginContextFactory;
+    private URLClassLoader pluginClassLoader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(plugin.id()).thenReturn("aot-plugin");
+        when(plugin.type()).thenReturn("resource");
+        when(plugin.clazz()).thenReturn(AotPlugin.class.getName());
+        when(pluginConfigurationResolver.resolve(plugin)).thenReturn(Set.of(AotConfiguration.class));
+
+        containerContext = new AnnotationConfigApplicationContext();
+        containerContext.setEnvironment(environment);
+        containerContext.registerBean(PluginConfigurationResolver.class, () -> pluginConfigurationResolver);
+        containerContext.registerBean(PluginClassLoaderFactory.class, () -> pluginClassLoaderFactory);
+        containerContext.refresh();
+
+        pluginContextFactory = new PluginContextFactoryImpl();
+        pluginContextFactory.setApplicationContext(containerContext);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        pluginContextFactory.close();
+        containerContext.close();
+        if (pluginClassLoader != null) {
+            pluginClassLoader.close();
+        }
+    }
+
+    @Test
+    void should_name_initializer_after_plugin_class() {
+        assertThat(PluginContextAotProcessor.initializerClassName(AotPlugin.class.getName())).isEqualTo(
+            new ClassNameGenerator(ClassName.get(AotPlugin.class)).generateClassName("ApplicationContextInitializer", null).reflectionName()
+        );
+    }
+
+    @Test
+    void should_initialize_plugin_context_from_generated_bean_definitions() throws Exception {
+        final ClassName initializer = generate();
+        assertThat(initializer.reflectionName()).isEqualTo(PluginContextAotProcessor.initializerClassName(AotPlugin.class.getName()));
+        usePluginClassLoader(outputDir.resolve("classes"));
+
+        final ApplicationContext context = pluginContextFactory.create(new AnnotationBasedPluginContextConfigurer(plugin));
+
+        assertThat(context.getBean(AotPlugin.class.getName(), AotPlugin.class).greeting).isEqualTo("hello");
+        verify(pluginConfigurationResolver, never()).resolve(any());
+    }
+
+    @Test
+    void should_parse_configurations_when_disabled() throws Exception {
+        generate();
+        usePluginClassLoader(outputDir.resolve("classes"));
+        environment
+            .getPropertySources()
+            .addFirst(new MapPropertySource("test", Map.of(AnnotationBasedPluginContextConfigurer.CONTEXT_AOT_ENABLED_PROPERTY, "false")));
+
+        final ApplicationContext context = pluginContextFactory.create(new AnnotationBasedPluginContextConfigurer(plugin));
+
+        assertThat(context.getBean(AotPlugin.class.getName(), AotPlugin.class).greeting).isEqualTo("hello");
+        verify(pluginConfigurationResolver).resolve(plugin);
+    }
+
+    @Test
+    void should_parse_configurations_of_plugin_built_without_generated_bean_definitions() throws Exception {
+        usePluginClassLoader(outputDir);
+
+        final ApplicationContext context = pluginContextFactory.create(new AnnotationBasedPluginContextConfigurer(plugin));
+
+        assertThat(context.getBean(AotPlugin.class.getName(), AotPlugin.class).greeting).isEqualTo("hello");
+        verify(pluginConfigurationResolver).resolve(plugin);
+    }
+
+    private ClassName generate() throws IOException {
+        final Path sources = outputDir.resolve("sources");
+        final Path classes = outputDir.resolve("classes");
+        final ClassName initializer = new PluginContextAotProcessor(
+            "resource",
+            AotPlugin.class,
+            Set.of(AotConfiguration.class),
+            AbstractAotProcessor.Settings
+                .builder()
+                .sourceOutput(sources)
+                .resourceOutput(outputDir.resolve("resources"))
+                .classOutput(classes)
+                .groupId("io.gravitee.plugin")
+                .artifactId("aot-plugin")
+                .build()
+        )
+            .process();
+
+        final List<String> generatedSources;
+        try (Stream<Path> files = Files.walk(sources)) {
+            generatedSources = files.filter(file -> file.toString().endsWith(".java")).map(Path::toString).toList();
+        }
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final String[] arguments = Stream
+            .concat(
+                Stream.of(
+                    "-proc:none",
+                    "-d",
+                    classes.toString(),
+                    "-classpath",
+                    classes + File.pathSeparator + System.getProperty("java.class.path")
+                ),
+                generatedSources.stream()
+            )
+            .toArray(String[]::new);
+        assertThat(compiler.run(null, null, null, arguments)).isZero();
+        return initializer;
+    }
+
+    private void usePluginClassLoader(Path classes) throws IOException {
+        pluginClassLoader = new URLClassLoader(new URL[] { classes.toUri().toURL() }, getClass().getClassLoader());
+        when(pluginClassLoaderFactory.getOrCreateClassLoader(plugin)).thenReturn(new PluginClassLoader(pluginClassLoader));
+    }
+
+    public static class AotPlugin {
+
+        @Autowired
+        public String greeting;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    public static class AotConfiguration {
+
+        @Bean
+        public String greeting() {
+            return "hello";
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.api.PluginContextConfigurer;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.Environment;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PluginContextFactoryImplTest {
+
+    private final GenericApplicationContext containerContext = new GenericApplicationContext();
+    private PluginContextFactoryImpl factory;
+
+    @BeforeEach
+    void setUp() {
+        containerContext.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.close();
+        containerContext.close();
+    }
+
+    @Test
+    void should_refresh_contexts_on_refresh_pool() throws Exception {
+        factory = factory(2);
+
+        final CompletableFuture<ApplicationContext> future = factory.createAsync(new SimpleConfigurer(RefreshingConfiguration.class));
+
+        final ApplicationContext context = future.get();
+        assertThat(((ConfigurableApplicationContext) context).isActive()).isTrue();
+        assertThat(context.getBean("refreshingThread", String.class)).startsWith("gio.plugin-context-refresh-");
+    }
+
+    @Test
+    void should_refresh_contexts_in_calling_thread_by_default() throws Exception {
+        factory = factory(1);
+
+        final ApplicationContext context = factory.createAsync(new SimpleConfigurer(RefreshingConfiguration.class)).get();
+
+        assertThat(context.getBean("refreshingThread", String.class)).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void should_close_context_which_can_not_be_refreshed() {
+        factory = factory(2);
+        final SimpleConfigurer configurer = new SimpleConfigurer(FailingConfiguration.class);
+
+        final CompletableFuture<ApplicationContext> future = factory.createAsync(configurer);
+
+        assertThat(future).failsWithin(Duration.ofSeconds(5));
+        assertThat(configurer.applicationContext().isActive()).isFalse();
+    }
+
+    private PluginContextFactoryImpl factory(int refreshParallelism) {
+        final PluginContextFactoryImpl pluginContextFactory = new PluginContextFactoryImpl(refreshParallelism);
+        pluginContextFactory.setApplicationContext(containerContext);
+        return pluginContextFactory;
+    }
+
+    @Configuration
+    static class RefreshingConfiguration {
+
+        @Bean
+        String refreshingThread() {
+            return Thread.currentThread().getName();
+        }
+    }
+
+    @Configuration
+    static class FailingConfiguration {
+
+        @Bean
+        String failing() {
+            throw new IllegalStateException("Unable to connect");
+        }
+    }
+
+    private static class SimpleConfigurer implements PluginContextConfigurer {
+
+        private final Plugin plugin = mock(Plugin.class);
+        private final AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext();
+        private final Class<?> configuration;
+
+        SimpleConfigurer(Class<?> configuration) {
+            this.configuration = configuration;
+            when(plugin.id()).thenReturn("my-plugin");
+            when(plugin.type()).thenReturn("repository");
+        }
+
+        @Override
+        public Plugin plugin() {
+            return plugin;
+        }
+
+        @Override
+        public ClassLoader classLoader() {
+            return PluginContextFactoryImplTest.class.getClassLoader();
+        }
+
+        @Override
+        public Environment environment() {
+            return applicationContext.getEnvironment();
+        }
+
+        @Override
+        public AnnotationConfigApplicationContext applicationContext() {
+            return applicationContext;
+        }
+
+        @Override
+        public Set<Class<?>> configurations() {
+            return Set.of(configuration);
+        }
+
+        @Override
+        public void registerBeans() {
+            applicationContext.register(configuration);
+        }
+
+        @Override
+        public void registerBeanFactoryPostProcessor() {}
+    }
+}
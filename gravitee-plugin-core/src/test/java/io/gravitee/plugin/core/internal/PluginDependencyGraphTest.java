@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.api.PluginManifestFactory;
+import java.util.List;
+import java.util.Properties;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PluginDependencyGraphTest {
+
+    @Test
+    void should_order_plugins_after_their_dependencies() {
+        final Plugin plugin1 = createPlugin("policy-1", "policy", "policy:policy-2");
+        final Plugin plugin2 = createPlugin("policy-2", "policy", "resource:*");
+        final Plugin resource1 = createPlugin("resource-1", "resource", null);
+        final Plugin resource2 = createPlugin("resource-2", "resource", null);
+
+        PluginDependencyGraph graph = new PluginDependencyGraph(List.of(plugin1, plugin2, resource1, resource2));
+
+        assertThat(graph.dependencies(plugin2)).containsExactly(resource1, resource2);
+        assertThat(graph.deploymentOrder()).containsExactly(resource1, resource2, plugin2, plugin1);
+    }
+
+    @Test
+    void should_ignore_unknown_dependencies() {
+        final Plugin plugin1 = createPlugin("policy-1", "policy", "policy:unknown");
+        final Plugin plugin2 = createPlugin("policy-2", "policy", "policy:*");
+
+        PluginDependencyGraph graph = new PluginDependencyGraph(List.of(plugin2, plugin1));
+
+        assertThat(graph.dependencies(plugin1)).isEmpty();
+        assertThat(graph.deploymentOrder()).containsExactly(plugin1, plugin2);
+    }
+
+    @Test
+    void should_fail_to_order_circular_dependencies() {
+        final Plugin plugin1 = createPlugin("policy-1", "policy", "policy:policy-2");
+        final Plugin plugin2 = createPlugin("policy-2", "policy", "policy:policy-3");
+        final Plugin plugin3 = createPlugin("policy-3", "policy", "policy:policy-1");
+
+        PluginDependencyGraph graph = new PluginDependencyGraph(List.of(plugin1, plugin2, plugin3));
+
+        assertThatThrownBy(graph::deploymentOrder)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Circular dependency detected between plugins: policy:policy-1 -> policy:policy-2 -> policy:policy-3 -> policy:policy-1");
+    }
+
+    private static Plugin createPlugin(String id, String type, String dependency) {
+        Properties manifestProperties = new Properties();
+        manifestProperties.put(PluginManifestProperties.MANIFEST_ID_PROPERTY, id);
+        manifestProperties.put(PluginManifestProperties.MANIFEST_TYPE_PROPERTY, type);
+        if (dependency != null) {
+            manifestProperties.put(PluginManifestProperties.MANIFEST_DEPENDENCIES_PROPERTY, dependency);
+        }
+        return new PluginImpl(PluginManifestFactory.create(manifestProperties));
+    }
+}
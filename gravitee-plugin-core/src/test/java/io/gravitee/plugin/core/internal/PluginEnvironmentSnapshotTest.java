@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PluginEnvironmentSnapshotTest {
+
+    private final StandardEnvironment environment = new StandardEnvironment();
+    private final Map<String, Object> overrides = new HashMap<>();
+    private final Map<String, Object> defaults = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        environment.getPropertySources().addFirst(new MapPropertySource("overrides", overrides));
+        environment.getPropertySources().addLast(new MapPropertySource("defaults", defaults));
+        PluginEnvironmentSnapshot.invalidate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        PluginEnvironmentSnapshot.invalidate();
+    }
+
+    @Test
+    void should_resolve_properties_by_order_of_precedence() {
+        overrides.put("http.port", "8082");
+        defaults.put("http.port", "8080");
+        defaults.put("http.host", "localhost");
+        defaults.put("http.timeout", 30);
+
+        final PluginEnvironmentSnapshot snapshot = PluginEnvironmentSnapshot.of(environment);
+
+        assertThat(snapshot.getProperty("http.port")).isEqualTo("8082");
+        assertThat(snapshot.getProperty("http.host")).isEqualTo("localhost");
+        assertThat(snapshot.getProperty("http.timeout")).isEqualTo("30");
+        assertThat(snapshot.getProperty("http.unknown")).isNull();
+    }
+
+    @Test
+    void should_look_up_sources_which_can_not_be_flattened_when_they_take_precedence() {
+        defaults.put("management.type", "mongodb");
+        defaults.put("management.mongodb.uri", "mongodb://default");
+        environment.getPropertySources().addFirst(new AliasPropertySource("management.mongodb.uri", "mongodb://alias"));
+        environment.getPropertySources().addLast(new AliasPropertySource("ratelimit.type", "redis"));
+
+        final PluginEnvironmentSnapshot snapshot = PluginEnvironmentSnapshot.of(environment);
+
+        assertThat(snapshot.getProperty("management.mongodb.uri")).isEqualTo("mongodb://alias");
+        assertThat(snapshot.getProperty("management.type")).isEqualTo("mongodb");
+        assertThat(snapshot.getProperty("ratelimit.type")).isEqualTo("redis");
+    }
+
+    @Test
+    void should_resolve_relaxed_names_of_system_environment() {
+        environment
+            .getPropertySources()
+            .addAfter("overrides", new SystemEnvironmentPropertySource("env", Map.of("GRAVITEE_HTTP_PORT", "9000")));
+        defaults.put("gravitee.http.port", "8080");
+
+        assertThat(PluginEnvironmentSnapshot.of(environment).getProperty("gravitee.http.port")).isEqualTo("9000");
+    }
+
+    @Test
+    void should_share_snapshot_until_environment_changes() {
+        defaults.put("http.port", "8080");
+        final PluginEnvironmentSnapshot snapshot = PluginEnvironmentSnapshot.of(environment);
+
+        assertThat(PluginEnvironmentSnapshot.of(environment)).isSameAs(snapshot);
+
+        overrides.put("http.port", "8082");
+        final PluginEnvironmentSnapshot rebuilt = PluginEnvironmentSnapshot.of(environment);
+
+        assertThat(rebuilt).isNotSameAs(snapshot);
+        assertThat(rebuilt.getProperty("http.port")).isEqualTo("8082");
+
+        environment.getPropertySources().addFirst(new MapPropertySource("dynamic", Map.of("http.port", "8084")));
+
+        assertThat(PluginEnvironmentSnapshot.of(environment).getProperty("http.port")).isEqualTo("8084");
+    }
+
+    @Test
+    void should_see_values_changed_in_place_once_invalidated() {
+        defaults.put("http.port", "8080");
+        assertThat(PluginEnvironmentSnapshot.of(environment).getProperty("http.port")).isEqualTo("8080");
+
+        defaults.put("http.port", "8082");
+        assertThat(PluginEnvironmentSnapshot.of(environment).getProperty("http.port")).isEqualTo("8080");
+
+        PluginEnvironmentSnapshot.invalidate();
+        assertThat(PluginEnvironmentSnapshot.of(environment).getProperty("http.port")).isEqualTo("8082");
+    }
+
+    @Test
+    void should_not_enumerate_properties_to_check_whether_environment_changed() {
+        final CountingPropertySource counting = new CountingPropertySource(Map.of("http.port", "8080"));
+        environment.getPropertySources().addLast(counting);
+        final PluginEnvironmentSnapshot snapshot = PluginEnvironmentSnapshot.of(environment);
+        assertThat(counting.enumerations).isEqualTo(1);
+
+        assertThat(PluginEnvironmentSnapshot.of(environment)).isSameAs(snapshot);
+        assertThat(PluginEnvironmentSnapshot.of(environment)).isSameAs(snapshot);
+
+        assertThat(counting.enumerations).isEqualTo(1);
+    }
+
+    private static class CountingPropertySource extends EnumerablePropertySource<Map<String, Object>> {
+
+        private int enumerations;
+
+        CountingPropertySource(Map<String, Object> properties) {
+            super("counting", properties);
+        }
+
+        @Override
+        public String[] getPropertyNames() {
+            enumerations++;
+            return getSource().keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public Object getProperty(String name) {
+            return getSource().get(name);
+        }
+    }
+
+    private static class AliasPropertySource extends PropertySource<Object> {
+
+        private final String name;
+        private final String value;
+
+        AliasPropertySource(String name, String value) {
+            super("alias-" + name, new Object());
+            this.name = name;
+            this.value = value;
+        }
+
+        @Override
+        public Object getProperty(String property) {
+            return name.equals(property) ? value : null;
+        }
+    }
+}
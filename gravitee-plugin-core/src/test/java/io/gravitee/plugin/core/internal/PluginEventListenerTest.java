@@ -18,6 +18,8 @@ package io.gravitee.plugin.core.internal;
 import static io.gravitee.plugin.core.api.PluginEvent.DEPLOYED;
 import static io.gravitee.plugin.core.internal.PluginEventListener.SECRET_PROVIDER;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 import io.gravitee.common.event.EventManager;
@@ -26,7 +28,13 @@ import io.gravitee.plugin.core.api.Plugin;
 import io.gravitee.plugin.core.api.PluginEvent;
 import io.gravitee.plugin.core.api.PluginHandler;
 import io.gravitee.plugin.core.api.PluginManifestFactory;
+import java.io.IOException;
+import java.net.URL;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
@@ -38,6 +46,8 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -54,6 +64,10 @@ class PluginEventListenerTest {
 
     private List<Plugin> handledPlugins;
 
+    private List<Plugin> undeployedPlugins;
+
+    private Consumer<Plugin> onHandle;
+
     @Mock
     Environment environment;
 
@@ -69,11 +83,19 @@ class PluginEventListenerTest {
 
                 @Override
                 public void handle(Plugin plugin) {
+                    onHandle.accept(plugin);
                     handledPlugins.add(plugin);
                 }
+
+                @Override
+                public void undeploy(Plugin plugin) {
+                    undeployedPlugins.add(plugin);
+                }
             }
         );
-        handledPlugins = new ArrayList<>();
+        handledPlugins = Collections.synchronizedList(new ArrayList<>());
+        onHandle = plugin -> {};
+        undeployedPlugins = new ArrayList<>();
         eventManager = new EventManagerImpl();
         this.eventListener = new PluginEventListener(pluginHandlers, eventManager, environment);
         this.eventListener.doStart();
@@ -92,6 +114,134 @@ class PluginEventListenerTest {
         assertThat(handledPlugins).containsExactly(plugin);
     }
 
+    @Test
+    void should_deploy_and_undeploy_plugin_once_plugins_have_been_deployed() {
+        final Plugin plugin = createPlugin("custom-1", "custom", null);
+        eventManager.publishEvent(DEPLOYED, plugin);
+        eventManager.publishEvent(PluginEvent.ENDED, null);
+
+        final Plugin hotPlugin = createPlugin("custom-2", "custom", null);
+        eventManager.publishEvent(DEPLOYED, hotPlugin);
+
+        assertThat(handledPlugins).containsExactly(plugin, hotPlugin);
+
+        eventManager.publishEvent(PluginEvent.UNDEPLOYED, plugin);
+
+        assertThat(undeployedPlugins).containsExactly(plugin);
+        assertThat(eventListener.getPlugins().values()).containsExactly(hotPlugin);
+    }
+
+    @Test
+    void should_see_properties_changed_in_place_when_plugin_is_redeployed() {
+        final Map<String, Object> properties = new HashMap<>(Map.of("http.port", "8082"));
+        final StandardEnvironment containerEnvironment = new StandardEnvironment();
+        containerEnvironment.getPropertySources().addFirst(new MapPropertySource("properties", properties));
+        final List<String> ports = new ArrayList<>();
+        onHandle = plugin -> ports.add(PluginEnvironmentSnapshot.of(containerEnvironment).getProperty("http.port"));
+
+        final Plugin plugin = createPlugin("custom-1", "custom", null);
+        eventManager.publishEvent(DEPLOYED, plugin);
+        eventManager.publishEvent(PluginEvent.ENDED, null);
+
+        properties.put("http.port", "8084");
+        eventManager.publishEvent(PluginEvent.UNDEPLOYED, plugin);
+        eventManager.publishEvent(DEPLOYED, plugin);
+
+        assertThat(ports).containsExactly("8082", "8084");
+    }
+
+    @Test
+    void should_skip_plugin_which_can_not_be_extracted() {
+        final PluginImpl plugin1 = (PluginImpl) createPlugin("policy-1", "policy", null);
+        plugin1.setLazyResolution(plugin -> {
+            throw new IOException("Corrupted archive");
+        });
+        final Plugin plugin2 = createPlugin("policy-2", "policy", null);
+        // Handlers access the dependencies of the plugin to create its class loader.
+        onHandle = Plugin::dependencies;
+
+        eventManager.publishEvent(DEPLOYED, plugin1);
+        eventManager.publishEvent(DEPLOYED, plugin2);
+        eventManager.publishEvent(PluginEvent.ENDED, null);
+
+        assertThat(handledPlugins).containsExactly(plugin2);
+        assertThat(plugin1.valid()).isFalse();
+    }
+
+    @Test
+    void should_not_extract_plugin_until_its_handlers_access_it() {
+        final PluginImpl plugin = (PluginImpl) createPlugin("policy-1", "policy", null);
+        plugin.setLazyResolution(lazyPlugin -> lazyPlugin.setDependencies(new URL[0]));
+
+        eventManager.publishEvent(DEPLOYED, plugin);
+        eventManager.publishEvent(PluginEvent.ENDED, null);
+
+        assertThat(handledPlugins).containsExactly(plugin);
+        assertThat(plugin.resolved()).isFalse();
+    }
+
+    @Test
+    void should_deploy_next_plugins_while_work_left_running_by_handlers_is_not_done() {
+        final Plugin plugin1 = createPlugin("policy-1", "policy", null);
+        final Plugin plugin2 = createPlugin("policy-2", "policy", null);
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        onHandle =
+            plugin -> {
+                events.add("handled " + plugin.id());
+                if (plugin == plugin1) {
+                    PluginDeploymentScope.track(refresh(() -> events.add("refreshed " + plugin.id())));
+                }
+            };
+
+        eventManager.publishEvent(DEPLOYED, plugin1);
+        eventManager.publishEvent(DEPLOYED, plugin2);
+        eventManager.publishEvent(PluginEvent.ENDED, null);
+
+        assertThat(events)
+            .containsExactlyInAnyOrder("handled policy-1", "handled policy-2", "refreshed policy-1")
+            .endsWith("refreshed policy-1");
+    }
+
+    @Test
+    void should_deploy_dependent_plugin_once_work_left_running_by_handlers_is_done() {
+        final Plugin plugin1 = createPlugin("policy-1", "policy", null);
+        final Plugin plugin2 = createPlugin("policy-2", "policy", "policy:policy-1");
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        onHandle =
+            plugin -> {
+                events.add("handled " + plugin.id());
+                if (plugin == plugin1) {
+                    PluginDeploymentScope.track(refresh(() -> events.add("refreshed " + plugin.id())));
+                }
+            };
+
+        eventManager.publishEvent(DEPLOYED, plugin2);
+        eventManager.publishEvent(DEPLOYED, plugin1);
+        eventManager.publishEvent(PluginEvent.ENDED, null);
+
+        assertThat(events).containsExactly("handled policy-1", "refreshed policy-1", "handled policy-2");
+    }
+
+    @Test
+    void should_fail_deployment_when_work_left_running_by_handlers_fails() {
+        final Plugin plugin1 = createPlugin("policy-1", "policy", null);
+        final Plugin plugin2 = createPlugin("policy-2", "policy", "policy:policy-1");
+        onHandle =
+            plugin -> {
+                if (plugin == plugin1) {
+                    PluginDeploymentScope.track(CompletableFuture.failedFuture(new IllegalStateException("Unable to refresh context")));
+                }
+            };
+
+        eventManager.publishEvent(DEPLOYED, plugin1);
+        eventManager.publishEvent(DEPLOYED, plugin2);
+
+        assertThatThrownBy(() -> eventManager.publishEvent(PluginEvent.ENDED, null))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Unable to refresh context");
+        assertThat(handledPlugins).containsExactly(plugin1);
+    }
+
     @Test
     void should_load_with_dependency_order() {
         final Plugin plugin1 = createPlugin("policy-1", "policy", "policy:policy-2");
@@ -110,6 +260,54 @@ class PluginEventListenerTest {
         assertThat(handledPlugins).containsExactly(plugin3, plugin2, plugin1);
     }
 
+    @Test
+    void should_load_wildcard_dependencies_first() {
+        final Plugin plugin1 = createPlugin("connector-1", "connector", "policy:*");
+        final Plugin plugin2 = createPlugin("policy-1", "policy", null);
+        final Plugin plugin3 = createPlugin("policy-2", "policy", "policy:*");
+
+        eventManager.publishEvent(DEPLOYED, plugin1);
+        eventManager.publishEvent(DEPLOYED, plugin2);
+        eventManager.publishEvent(DEPLOYED, plugin3);
+        eventManager.publishEvent(PluginEvent.ENDED, null);
+
+        assertThat(handledPlugins).hasSize(3);
+        assertThat(handledPlugins.indexOf(plugin2)).isLessThan(handledPlugins.indexOf(plugin3));
+        assertThat(handledPlugins.get(2)).isEqualTo(plugin1);
+    }
+
+    @Test
+    void should_deploy_independent_plugins_concurrently() {
+        final Plugin cluster = createPlugin("cluster-1", "cluster", null);
+        final Plugin plugin1 = createPlugin("policy-1", "policy", null);
+        final Plugin plugin2 = createPlugin("policy-2", "policy", null);
+        final Plugin plugin3 = createPlugin("policy-3", "policy", "policy:policy-1");
+        lenient().when(environment.getProperty(AbstractPluginEventListener.DEPLOYMENT_PARALLELISM_PROPERTY, Integer.class)).thenReturn(4);
+
+        // policy-1 and policy-2 can only be deployed if they are deployed at the same time.
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        onHandle =
+            plugin -> {
+                if (plugin == plugin1 || plugin == plugin2) {
+                    try {
+                        barrier.await(10, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            };
+
+        eventManager.publishEvent(DEPLOYED, plugin3);
+        eventManager.publishEvent(DEPLOYED, plugin2);
+        eventManager.publishEvent(DEPLOYED, plugin1);
+        eventManager.publishEvent(DEPLOYED, cluster);
+        eventManager.publishEvent(PluginEvent.ENDED, null);
+
+        assertThat(handledPlugins).hasSize(4);
+        assertThat(handledPlugins.get(0)).isEqualTo(cluster);
+        assertThat(handledPlugins.indexOf(plugin1)).isLessThan(handledPlugins.indexOf(plugin3));
+    }
+
     @Test
     void should_load_secret_provider_first() {
         final Plugin plugin_1 = createPlugin("plugin1", SECRET_PROVIDER, null);
@@ -153,6 +351,10 @@ class PluginEventListenerTest {
         assertThat(handledPlugins.get(0).id()).isEqualTo("plugin1");
     }
 
+    private static CompletableFuture<Void> refresh(Runnable refresh) {
+        return CompletableFuture.runAsync(refresh, CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS));
+    }
+
     private static Plugin createPlugin(String id, String type, String dependency) {
         Objects.requireNonNull(id);
         Objects.requireNonNull(type);
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PluginExtractionStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path storePath;
+    private PluginExtractionStore store;
+
+    @BeforeEach
+    void setUp() {
+        storePath = tempDir.resolve("store");
+        store = new PluginExtractionStore(storePath);
+    }
+
+    @Test
+    void should_prune_entries_no_work_directory_links_to() throws IOException {
+        Path linked = commit("linked");
+        Path unlinked = commit("unlinked");
+        store.link(linked, tempDir.resolve("work"));
+        expire(linked);
+        expire(unlinked);
+
+        assertThat(store.prune(Duration.ofHours(1))).isEqualTo(1);
+
+        assertThat(linked).isDirectory();
+        assertThat(unlinked).doesNotExist();
+        try (var directories = Files.list(storePath)) {
+            assertThat(directories).containsExactly(linked);
+        }
+    }
+
+    @Test
+    void should_keep_entries_used_recently() throws IOException {
+        Path entry = commit("recent");
+
+        assertThat(store.prune(Duration.ofHours(1))).isZero();
+
+        assertThat(entry).isDirectory();
+    }
+
+    @Test
+    void should_prune_staging_directories_left_behind() throws IOException {
+        Path stagingDir = store.newStagingDir();
+        Files.writeString(stagingDir.resolve("my-plugin.jar"), "partial content");
+        expire(stagingDir);
+
+        assertThat(store.prune(Duration.ofHours(1))).isEqualTo(1);
+
+        assertThat(stagingDir).doesNotExist();
+    }
+
+    @Test
+    void should_not_fail_when_store_does_not_exist() throws IOException {
+        assertThat(store.prune(Duration.ZERO)).isZero();
+    }
+
+    private Path commit(String name) throws IOException {
+        Path stagingDir = store.newStagingDir();
+        Files.createDirectories(stagingDir.resolve("lib"));
+        Files.writeString(stagingDir.resolve(name + ".jar"), "plugin content");
+        Files.writeString(stagingDir.resolve("lib").resolve("dependency.jar"), "dependency content");
+
+        Path entry = storePath.resolve(name);
+        store.commit(stagingDir, entry);
+        return entry;
+    }
+
+    private static void expire(Path directory) throws IOException {
+        Files.setLastModifiedTime(directory, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+    }
+}
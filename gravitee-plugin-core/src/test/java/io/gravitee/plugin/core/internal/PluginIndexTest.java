@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.plugin.core.api.AbstractSubTypesFinder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PluginIndexTest {
+
+    @TempDir
+    Path pluginDir;
+
+    private URLClassLoader classLoader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        copyClass(SampleType.class);
+        copyClass(IndexedImplementation.class);
+        copyClass(NotIndexedImplementation.class);
+        classLoader = new URLClassLoader(new URL[] { pluginDir.toUri().toURL() }, ClassLoader.getPlatformClassLoader());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        classLoader.close();
+    }
+
+    @Test
+    void should_not_load_index_of_plugin_built_without_it() throws ClassNotFoundException {
+        assertThat(PluginIndex.load(classLoader.loadClass(IndexedImplementation.class.getName()), classLoader)).isNull();
+    }
+
+    @Test
+    void should_read_indexed_sub_types_of_the_plugin_package() throws Exception {
+        writeIndex(
+            SampleType.class.getName() +
+            '=' +
+            IndexedImplementation.class.getName() +
+            ",io.gravitee.other.OtherImplementation," +
+            getClass().getPackageName() +
+            ".MissingImplementation\n"
+        );
+        final Class<?> pluginClass = classLoader.loadClass(IndexedImplementation.class.getName());
+        final Class<?> sampleType = classLoader.loadClass(SampleType.class.getName());
+
+        final PluginIndex index = PluginIndex.load(pluginClass, classLoader);
+
+        assertThat(index).isNotNull();
+        assertThat(index.subTypesOf(sampleType, getClass().getPackageName(), classLoader))
+            .extracting(Class::getName)
+            .containsExactly(IndexedImplementation.class.getName());
+    }
+
+    @Test
+    void should_look_up_sub_types_from_index_instead_of_scanning() throws Exception {
+        writeIndex(SampleType.class.getName() + '=' + IndexedImplementation.class.getName() + '\n');
+        final Class<?> pluginClass = classLoader.loadClass(IndexedImplementation.class.getName());
+        @SuppressWarnings("unchecked")
+        final Class<Object> sampleType = (Class<Object>) classLoader.loadClass(SampleType.class.getName());
+
+        final AbstractSubTypesFinder<Object> finder = new AbstractSubTypesFinder<>(sampleType) {};
+
+        // A scan would find both implementations.
+        assertThat(finder.lookup(pluginClass, classLoader))
+            .extracting(Class::getName)
+            .containsExactly(IndexedImplementation.class.getName());
+    }
+
+    @Test
+    void should_only_cover_gravitee_types_and_spring_configurations() {
+        assertThat(PluginIndex.covers("io.gravitee.policy.api.PolicyConfiguration")).isTrue();
+        assertThat(PluginIndex.covers("org.springframework.context.annotation.Configuration")).isTrue();
+        assertThat(PluginIndex.covers("com.fasterxml.jackson.databind.Module")).isFalse();
+    }
+
+    private void copyClass(Class<?> clazz) throws IOException {
+        final String resource = clazz.getName().replace('.', '/') + ".class";
+        final Path target = pluginDir.resolve(resource);
+        Files.createDirectories(target.getParent());
+        try (InputStream is = clazz.getClassLoader().getResourceAsStream(resource)) {
+            Files.copy(is, target);
+        }
+    }
+
+    private void writeIndex(String content) throws IOException {
+        final Path index = pluginDir.resolve(PluginIndex.INDEX_FILE);
+        Files.createDirectories(index.getParent());
+        Files.writeString(index, content);
+    }
+
+    public interface SampleType {}
+
+    public static class IndexedImplementation implements SampleType {}
+
+    public static class NotIndexedImplementation implements SampleType {}
+}
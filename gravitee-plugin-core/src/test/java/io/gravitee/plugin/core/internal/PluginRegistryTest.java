@@ -17,12 +17,20 @@ package io.gravitee.plugin.core.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 import io.gravitee.common.event.EventManager;
+import io.gravitee.common.event.impl.EventManagerImpl;
+import io.gravitee.plugin.core.api.AbstractConfigurablePluginManager;
 import io.gravitee.plugin.core.api.BootPluginHandler;
+import io.gravitee.plugin.core.api.ConfigurablePlugin;
 import io.gravitee.plugin.core.api.Plugin;
 import io.gravitee.plugin.core.api.PluginEvent;
+import io.gravitee.plugin.core.api.PluginHandler;
+import io.gravitee.plugin.core.api.PluginManager;
 import java.io.IOException;
 import java.net.URL;
 import java.net.URLDecoder;
@@ -35,11 +43,16 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import lombok.AllArgsConstructor;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.env.Environment;
@@ -332,6 +345,325 @@ class PluginRegistryTest {
         verify(eventManager).publishEvent(eq(PluginEvent.ENDED), any());
     }
 
+    @Test
+    void should_reuse_extracted_plugin_when_archive_has_not_changed(@TempDir Path registryDir) throws Exception {
+        Path archive = copyArchive("/io/gravitee/plugin/workspace/", "my-policy-1.0.0-SNAPSHOT.zip", registryDir);
+        Path marker = registryDir.resolve(".work").resolve("my-policy-1.0.0-SNAPSHOT").resolve("marker");
+
+        PluginRegistryImpl pluginRegistry = initPluginRegistry(registryDir, configuration -> configuration.setExtractionCacheEnabled(true));
+        pluginRegistry.start();
+        assertThat(pluginRegistry.plugins()).hasSize(1);
+        Files.createFile(marker);
+
+        PluginRegistryImpl restartedPluginRegistry = initPluginRegistry(
+            registryDir,
+            configuration -> configuration.setExtractionCacheEnabled(true)
+        );
+        restartedPluginRegistry.start();
+
+        assertThat(marker).exists();
+        Plugin plugin = restartedPluginRegistry.plugins().iterator().next();
+        assertThat(plugin.id()).isEqualTo("my-policy");
+        assertThat(plugin.dependencies()).containsExactly(pluginRegistry.plugins().iterator().next().dependencies());
+
+        // A modified archive must be extracted again.
+        Files.setLastModifiedTime(archive, FileTime.from(Instant.now().plusSeconds(60)));
+        initPluginRegistry(registryDir, configuration -> configuration.setExtractionCacheEnabled(true)).start();
+
+        assertThat(marker).doesNotExist();
+    }
+
+    @Test
+    void should_only_extract_enabled_and_most_recent_plugins_when_scanning_manifest_first(@TempDir Path registryDir) throws Exception {
+        lenient().when(environment.containsProperty(anyString())).thenReturn(false);
+        when(environment.containsProperty("policies.my-policy-1.enabled")).thenReturn(true);
+        when(environment.getProperty("policies.my-policy-1.enabled", Boolean.class, true)).thenReturn(false);
+        copyArchive("/io/gravitee/plugin/with-dependencies/", "my-policy-1-1.0.0-SNAPSHOT.zip", registryDir);
+        copyArchive("/io/gravitee/plugin/with-dependencies/", "my-policy-2-1.0.0-SNAPSHOT.zip", registryDir);
+        copyArchive("/io/gravitee/plugin/with-duplication/", "custom-plugin-1.0.0-SNAPSHOT.zip", registryDir);
+        Path mostRecent = copyArchive("/io/gravitee/plugin/with-duplication/", "custom-plugin-2.0.0-SNAPSHOT.zip", registryDir);
+        Files.setLastModifiedTime(mostRecent, FileTime.from(Instant.now().plusSeconds(60)));
+
+        PluginRegistryImpl pluginRegistry = initPluginRegistry(
+            registryDir,
+            configuration -> configuration.setManifestFirstScanEnabled(true)
+        );
+        pluginRegistry.start();
+
+        assertThat(pluginRegistry.plugins()).extracting(Plugin::id).containsExactlyInAnyOrder("my-policy-2", "custom-plugin");
+        assertThat(pluginRegistry.get("custom", "custom-plugin").manifest().version()).isEqualTo("2.0.0-SNAPSHOT");
+        assertThat(pluginRegistry.get("policy", "my-policy-2").dependencies()).isNotEmpty();
+        try (var workDirs = Files.list(registryDir.resolve(".work"))) {
+            assertThat(workDirs.map(workDir -> workDir.getFileName().toString())).containsExactlyInAnyOrder(
+                "my-policy-2-1.0.0-SNAPSHOT",
+                "custom-plugin-2.0.0-SNAPSHOT"
+            );
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "custom-plugin-1.0.0-SNAPSHOT", "custom-plugin-1.0.0-SNAPSHOT-2", "custom-plugin-2.0.0-SNAPSHOT" })
+    void should_only_deploy_most_recent_duplicated_plugin_when_scanning_concurrently(
+        String mostRecent,
+        @TempDir Path registryDir
+    ) throws Exception {
+        copyArchive("/io/gravitee/plugin/with-dependencies/", "my-policy-1-1.0.0-SNAPSHOT.zip", registryDir);
+        copyArchive("/io/gravitee/plugin/with-dependencies/", "my-policy-2-1.0.0-SNAPSHOT.zip", registryDir);
+        // Mixed timestamps, the most recent archive is neither the first nor the last one whatever the order of the scan.
+        Instant timestamp = Instant.now();
+        for (String duplicate : List.of("custom-plugin-1.0.0-SNAPSHOT", "custom-plugin-1.0.0-SNAPSHOT-2", "custom-plugin-2.0.0-SNAPSHOT")) {
+            Path archive = copyArchive("/io/gravitee/plugin/with-duplication/", duplicate + ".zip", registryDir);
+            timestamp = timestamp.minusSeconds(60);
+            Files.setLastModifiedTime(archive, FileTime.from(duplicate.equals(mostRecent) ? Instant.now().plusSeconds(60) : timestamp));
+        }
+
+        PluginRegistryImpl pluginRegistry = initPluginRegistry(registryDir, configuration -> configuration.setRegistryConcurrency(4));
+        pluginRegistry.start();
+
+        assertThat(pluginRegistry.plugins())
+            .extracting(Plugin::id)
+            .containsExactlyInAnyOrder("my-policy-1", "my-policy-2", "custom-plugin");
+        assertThat(pluginRegistry.get("custom", "custom-plugin").path()).isEqualTo(registryDir.resolve(".work").resolve(mostRecent));
+        verify(eventManager).publishEvent(
+            eq(PluginEvent.DEPLOYED),
+            argThat((Plugin plugin) -> plugin != null && plugin.id().equals("custom-plugin"))
+        );
+    }
+
+    @Test
+    void should_extract_plugin_on_first_access_when_lazy(@TempDir Path registryDir) throws Exception {
+        copyArchive("/io/gravitee/plugin/workspace/", "my-policy-1.0.0-SNAPSHOT.zip", registryDir);
+
+        PluginRegistryImpl pluginRegistry = initPluginRegistry(registryDir, configuration -> configuration.setLazyExtractionEnabled(true));
+        pluginRegistry.start();
+
+        PluginImpl plugin = (PluginImpl) pluginRegistry.get("policy", "my-policy");
+        assertThat(plugin.resolved()).isFalse();
+        assertThat(registryDir.resolve(".work")).doesNotExist();
+
+        assertThat(plugin.dependencies()).isNotEmpty();
+        assertThat(plugin.resolved()).isTrue();
+        assertThat(plugin.path()).isEqualTo(registryDir.resolve(".work").resolve("my-policy-1.0.0-SNAPSHOT"));
+    }
+
+    @Test
+    void should_discard_plugin_when_lazy_extraction_fails(@TempDir Path registryDir) throws Exception {
+        Path archive = copyArchive("/io/gravitee/plugin/workspace/", "my-policy-1.0.0-SNAPSHOT.zip", registryDir);
+
+        PluginRegistryImpl pluginRegistry = initPluginRegistry(registryDir, configuration -> configuration.setLazyExtractionEnabled(true));
+        pluginRegistry.start();
+        PluginImpl plugin = (PluginImpl) pluginRegistry.get("policy", "my-policy");
+        Files.delete(archive);
+
+        assertThatThrownBy(plugin::dependencies).isInstanceOf(PluginResolutionException.class);
+        assertThatThrownBy(plugin::path).isInstanceOf(PluginResolutionException.class);
+        assertThat(plugin.valid()).isFalse();
+        assertThat(pluginRegistry.get("policy", "my-policy")).isNull();
+        assertThat(pluginRegistry.plugins()).isEmpty();
+    }
+
+    @Test
+    void should_load_plugins_from_index_until_a_disabled_plugin_is_enabled(@TempDir Path registryDir) throws Exception {
+        lenient().when(environment.containsProperty(anyString())).thenReturn(false);
+        when(environment.containsProperty("policies.my-policy-1.enabled")).thenReturn(true);
+        when(environment.getProperty("policies.my-policy-1.enabled", Boolean.class, true)).thenReturn(false);
+        copyArchive("/io/gravitee/plugin/with-dependencies/", "my-policy-1-1.0.0-SNAPSHOT.zip", registryDir);
+        copyArchive("/io/gravitee/plugin/with-dependencies/", "my-policy-2-1.0.0-SNAPSHOT.zip", registryDir);
+        Path marker = registryDir.resolve(".work").resolve("my-policy-2-1.0.0-SNAPSHOT").resolve("marker");
+
+        PluginRegistryImpl pluginRegistry = initPluginRegistry(registryDir, configuration -> configuration.setIndexEnabled(true));
+        pluginRegistry.start();
+        assertThat(pluginRegistry.plugins()).extracting(Plugin::id).containsExactly("my-policy-2");
+        assertThat(registryDir.resolve(".work").resolve(PluginRegistryIndex.INDEX_FILE)).exists();
+        Files.createFile(marker);
+
+        PluginRegistryImpl restartedPluginRegistry = initPluginRegistry(registryDir, configuration -> configuration.setIndexEnabled(true));
+        restartedPluginRegistry.start();
+
+        assertThat(marker).exists();
+        Plugin plugin = restartedPluginRegistry.get("policy", "my-policy-2");
+        assertThat(plugin.path()).isEqualTo(pluginRegistry.get("policy", "my-policy-2").path());
+        assertThat(plugin.dependencies()).containsExactly(pluginRegistry.get("policy", "my-policy-2").dependencies());
+
+        // Enabling a plugin which was discarded requires the registry to be scanned again.
+        when(environment.getProperty("policies.my-policy-1.enabled", Boolean.class, true)).thenReturn(true);
+        PluginRegistryImpl rescannedPluginRegistry = initPluginRegistry(registryDir, configuration -> configuration.setIndexEnabled(true));
+        rescannedPluginRegistry.start();
+
+        assertThat(marker).doesNotExist();
+        assertThat(rescannedPluginRegistry.plugins()).extracting(Plugin::id).containsExactlyInAnyOrder("my-policy-1", "my-policy-2");
+    }
+
+    @Test
+    void should_index_lazy_plugin_once_extracted(@TempDir Path registryDir) throws Exception {
+        copyArchive("/io/gravitee/plugin/workspace/", "my-policy-1.0.0-SNAPSHOT.zip", registryDir);
+        Path indexFile = registryDir.resolve(".work").resolve(PluginRegistryIndex.INDEX_FILE);
+        Consumer<PluginRegistryConfiguration> lazyIndex = configuration -> {
+            configuration.setIndexEnabled(true);
+            configuration.setLazyExtractionEnabled(true);
+        };
+
+        PluginRegistryImpl pluginRegistry = initPluginRegistry(registryDir, lazyIndex);
+        pluginRegistry.start();
+        assertThat(PluginRegistryIndex.read(indexFile).plugins())
+            .singleElement()
+            .extracting(PluginRegistryIndex.IndexedPlugin::path)
+            .isNull();
+
+        Plugin plugin = pluginRegistry.get("policy", "my-policy");
+        assertThat(plugin.dependencies()).isNotEmpty();
+
+        // The pending index update is written at the latest when the registry stops.
+        pluginRegistry.stop();
+        assertThat(PluginRegistryIndex.read(indexFile).plugins())
+            .singleElement()
+            .extracting(PluginRegistryIndex.IndexedPlugin::path)
+            .isEqualTo(plugin.path().toString());
+
+        PluginRegistryImpl restartedPluginRegistry = initPluginRegistry(registryDir, lazyIndex);
+        restartedPluginRegistry.start();
+
+        PluginImpl restartedPlugin = (PluginImpl) restartedPluginRegistry.get("policy", "my-policy");
+        assertThat(restartedPlugin.resolved()).isTrue();
+        assertThat(restartedPlugin.dependencies()).containsExactly(plugin.dependencies());
+    }
+
+    @Test
+    void should_index_lazy_plugin_extracted_while_deployed(@TempDir Path registryDir) throws Exception {
+        copyArchive("/io/gravitee/plugin/workspace/", "my-policy-1.0.0-SNAPSHOT.zip", registryDir);
+        Path indexFile = registryDir.resolve(".work").resolve(PluginRegistryIndex.INDEX_FILE);
+
+        PluginRegistryImpl pluginRegistry = initPluginRegistry(
+            registryDir,
+            configuration -> {
+                configuration.setIndexEnabled(true);
+                configuration.setLazyExtractionEnabled(true);
+            }
+        );
+        lenient()
+            .doAnswer(invocation -> pluginRegistry.get("policy", "my-policy").dependencies())
+            .when(eventManager)
+            .publishEvent(PluginEvent.ENDED, null);
+        pluginRegistry.start();
+
+        assertThat(PluginRegistryIndex.read(indexFile).plugins())
+            .singleElement()
+            .extracting(PluginRegistryIndex.IndexedPlugin::path)
+            .isEqualTo(pluginRegistry.get("policy", "my-policy").path().toString());
+    }
+
+    @Test
+    void should_link_work_directories_to_shared_store(@TempDir Path tempDir) throws Exception {
+        Path store = tempDir.resolve("store");
+        Path firstRegistryDir = Files.createDirectories(tempDir.resolve("first"));
+        Path secondRegistryDir = Files.createDirectories(tempDir.resolve("second"));
+        copyArchive("/io/gravitee/plugin/with-dependencies/", "my-policy-1-1.0.0-SNAPSHOT.zip", firstRegistryDir);
+        Path secondArchive = copyArchive("/io/gravitee/plugin/with-dependencies/", "my-policy-1-1.0.0-SNAPSHOT.zip", secondRegistryDir);
+        Files.setLastModifiedTime(secondArchive, FileTime.from(Instant.now().plusSeconds(60)));
+
+        PluginRegistryImpl firstPluginRegistry = initPluginRegistry(
+            firstRegistryDir,
+            configuration -> configuration.setExtractionStorePath(store.toString())
+        );
+        firstPluginRegistry.start();
+        PluginRegistryImpl secondPluginRegistry = initPluginRegistry(
+            secondRegistryDir,
+            configuration -> configuration.setExtractionStorePath(store.toString())
+        );
+        secondPluginRegistry.start();
+
+        List<Path> entries;
+        try (var storeEntries = Files.list(store)) {
+            entries = storeEntries.toList();
+        }
+        assertThat(entries).hasSize(1);
+        Path entry = entries.get(0);
+        assertThat(entry.getFileName().toString()).startsWith("my-policy-1-1.0.0-SNAPSHOT-");
+
+        Plugin firstPlugin = firstPluginRegistry.get("policy", "my-policy-1");
+        Plugin secondPlugin = secondPluginRegistry.get("policy", "my-policy-1");
+        assertThat(firstPlugin.path()).isEqualTo(firstRegistryDir.resolve(".work").resolve("my-policy-1-1.0.0-SNAPSHOT"));
+        assertThat(secondPlugin.dependencies()).hasSameSizeAs(firstPlugin.dependencies()).isNotEmpty();
+        for (URL dependency : secondPlugin.dependencies()) {
+            Path dependencyPath = Paths.get(dependency.toURI());
+            assertThat(dependencyPath).startsWith(secondPlugin.path());
+            assertThat(Files.isSameFile(dependencyPath, entry.resolve(secondPlugin.path().relativize(dependencyPath)))).isTrue();
+        }
+    }
+
+    @Test
+    void should_deploy_and_undeploy_archives_changed_while_running(@TempDir Path registryDir) throws Exception {
+        Path archive = copyArchive("/io/gravitee/plugin/with-dependencies/", "my-policy-1-1.0.0-SNAPSHOT.zip", registryDir);
+
+        PluginRegistryImpl pluginRegistry = initPluginRegistry(
+            registryDir,
+            configuration -> {
+                configuration.setWatchEnabled(true);
+                configuration.setWatchDelay(100);
+            }
+        );
+        pluginRegistry.start();
+
+        try {
+            assertThat(pluginRegistry.plugins()).extracting(Plugin::id).containsExactly("my-policy-1");
+
+            copyArchive("/io/gravitee/plugin/with-dependencies/", "my-policy-2-1.0.0-SNAPSHOT.zip", registryDir);
+            verify(eventManager, timeout(10_000)).publishEvent(
+                eq(PluginEvent.DEPLOYED),
+                argThat((Plugin plugin) -> plugin != null && plugin.id().equals("my-policy-2"))
+            );
+            assertThat(pluginRegistry.get("policy", "my-policy-2").dependencies()).isNotEmpty();
+
+            Plugin removedPlugin = pluginRegistry.get("policy", "my-policy-1");
+            Files.delete(archive);
+            verify(eventManager, timeout(10_000)).publishEvent(PluginEvent.UNDEPLOYED, removedPlugin);
+            assertThat(pluginRegistry.plugins()).extracting(Plugin::id).containsExactly("my-policy-2");
+            assertThat(pluginRegistry.get("policy", "my-policy-1")).isNull();
+        } finally {
+            pluginRegistry.stop();
+        }
+    }
+
+    @Test
+    void should_register_new_plugin_when_archive_is_replaced_while_running(@TempDir Path registryDir) throws Exception {
+        Path archive = copyArchive("/io/gravitee/plugin/with-dependencies/", "my-policy-1-1.0.0-SNAPSHOT.zip", registryDir);
+        EventManager pluginEventManager = new EventManagerImpl();
+        AbstractConfigurablePluginManager<ConfigurablePlugin> pluginManager = new AbstractConfigurablePluginManager<>() {};
+        new PluginEventListener(List.of(new ManagedPluginHandler(pluginManager)), pluginEventManager, environment).start();
+
+        PluginRegistryConfiguration configuration = new PluginRegistryConfiguration();
+        configuration.setPluginsPath(new String[] { registryDir.toString() });
+        PluginRegistryImpl pluginRegistry = new PluginRegistryImpl(
+            configuration,
+            environment,
+            executor,
+            pluginEventManager,
+            bootPluginHandlers
+        );
+        pluginRegistry.start();
+        ConfigurablePlugin deployed = pluginManager.get("my-policy-1");
+        assertThat(deployed).isNotNull();
+
+        Files.setLastModifiedTime(archive, FileTime.from(Instant.now().plusSeconds(60)));
+        pluginRegistry.reload(Set.of(archive));
+
+        ConfigurablePlugin redeployed = pluginManager.get("my-policy-1");
+        assertThat(redeployed).isNotNull().isNotSameAs(deployed);
+        assertThat(redeployed.path()).isEqualTo(pluginRegistry.get("policy", "my-policy-1").path()).isNotEqualTo(deployed.path());
+        assertThat(deployed.path()).exists();
+
+        // The work directory of an archive replaced while running is removed once the archive is replaced again.
+        Files.setLastModifiedTime(archive, FileTime.from(Instant.now().plusSeconds(120)));
+        pluginRegistry.reload(Set.of(archive));
+
+        assertThat(pluginManager.get("my-policy-1")).isNotNull().isNotSameAs(redeployed);
+        assertThat(redeployed.path()).doesNotExist();
+    }
+
+    private static Path copyArchive(String path, String archive, Path registryDir) throws IOException {
+        return Files.copy(Paths.get(getActualPath(path)).resolve(archive), registryDir.resolve(archive));
+    }
+
     private PluginRegistryImpl initPluginRegistry(String path) {
         PluginRegistryImpl pluginRegistry = new PluginRegistryImpl(
             mock(PluginRegistryConfiguration.class),
@@ -344,6 +676,13 @@ class PluginRegistryTest {
         return pluginRegistry;
     }
 
+    private PluginRegistryImpl initPluginRegistry(Path registryDir, Consumer<PluginRegistryConfiguration> configurer) {
+        PluginRegistryConfiguration configuration = new PluginRegistryConfiguration();
+        configuration.setPluginsPath(new String[] { registryDir.toString() });
+        configurer.accept(configuration);
+        return new PluginRegistryImpl(configuration, environment, executor, eventManager, bootPluginHandlers);
+    }
+
     private static String getActualPath(String path) {
         URL dir = PluginRegistryTest.class.getResource(path);
         assertThat(dir).isNotNull();
@@ -358,6 +697,27 @@ class PluginRegistryTest {
         assertThat(PluginRegistryImpl.getFileTimestamp(pluginFile)).isGreaterThan(PluginRegistryImpl.getFileTimestamp(pluginFileOlder));
     }
 
+    @AllArgsConstructor
+    private static class ManagedPluginHandler implements PluginHandler {
+
+        private final PluginManager<ConfigurablePlugin> pluginManager;
+
+        @Override
+        public boolean canHandle(Plugin plugin) {
+            return true;
+        }
+
+        @Override
+        public void handle(Plugin plugin) {
+            pluginManager.register(mock(ConfigurablePlugin.class, delegatesTo(plugin)));
+        }
+
+        @Override
+        public void undeploy(Plugin plugin) {
+            pluginManager.unregister(plugin.id());
+        }
+    }
+
     @AllArgsConstructor
     private static class FakeBootPluginHandler implements BootPluginHandler {
 
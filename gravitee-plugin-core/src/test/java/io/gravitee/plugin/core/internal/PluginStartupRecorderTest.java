@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.plugin.core.api.PluginPhase;
+import io.gravitee.plugin.core.api.PluginStartupReport;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PluginStartupRecorderTest {
+
+    private final PluginStartupRecorder recorder = PluginStartupRecorder.getInstance();
+
+    @BeforeEach
+    void setUp() {
+        recorder.reset();
+    }
+
+    @Test
+    void should_exclude_nested_phases_from_outer_phase() throws InterruptedException {
+        try (PluginStartupRecorder.Timer registration = recorder.start("policy", "policy-1", PluginPhase.REGISTRATION)) {
+            try (PluginStartupRecorder.Timer scan = recorder.start(PluginPhase.CLASSPATH_SCAN)) {
+                Thread.sleep(50);
+            }
+        }
+
+        assertThat(recorder.plugins()).hasSize(1);
+        final PluginStartupReport.PluginTimings timings = recorder.plugins().get(0);
+        assertThat(timings.type()).isEqualTo("policy");
+        assertThat(timings.id()).isEqualTo("policy-1");
+        assertThat(timings.phases().keySet()).first().isEqualTo(PluginPhase.CLASSPATH_SCAN);
+        assertThat(timings.phases().get(PluginPhase.CLASSPATH_SCAN)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+        assertThat(timings.phases().get(PluginPhase.REGISTRATION)).isLessThan(Duration.ofMillis(50));
+        assertThat(recorder.total()).isEqualTo(timings.total());
+    }
+
+    @Test
+    void should_sort_plugins_and_phases_by_cost() {
+        recorder.record("policy", "policy-1", PluginPhase.EXTRACTION, 10);
+        recorder.record("policy", "policy-2", PluginPhase.EXTRACTION, 20);
+        recorder.record("policy", "policy-2", PluginPhase.CONTEXT_REFRESH, 50);
+        recorder.record("resource", "resource-1", PluginPhase.MANIFEST_READ, 5);
+
+        assertThat(recorder.plugins())
+            .extracting(PluginStartupReport.PluginTimings::id)
+            .containsExactly("policy-2", "policy-1", "resource-1");
+        assertThat(recorder.phases())
+            .extracting(PluginStartupReport.PhaseTiming::phase)
+            .startsWith(PluginPhase.CONTEXT_REFRESH, PluginPhase.EXTRACTION, PluginPhase.MANIFEST_READ);
+        assertThat(recorder.total()).isEqualTo(Duration.ofNanos(85));
+        assertThat(recorder.toFoldedStacks()).contains("policy;policy-2;context_refresh 50\n");
+    }
+
+    @Test
+    void should_ignore_phases_timed_outside_of_a_plugin() {
+        try (PluginStartupRecorder.Timer scan = recorder.start(PluginPhase.CLASSPATH_SCAN)) {
+            // Nothing to do.
+        }
+
+        assertThat(recorder.plugins()).isEmpty();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.plugin.core.api.AbstractConfigurablePluginManager;
+import io.gravitee.plugin.core.api.ConfigurablePlugin;
+import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.api.PluginClassLoader;
+import io.gravitee.plugin.core.api.PluginManifest;
+import io.gravitee.plugin.core.internal.PluginRegistryConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PluginMetricsBinderTest {
+
+    @TempDir
+    Path pluginDir;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PluginMetricsBinder binder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        binder = new PluginMetricsBinder(new PluginRegistryConfiguration());
+        binder.bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        binder.close();
+    }
+
+    @Test
+    void should_count_deployed_plugins_per_type() {
+        final Plugin policy = createPlugin("policy-1", "policy");
+        PluginMetrics.pluginDeployed(policy);
+        PluginMetrics.pluginDeployed(createPlugin("policy-2", "policy"));
+        PluginMetrics.pluginDeployed(createPlugin("resource-1", "resource"));
+        PluginMetrics.pluginUndeployed(policy);
+        PluginMetrics.deploymentFailed(createPlugin("policy-3", "policy"));
+
+        assertThat(meterRegistry.get("gio.plugins.deployed").tag("type", "policy").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("gio.plugins.deployed").tag("type", "resource").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("gio.plugins.deployment.failures").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_time_plugin_manager_operations() {
+        final AbstractConfigurablePluginManager<ConfigurablePlugin> manager = new AbstractConfigurablePluginManager<>() {};
+        final ConfigurablePlugin plugin = mock(ConfigurablePlugin.class);
+        when(plugin.id()).thenReturn("policy-1");
+        when(plugin.deployed()).thenReturn(true);
+        manager.register(plugin);
+
+        manager.get("policy-1");
+        manager.get("unknown", true);
+        manager.findAll();
+
+        assertThat(meterRegistry.get("gio.plugins.manager.operations").tag("operation", "get").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("gio.plugins.manager.operations").tag("operation", "find_all").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_only_time_outermost_plugin_manager_operation() throws Exception {
+        final AbstractConfigurablePluginManager<ConfigurablePlugin> manager = new AbstractConfigurablePluginManager<>() {};
+        final ConfigurablePlugin plugin = mock(ConfigurablePlugin.class);
+        final PluginManifest manifest = mock(PluginManifest.class);
+        when(plugin.id()).thenReturn("policy-1");
+        when(plugin.deployed()).thenReturn(true);
+        when(plugin.manifest()).thenReturn(manifest);
+        when(manifest.properties()).thenReturn(Map.of());
+        when(plugin.path()).thenReturn(pluginDir);
+        manager.register(plugin);
+
+        manager.getSchema("policy-1", "unknown", true, false);
+        manager.getIcon("policy-1");
+
+        assertThat(meterRegistry.get("gio.plugins.manager.operations").tag("operation", "get_schema").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gio.plugins.manager.operations").tag("operation", "get_icon").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("gio.plugins.manager.operations").tag("operation", "get").timer()).isNull();
+
+        manager.get("policy-1");
+
+        assertThat(meterRegistry.get("gio.plugins.manager.operations").tag("operation", "get").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_track_plugin_classloaders() throws Exception {
+        try (URLClassLoader urlClassLoader = new URLClassLoader(new URL[0])) {
+            final ClassLoader classLoader = new PluginClassLoader(urlClassLoader);
+
+            assertThat(meterRegistry.get("gio.plugins.classloaders.alive").gauge().value()).isEqualTo(1);
+            assertThat(classLoader).isNotNull();
+        }
+    }
+
+    @Test
+    void should_not_record_anything_once_closed() {
+        binder.close();
+
+        assertThat(PluginMetrics.isEnabled()).isFalse();
+        assertThat(PluginMetrics.start()).isZero();
+    }
+
+    private static Plugin createPlugin(String id, String type) {
+        final Plugin plugin = mock(Plugin.class);
+        when(plugin.id()).thenReturn(id);
+        when(plugin.type()).thenReturn(type);
+        return plugin;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ZipArchiveTest {
+
+    private static final String MANIFEST = "id=my-plugin\nversion=1.0.0\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_read_entries_from_central_directory() throws IOException {
+        Path archive = writeArchive(false);
+
+        try (ZipArchive zipArchive = ZipArchive.open(archive)) {
+            assertThat(zipArchive.entries())
+                .extracting(ZipArchive.Entry::name)
+                .containsExactly("my-plugin.jar", "lib/", "lib/dependency.txt");
+            assertThat(zipArchive.entry("lib/").isDirectory()).isTrue();
+            assertThat(read(zipArchive, zipArchive.entry("lib/dependency.txt"))).isEqualTo("dependency content");
+            assertThat(zipArchive.entry("unknown")).isNull();
+        }
+    }
+
+    @Test
+    void should_read_deflated_nested_jar() throws IOException {
+        Path archive = writeArchive(false);
+
+        try (ZipArchive zipArchive = ZipArchive.open(archive)) {
+            ZipArchive.Entry jarEntry = zipArchive.entry("my-plugin.jar");
+            assertThat(jarEntry.method()).isEqualTo(ZipArchive.DEFLATED);
+
+            ZipArchive jar = zipArchive.openNested(jarEntry);
+            assertThat(read(jar, jar.entry("plugin.properties"))).isEqualTo(MANIFEST);
+        }
+    }
+
+    @Test
+    void should_read_stored_nested_jar() throws IOException {
+        Path archive = writeArchive(true);
+
+        try (ZipArchive zipArchive = ZipArchive.open(archive)) {
+            ZipArchive.Entry jarEntry = zipArchive.entry("my-plugin.jar");
+            assertThat(jarEntry.method()).isEqualTo(ZipArchive.STORED);
+
+            ZipArchive jar = zipArchive.openNested(jarEntry);
+            assertThat(read(jar, jar.entry("plugin.properties"))).isEqualTo(MANIFEST);
+        }
+    }
+
+    @Test
+    void should_release_archive_file_once_closed() throws IOException {
+        Path archive = writeArchive(true);
+
+        ZipArchive zipArchive = ZipArchive.open(archive);
+        ZipArchive.Entry entry = zipArchive.entry("lib/dependency.txt");
+        zipArchive.close();
+
+        assertThatThrownBy(() -> zipArchive.getInputStream(entry)).isInstanceOf(ClosedChannelException.class);
+        Files.delete(archive);
+    }
+
+    @Test
+    void should_fail_when_file_is_not_a_zip_archive() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("not-a-zip.zip"), "definitely not a zip archive");
+
+        assertThatThrownBy(() -> ZipArchive.open(file)).isInstanceOf(ZipException.class);
+    }
+
+    private Path writeArchive(boolean storeJar) throws IOException {
+        ByteArrayOutputStream jar = new ByteArrayOutputStream();
+        try (ZipOutputStream jarStream = new ZipOutputStream(jar)) {
+            jarStream.putNextEntry(new ZipEntry("plugin.properties"));
+            jarStream.write(MANIFEST.getBytes(StandardCharsets.UTF_8));
+            jarStream.closeEntry();
+        }
+        byte[] jarContent = jar.toByteArray();
+
+        Path archive = tempDir.resolve("my-plugin.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive))) {
+            ZipEntry jarEntry = new ZipEntry("my-plugin.jar");
+            if (storeJar) {
+                CRC32 crc = new CRC32();
+                crc.update(jarContent);
+                jarEntry.setMethod(ZipEntry.STORED);
+                jarEntry.setSize(jarContent.length);
+                jarEntry.setCompressedSize(jarContent.length);
+                jarEntry.setCrc(crc.getValue());
+            }
+            zip.putNextEntry(jarEntry);
+            zip.write(jarContent);
+            zip.closeEntry();
+
+            zip.putNextEntry(new ZipEntry("lib/"));
+            zip.closeEntry();
+
+            zip.putNextEntry(new ZipEntry("lib/dependency.txt"));
+            zip.write("dependency content".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return archive;
+    }
+
+    private static String read(ZipArchive archive, ZipArchive.Entry entry) throws IOException {
+        try (InputStream is = archive.getInputStream(entry)) {
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.core.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ZipExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ZipExtractor extractor = new ZipExtractor(2);
+
+    @AfterEach
+    void tearDown() {
+        extractor.close();
+    }
+
+    @Test
+    void should_extract_files_and_directory_entries() throws Exception {
+        Path archive = writeArchive("my-plugin.jar", "lib/", "lib/dependency.jar", "empty/");
+        Path destDir = tempDir.resolve("work");
+
+        assertThat(extractor.extractAsync(archive, destDir).get(5, TimeUnit.SECONDS)).isEqualTo(destDir);
+
+        assertThat(destDir.resolve("my-plugin.jar")).hasContent("my-plugin.jar content");
+        assertThat(destDir.resolve("lib").resolve("dependency.jar")).hasContent("lib/dependency.jar content");
+        assertThat(destDir.resolve("empty")).isEmptyDirectory();
+    }
+
+    @Test
+    void should_replace_previous_content_of_destination() throws Exception {
+        Path archive = writeArchive("my-plugin.jar");
+        Path destDir = Files.createDirectories(tempDir.resolve("work"));
+        Files.writeString(destDir.resolve("previous.jar"), "previous content");
+
+        extractor.extractAsync(archive, destDir).get(5, TimeUnit.SECONDS);
+
+        try (var files = Files.list(destDir)) {
+            assertThat(files).containsExactly(destDir.resolve("my-plugin.jar"));
+        }
+    }
+
+    @Test
+    void should_reject_entry_outside_of_destination() throws Exception {
+        Path archive = writeArchive("my-plugin.jar", "../evil.jar");
+        Path destDir = tempDir.resolve("work");
+
+        assertThatThrownBy(() -> ZipExtractor.extract(archive, destDir))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("../evil.jar");
+        assertThat(tempDir.resolve("evil.jar")).doesNotExist();
+    }
+
+    @Test
+    void should_fail_future_when_archive_is_corrupted() throws IOException {
+        Path archive = Files.writeString(tempDir.resolve("corrupted.zip"), "definitely not a zip archive");
+
+        CompletableFuture<Path> extraction = extractor.extractAsync(archive, tempDir.resolve("work"));
+
+        assertThatThrownBy(() -> extraction.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(ZipException.class);
+    }
+
+    private Path writeArchive(String... entryNames) throws IOException {
+        Path archive = tempDir.resolve("my-plugin.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive))) {
+            for (String entryName : entryNames) {
+                zip.putNextEntry(new ZipEntry(entryName));
+                if (!entryName.endsWith("/")) {
+                    zip.write((entryName + " content").getBytes(StandardCharsets.UTF_8));
+                }
+                zip.closeEntry();
+            }
+        }
+        return archive;
+    }
+}
@@ -18,9 +18,9 @@ package io.gravitee.plugin.fetcher.internal;
 import io.gravitee.plugin.core.api.AbstractSimplePluginHandler;
 import io.gravitee.plugin.core.api.ConfigurablePluginManager;
 import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.internal.PluginClassLoaderRegistry;
 import io.gravitee.plugin.fetcher.FetcherPlugin;
 import io.gravitee.plugin.fetcher.spring.FetcherPluginConfiguration;
-import java.net.URLClassLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 
@@ -46,7 +46,7 @@ public class FetcherPluginHandler extends AbstractSimplePluginHandler<FetcherPlu
 
     @Override
     protected ClassLoader getClassLoader(Plugin plugin) throws Exception {
-        return new URLClassLoader(plugin.dependencies(), this.getClass().getClassLoader());
+        return PluginClassLoaderRegistry.getInstance().acquire(plugin, this.getClass().getClassLoader());
     }
 
     @Override
@@ -61,4 +61,13 @@ public class FetcherPluginHandler extends AbstractSimplePluginHandler<FetcherPlu
     protected void register(FetcherPlugin plugin) {
         fetcherPluginManager.register(plugin);
     }
+
+    @Override
+    public void undeploy(Plugin plugin) {
+        final FetcherPlugin fetcherPlugin = fetcherPluginManager.unregister(plugin.id());
+        if (fetcherPlugin != null) {
+            // The classloader has been kept since the plugin has been registered
+            PluginClassLoaderRegistry.getInstance().release(fetcherPlugin.fetcher().getClassLoader());
+        }
+    }
 }
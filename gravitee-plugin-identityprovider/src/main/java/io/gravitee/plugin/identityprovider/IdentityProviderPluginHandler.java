@@ -19,10 +19,10 @@ import io.gravitee.identityprovider.api.IdentityProvider;
 import io.gravitee.identityprovider.api.IdentityProviderManager;
 import io.gravitee.plugin.core.api.*;
 import io.gravitee.plugin.core.internal.AnnotationBasedPluginContextConfigurer;
+import io.gravitee.plugin.core.internal.PluginDeploymentScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.util.Assert;
 
 /**
@@ -59,19 +59,34 @@ public class IdentityProviderPluginHandler extends AbstractPluginHandler impleme
 
     @Override
     protected void handle(Plugin plugin, Class<?> pluginClass) {
-        try {
-            LOGGER.info("Register a new identity provider plugin: {} [{}]", plugin.id(), plugin.clazz());
+        LOGGER.info("Register a new identity provider plugin: {} [{}]", plugin.id(), plugin.clazz());
 
+        try {
             Assert.isAssignable(IdentityProvider.class, pluginClass);
-
-            ApplicationContext repoApplicationContext = pluginContextFactory.create(new AnnotationBasedPluginContextConfigurer(plugin));
-
-            IdentityProvider idpClassInstance = repoApplicationContext.getBean((Class<IdentityProvider>) pluginClass);
-
-            identityProviderManager.put(idpClassInstance.getSource(), idpClassInstance);
-        } catch (Exception iae) {
+        } catch (IllegalArgumentException iae) {
             LOGGER.error("Unexpected error while creating identity provider instance", iae);
-            pluginContextFactory.remove(plugin);
+            return;
         }
+
+        // The context is refreshed along with the ones of the other plugins being deployed, the plugin is deployed once registered.
+        PluginDeploymentScope.track(
+            pluginContextFactory
+                .createAsync(new AnnotationBasedPluginContextConfigurer(plugin))
+                .thenAccept(idpApplicationContext -> {
+                    IdentityProvider idpClassInstance = idpApplicationContext.getBean((Class<IdentityProvider>) pluginClass);
+                    identityProviderManager.put(idpClassInstance.getSource(), idpClassInstance);
+                })
+                .whenComplete((ignored, ex) -> {
+                    if (ex != null) {
+                        LOGGER.error("Unexpected error while creating identity provider instance", ex);
+                        pluginContextFactory.remove(plugin);
+                    }
+                })
+        );
+    }
+
+    @Override
+    public void undeploy(Plugin plugin) {
+        pluginClassLoaderFactory.invalidate(plugin);
     }
 }
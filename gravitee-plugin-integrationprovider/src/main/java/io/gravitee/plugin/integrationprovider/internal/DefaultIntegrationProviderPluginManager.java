@@ -18,11 +18,12 @@ package io.gravitee.plugin.integrationprovider.internal;
 import io.gravitee.integration.api.plugin.IntegrationProviderFactory;
 import io.gravitee.plugin.core.api.AbstractConfigurablePluginManager;
 import io.gravitee.plugin.core.api.PluginClassLoader;
+import io.gravitee.plugin.core.internal.PluginClassLoaderRegistry;
 import io.gravitee.plugin.integrationprovider.IntegrationProviderClassLoaderFactory;
 import io.gravitee.plugin.integrationprovider.IntegrationProviderPlugin;
 import io.gravitee.plugin.integrationprovider.IntegrationProviderPluginManager;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,8 +39,8 @@ public class DefaultIntegrationProviderPluginManager
 
     private final IntegrationProviderClassLoaderFactory classLoaderFactory;
 
-    private final Map<String, IntegrationProviderFactory<?>> factories = new HashMap<>();
-    private final Map<String, IntegrationProviderFactory<?>> undeployedFactories = new HashMap<>();
+    private final Map<String, IntegrationProviderFactory<?>> factories = new ConcurrentHashMap<>();
+    private final Map<String, IntegrationProviderFactory<?>> undeployedFactories = new ConcurrentHashMap<>();
 
     @Override
     public void register(IntegrationProviderPlugin plugin) {
@@ -62,6 +63,21 @@ public class DefaultIntegrationProviderPluginManager
         }
     }
 
+    @Override
+    public IntegrationProviderPlugin unregister(String pluginId) {
+        final IntegrationProviderPlugin plugin = super.unregister(pluginId);
+        releaseFactory(factories.remove(pluginId));
+        releaseFactory(undeployedFactories.remove(pluginId));
+        return plugin;
+    }
+
+    private static void releaseFactory(IntegrationProviderFactory<?> factory) {
+        if (factory != null) {
+            // Release the classloader created while registering the integration provider
+            PluginClassLoaderRegistry.getInstance().release(factory.getClass().getClassLoader());
+        }
+    }
+
     @Override
     public IntegrationProviderFactory<?> getIntegrationProviderFactory(String pluginId) {
         return factories.get(pluginId);
@@ -17,10 +17,9 @@ package io.gravitee.plugin.integrationprovider.internal;
 
 import io.gravitee.plugin.core.api.AbstractSimplePluginHandler;
 import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.internal.PluginClassLoaderRegistry;
 import io.gravitee.plugin.integrationprovider.IntegrationProviderPlugin;
 import io.gravitee.plugin.integrationprovider.spring.IntegrationProviderPluginConfiguration;
-import java.io.IOException;
-import java.net.URLClassLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 
@@ -57,16 +56,16 @@ public class IntegrationProviderPluginHandler extends AbstractSimplePluginHandle
         integrationProviderPluginManager.register(integrationProviderPlugin);
 
         // Once registered, the classloader should be released
-        URLClassLoader classLoader = (URLClassLoader) integrationProviderPlugin.integrationProvider().getClassLoader();
-        try {
-            classLoader.close();
-        } catch (IOException e) {
-            logger.error("Unexpected exception while trying to release the integration provider classloader");
-        }
+        PluginClassLoaderRegistry.getInstance().release(integrationProviderPlugin.integrationProvider().getClassLoader());
     }
 
     @Override
     protected ClassLoader getClassLoader(Plugin plugin) {
-        return new URLClassLoader(plugin.dependencies(), this.getClass().getClassLoader());
+        return PluginClassLoaderRegistry.getInstance().acquire(plugin, this.getClass().getClassLoader());
+    }
+
+    @Override
+    public void undeploy(Plugin plugin) {
+        integrationProviderPluginManager.unregister(plugin.id());
     }
 }
@@ -18,10 +18,10 @@ package io.gravitee.plugin.notifier.internal;
 import io.gravitee.plugin.core.api.AbstractSimplePluginHandler;
 import io.gravitee.plugin.core.api.ConfigurablePluginManager;
 import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.internal.PluginClassLoaderRegistry;
+import io.gravitee.plugin.notifier.NotifierClassLoaderFactory;
 import io.gravitee.plugin.notifier.NotifierPlugin;
 import io.gravitee.plugin.notifier.spring.NotifierPluginConfiguration;
-import java.io.IOException;
-import java.net.URLClassLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 
@@ -35,6 +35,9 @@ public class NotifierPluginHandler extends AbstractSimplePluginHandler<NotifierP
     @Autowired
     private ConfigurablePluginManager<NotifierPlugin> notifierPluginManager;
 
+    @Autowired
+    private NotifierClassLoaderFactory notifierClassLoaderFactory;
+
     @Override
     public boolean canHandle(Plugin plugin) {
         return NotifierPlugin.PLUGIN_TYPE.equalsIgnoreCase(plugin.type());
@@ -58,16 +61,19 @@ public class NotifierPluginHandler extends AbstractSimplePluginHandler<NotifierP
         notifierPluginManager.register(plugin);
 
         // Once registered, the classloader should be released
-        URLClassLoader classLoader = (URLClassLoader) plugin.notifier().getClassLoader();
-        try {
-            classLoader.close();
-        } catch (IOException e) {
-            logger.error("Unexpected exception while trying to release the notifier classloader");
-        }
+        PluginClassLoaderRegistry.getInstance().release(plugin.notifier().getClassLoader());
     }
 
     @Override
     protected ClassLoader getClassLoader(Plugin plugin) throws Exception {
-        return new URLClassLoader(plugin.dependencies(), this.getClass().getClassLoader());
+        return PluginClassLoaderRegistry.getInstance().acquire(plugin, this.getClass().getClassLoader());
+    }
+
+    @Override
+    public void undeploy(Plugin plugin) {
+        notifierPluginManager.unregister(plugin.id());
+
+        // Class loaders cached for the notifier by its users must not outlive it
+        notifierClassLoaderFactory.invalidate(new NotifierPluginImpl(plugin, null));
     }
 }
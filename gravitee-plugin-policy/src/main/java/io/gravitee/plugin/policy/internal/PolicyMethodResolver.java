@@ -23,19 +23,32 @@ import io.gravitee.policy.api.annotations.OnRequestContent;
 import io.gravitee.policy.api.annotations.OnResponse;
 import io.gravitee.policy.api.annotations.OnResponseContent;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import org.reflections.ReflectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
+ * Resolve the methods of a policy class annotated with the policy phase annotations.
+ * <p>
+ * The methods of a policy class are resolved only once and then kept alongside the class itself, through a
+ * {@link ClassValue}: policy chains instantiated for each API deployment do not walk the class hierarchy again, and the
+ * resolved methods go away with the policy class loader.
+ *
  * @author David BRASSELY (brasseld at gmail.com)
  * @author GraviteeSource Team
  */
 public class PolicyMethodResolver {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(PolicyMethodResolver.class);
+
     private static final Class<? extends Annotation>[] RESOLVABLE_ANNOTATIONS = new Class[] {
         OnRequest.class,
         OnResponse.class,
@@ -43,17 +56,80 @@ public class PolicyMethodResolver {
         OnResponseContent.class,
     };
 
+    private static final ClassValue<ResolvedMethods> RESOLVED_METHODS = new ClassValue<>() {
+        @Override
+        protected ResolvedMethods computeValue(Class<?> policyClass) {
+            return ResolvedMethods.of(policyClass);
+        }
+    };
+
+    /**
+     * @param policyClass the policy class.
+     * @return the public methods of the policy class for each of the policy phase annotations it uses. The map is a copy of the
+     * resolved methods and can be modified by the caller.
+     */
     public Map<Class<? extends Annotation>, Method> resolve(Class<?> policyClass) {
-        Map<Class<? extends Annotation>, Method> methods = new HashMap<>();
+        return new HashMap<>(RESOLVED_METHODS.get(policyClass).methods());
+    }
 
-        for (Class<? extends Annotation> annot : RESOLVABLE_ANNOTATIONS) {
-            Set<Method> resolved = ReflectionUtils.getAllMethods(policyClass, withModifier(Modifier.PUBLIC), withAnnotation(annot));
+    /**
+     * @param policyClass the policy class.
+     * @return the method handles of the methods returned by {@link #resolve(Class)}, as an unmodifiable map. Methods which
+     * can not be unreflected have no handle.
+     */
+    public Map<Class<? extends Annotation>, MethodHandle> resolveHandles(Class<?> policyClass) {
+        return RESOLVED_METHODS.get(policyClass).handles();
+    }
 
-            if (!resolved.isEmpty()) {
-                methods.put(annot, resolved.iterator().next());
+    /**
+     * @param policyClass the policy class.
+     * @param annotations the policy phase annotations to look for.
+     * @return <code>true</code> if the policy class has a method for at least one of the given annotations.
+     */
+    static boolean hasMethodFor(Class<?> policyClass, Class<? extends Annotation>[] annotations) {
+        final Map<Class<? extends Annotation>, Method> methods = RESOLVED_METHODS.get(policyClass).methods();
+        for (Class<? extends Annotation> annot : annotations) {
+            if (methods.containsKey(annot)) {
+                return true;
             }
         }
+        return false;
+    }
+
+    private record ResolvedMethods(
+        Map<Class<? extends Annotation>, Method> methods,
+        Map<Class<? extends Annotation>, MethodHandle> handles
+    ) {
+        private static ResolvedMethods of(Class<?> policyClass) {
+            final Map<Class<? extends Annotation>, Method> methods = new HashMap<>();
+            final Map<Class<? extends Annotation>, MethodHandle> handles = new HashMap<>();
 
-        return methods;
+            for (Class<? extends Annotation> annot : RESOLVABLE_ANNOTATIONS) {
+                Set<Method> resolved = ReflectionUtils.getAllMethods(policyClass, withModifier(Modifier.PUBLIC), withAnnotation(annot));
+
+                if (!resolved.isEmpty()) {
+                    final Method method = resolved.iterator().next();
+                    methods.put(annot, method);
+
+                    final MethodHandle handle = unreflect(method);
+                    if (handle != null) {
+                        handles.put(annot, handle);
+                    }
+                }
+            }
+
+            return new ResolvedMethods(Collections.unmodifiableMap(methods), Collections.unmodifiableMap(handles));
+        }
+
+        private static MethodHandle unreflect(Method method) {
+            try {
+                // The policy class itself may not be public.
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException | RuntimeException e) {
+                LOGGER.debug("Unable to get a method handle for policy method {}", method, e);
+                return null;
+            }
+        }
     }
 }
@@ -18,21 +18,17 @@ package io.gravitee.plugin.policy.internal;
 import io.gravitee.plugin.core.api.AbstractSimplePluginHandler;
 import io.gravitee.plugin.core.api.ConfigurablePluginManager;
 import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.internal.PluginClassLoaderRegistry;
 import io.gravitee.plugin.policy.PolicyPlugin;
 import io.gravitee.plugin.policy.spring.PolicyPluginConfiguration;
 import io.gravitee.policy.api.annotations.OnRequest;
 import io.gravitee.policy.api.annotations.OnRequestContent;
 import io.gravitee.policy.api.annotations.OnResponse;
 import io.gravitee.policy.api.annotations.OnResponseContent;
-import java.io.IOException;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.net.URLClassLoader;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
-import org.reflections.ReflectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 
@@ -71,16 +67,16 @@ public class PolicyPluginHandler extends AbstractSimplePluginHandler<PolicyPlugi
         if (!entity.manifest().properties().containsKey("proxy") && !entity.manifest().properties().containsKey("message")) {
             try {
                 Set<String> proxyPhases = new HashSet<>();
-                if (methodFoundFor(REQUEST_ANNOTATIONS, policyClass)) {
+                if (PolicyMethodResolver.hasMethodFor(policyClass, REQUEST_ANNOTATIONS)) {
                     proxyPhases.add("REQUEST");
                 }
-                if (methodFoundFor(RESPONSE_ANNOTATIONS, policyClass)) {
+                if (PolicyMethodResolver.hasMethodFor(policyClass, RESPONSE_ANNOTATIONS)) {
                     proxyPhases.add("RESPONSE");
                 }
                 entity.manifest().properties().put("proxy", proxyPhases.stream().collect(Collectors.joining(",")));
             } catch (NoClassDefFoundError e) {
                 // If the plugin use object that are only present in the GW classpath,
-                // methodFoundFor will fail with ClassNotFound error
+                // resolving the policy methods will fail with ClassNotFound error
                 // this shouldn't prevent the load of the plugin as the description of
                 // proxy & message attributes in the manifest is only useful for APIM
                 logger.debug("Unable to autodetect the execution phases for the plugin {}.", entity.id(), e);
@@ -88,20 +84,6 @@ public class PolicyPluginHandler extends AbstractSimplePluginHandler<PolicyPlugi
         }
     }
 
-    private boolean methodFoundFor(Class<? extends Annotation>[] annotations, Class policyClass) {
-        for (Class<? extends Annotation> annot : annotations) {
-            Set<Method> resolved = ReflectionUtils.getAllMethods(
-                policyClass,
-                ReflectionUtils.withModifier(Modifier.PUBLIC),
-                ReflectionUtils.withAnnotation(annot)
-            );
-            if (!resolved.isEmpty()) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private static final Class<? extends Annotation>[] REQUEST_ANNOTATIONS = new Class[] { OnRequest.class, OnRequestContent.class };
     private static final Class<? extends Annotation>[] RESPONSE_ANNOTATIONS = new Class[] { OnResponse.class, OnResponseContent.class };
 
@@ -110,20 +92,16 @@ public class PolicyPluginHandler extends AbstractSimplePluginHandler<PolicyPlugi
         policyPluginManager.register(policyPlugin);
 
         // Once registered, the classloader should be released
-        final ClassLoader policyClassLoader = policyPlugin.policy().getClassLoader();
-
-        if (policyClassLoader instanceof URLClassLoader) {
-            URLClassLoader classLoader = (URLClassLoader) policyClassLoader;
-            try {
-                classLoader.close();
-            } catch (IOException e) {
-                logger.error("Unexpected exception while trying to release the policy classloader");
-            }
-        }
+        PluginClassLoaderRegistry.getInstance().release(policyPlugin.policy().getClassLoader());
     }
 
     @Override
     protected ClassLoader getClassLoader(Plugin plugin) {
-        return new URLClassLoader(plugin.dependencies(), this.getClass().getClassLoader());
+        return PluginClassLoaderRegistry.getInstance().acquire(plugin, this.getClass().getClassLoader());
+    }
+
+    @Override
+    public void undeploy(Plugin plugin) {
+        policyPluginManager.unregister(plugin.id());
     }
 }
@@ -21,6 +21,8 @@ import io.gravitee.plugin.policy.internal.PolicyMethodResolver;
 import io.gravitee.policy.api.PolicyChain;
 import io.gravitee.policy.api.annotations.OnRequest;
 import io.gravitee.policy.api.annotations.OnResponse;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.util.Map;
 import org.junit.Assert;
 import org.junit.Test;
@@ -56,6 +58,26 @@ public class PolicyMethodResolverTest {
         Assert.assertEquals(2, methods.size());
     }
 
+    @Test
+    public void resolvePolicyMethods_cached() {
+        Map handles = policyMethodResolver.resolveHandles(DummyPolicy02.class);
+        Assert.assertSame(handles, new PolicyMethodResolver().resolveHandles(DummyPolicy02.class));
+    }
+
+    @Test
+    public void resolvePolicyMethods_copy() {
+        Map methods = policyMethodResolver.resolve(DummyPolicy02.class);
+        methods.clear();
+        Assert.assertEquals(2, policyMethodResolver.resolve(DummyPolicy02.class).size());
+    }
+
+    @Test
+    public void resolvePolicyMethodHandles() throws Throwable {
+        Map<Class<? extends Annotation>, MethodHandle> handles = policyMethodResolver.resolveHandles(DummyPolicy05.class);
+        Assert.assertEquals(1, handles.size());
+        Assert.assertEquals("request", handles.get(OnRequest.class).invoke(new DummyPolicy05(), "request"));
+    }
+
     class DummyPolicy01 {}
 
     class DummyPolicy02 {
@@ -90,4 +112,12 @@ public class PolicyMethodResolverTest {
     }
 
     class DummyPolicy04 extends DummyPolicy03 {}
+
+    static class DummyPolicy05 {
+
+        @OnRequest
+        public String onRequest(String request) {
+            return request;
+        }
+    }
 }
@@ -17,11 +17,15 @@ package io.gravitee.plugin.repository.internal;
 
 import io.gravitee.platform.repository.api.Scope;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.jspecify.annotations.NonNull;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
 
 /**
@@ -31,17 +35,27 @@ import org.springframework.core.env.PropertySource;
  * <p>When application code reads a property like {@code management.mongodb.uri}, this source
  * first checks for {@code repositories.management.mongodb.uri}. If found, that value is returned.
  * If not, {@code null} is returned and the normal property resolution chain handles the legacy key.
+ *
+ * <p>As this source comes first in the environment, it is looked up for every property: keys which
+ * do not start with a scope are discarded with a single lookup of their first segment, and the keys
+ * of a scope are resolved once. Resolved keys are cached until property sources are added to, removed
+ * from or replaced in the environment, or until the source is {@link #invalidate() invalidated}.
  */
 class RepositoryAliasPropertySource extends PropertySource<Object> {
 
     static final String PROPERTY_SOURCE_NAME = "repositoryAliasPropertySource";
     private static final String REPOSITORIES_PREFIX = "repositories.";
 
-    private static final Set<String> SCOPE_PREFIXES = Arrays.stream(Scope.values())
-        .map(scope -> scope.getName() + ".")
-        .collect(Collectors.toSet());
+    private static final Set<String> SCOPE_NAMES = Arrays.stream(Scope.values()).map(Scope::getName).collect(Collectors.toSet());
+
+    /**
+     * Cached for keys which resolve to no value, as a {@link ConcurrentHashMap} does not accept <code>null</code> values.
+     */
+    private static final Object MISSING = new Object();
 
     private final Environment environment;
+    private final Map<String, Object> resolved = new ConcurrentHashMap<>();
+    private volatile List<PropertySource<?>> observedSources = List.of();
 
     RepositoryAliasPropertySource(Environment environment) {
         super(PROPERTY_SOURCE_NAME, new Object());
@@ -50,12 +64,50 @@ class RepositoryAliasPropertySource extends PropertySource<Object> {
 
     @Override
     public Object getProperty(@NonNull String name) {
-        for (String scopePrefix : SCOPE_PREFIXES) {
-            if (name.startsWith(scopePrefix)) {
-                return resolveRespectingSourcePriority(name);
+        final int separator = name.indexOf('.');
+        if (separator <= 0 || !SCOPE_NAMES.contains(name.substring(0, separator))) {
+            return null;
+        }
+
+        invalidateOnChange();
+        Object value = resolved.get(name);
+        if (value == null) {
+            // No computeIfAbsent: resolution goes through the environment, which may look up this source again.
+            value = resolveRespectingSourcePriority(name);
+            resolved.put(name, value != null ? value : MISSING);
+        }
+        return value == MISSING ? null : value;
+    }
+
+    /**
+     * Discard the resolved keys, so that values changed in place in the property sources are seen.
+     */
+    void invalidate() {
+        resolved.clear();
+    }
+
+    private void invalidateOnChange() {
+        if (environment instanceof ConfigurableEnvironment configEnv) {
+            final MutablePropertySources sources = configEnv.getPropertySources();
+            final List<PropertySource<?>> observed = observedSources;
+            if (!sameSources(observed, sources)) {
+                resolved.clear();
+                observedSources = sources.stream().toList();
+            }
+        }
+    }
+
+    private static boolean sameSources(List<PropertySource<?>> observed, MutablePropertySources sources) {
+        if (observed.size() != sources.size()) {
+            return false;
+        }
+        int i = 0;
+        for (PropertySource<?> source : sources) {
+            if (source != observed.get(i++)) {
+                return false;
             }
         }
-        return null;
+        return true;
     }
 
     /**
@@ -23,11 +23,13 @@ import io.gravitee.plugin.core.api.Plugin;
 import io.gravitee.plugin.core.api.PluginClassLoaderFactory;
 import io.gravitee.plugin.core.api.PluginContextFactory;
 import io.gravitee.plugin.core.internal.AnnotationBasedPluginContextConfigurer;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,9 +38,17 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
 import org.springframework.util.Assert;
 
 /**
+ * Load the repositories of the scopes configured for the node.
+ * <p>
+ * The scopes handled by a repository plugin are loaded concurrently by a {@link RepositoryScopeLoader}, which retries the
+ * scopes which can not be loaded yet with an exponential backoff. The plugin deployment waits for its scopes to be loaded
+ * unless <code>repositories.loading.async</code> is enabled: the host then relies on {@link #ready(Scope)} to know when
+ * the scopes it requires can be used.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author Jeoffrey HAEYAERT (jeoffrey.haeyaert at graviteesource.com)
  * @author GraviteeSource Team
@@ -46,8 +56,21 @@ import org.springframework.util.Assert;
 public class RepositoryPluginHandler extends AbstractPluginHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RepositoryPluginHandler.class);
+
+    /**
+     * Delay before the first retry to load a repository scope, doubled after each failed attempt.
+     */
     public static final int RETRY_DELAY_MS = 5000;
 
+    /**
+     * Whether the deployment of a repository plugin returns without waiting for its scopes to be loaded.
+     */
+    public static final String LOADING_ASYNC_PROPERTY = "repositories.loading.async";
+    public static final String RETRY_INITIAL_DELAY_PROPERTY = "repositories.loading.retry.initialDelay";
+    public static final String RETRY_MAX_DELAY_PROPERTY = "repositories.loading.retry.maxDelay";
+
+    private static final long DEFAULT_RETRY_MAX_DELAY_MS = 60000;
+
     private static final String PLUGIN_TYPE = "repository";
 
     @Autowired
@@ -62,25 +85,53 @@ public class RepositoryPluginHandler extends AbstractPluginHandler {
     @Autowired
     private ApplicationContext applicationContext;
 
-    private final AtomicBoolean initialized = new AtomicBoolean(false);
+    private volatile boolean initialized;
+
+    private final Map<Scope, RepositoryProvider> repositories = new ConcurrentHashMap<>();
+
+    private final Set<Scope> loadingScopes = ConcurrentHashMap.newKeySet();
+
+    private final Map<Scope, CompletableFuture<RepositoryProvider>> readiness = new ConcurrentHashMap<>();
+
+    private volatile RepositoryScopeLoader scopeLoader;
 
-    private final Map<Scope, RepositoryProvider> repositories = new HashMap<>();
+    private volatile boolean asynchronous;
 
     private final RepositoryTypeReader repositoryTypeReader = new RepositoryTypeReader();
 
     private void initialize() {
-        if (initialized.compareAndSet(false, true)) {
-            registerAliasPropertySource();
-
-            RepositoryScopeProvider scopeProvider = applicationContext.getBean(RepositoryScopeProvider.class);
+        if (initialized) {
+            return;
+        }
 
-            // Get all the scope handled by the plugin and check there is an associated configuration.
-            for (Scope scope : scopeProvider.getHandledScopes()) {
-                checkRepositoryConfig(scope, true);
+        // Repository plugins may be deployed concurrently, none of them must see the handler partially initialized.
+        synchronized (this) {
+            if (initialized) {
+                return;
             }
 
-            for (Scope scope : scopeProvider.getOptionalHandledScopes()) {
-                checkRepositoryConfig(scope, false);
+            try {
+                registerAliasPropertySource();
+
+                scopeLoader =
+                    new RepositoryScopeLoader(
+                        environment.getProperty(RETRY_INITIAL_DELAY_PROPERTY, Long.class, (long) RETRY_DELAY_MS),
+                        environment.getProperty(RETRY_MAX_DELAY_PROPERTY, Long.class, DEFAULT_RETRY_MAX_DELAY_MS)
+                    );
+                asynchronous = environment.getProperty(LOADING_ASYNC_PROPERTY, Boolean.class, false);
+
+                RepositoryScopeProvider scopeProvider = applicationContext.getBean(RepositoryScopeProvider.class);
+
+                // Get all the scope handled by the plugin and check there is an associated configuration.
+                for (Scope scope : scopeProvider.getHandledScopes()) {
+                    checkRepositoryConfig(scope, true);
+                }
+
+                for (Scope scope : scopeProvider.getOptionalHandledScopes()) {
+                    checkRepositoryConfig(scope, false);
+                }
+            } finally {
+                initialized = true;
             }
         }
     }
@@ -92,9 +143,15 @@ public class RepositoryPluginHandler extends AbstractPluginHandler {
      */
     private void registerAliasPropertySource() {
         if (environment instanceof ConfigurableEnvironment configurableEnv) {
-            if (configurableEnv.getPropertySources().get(RepositoryAliasPropertySource.PROPERTY_SOURCE_NAME) == null) {
+            PropertySource<?> aliasPropertySource = configurableEnv
+                .getPropertySources()
+                .get(RepositoryAliasPropertySource.PROPERTY_SOURCE_NAME);
+            if (aliasPropertySource == null) {
                 configurableEnv.getPropertySources().addFirst(new RepositoryAliasPropertySource(environment));
                 LOGGER.debug("Registered RepositoryAliasPropertySource for repository configuration resolution");
+            } else if (aliasPropertySource instanceof RepositoryAliasPropertySource repositoryAliasPropertySource) {
+                // Already registered by a previous deployment, the configuration may have changed since.
+                repositoryAliasPropertySource.invalidate();
             }
         }
     }
@@ -126,63 +183,93 @@ public class RepositoryPluginHandler extends AbstractPluginHandler {
                 RepositoryProvider repository = createInstance((Class<RepositoryProvider>) repositoryClass);
                 Scope[] scopes = repository.scopes();
 
+                List<CompletableFuture<RepositoryProvider>> loads = new ArrayList<>();
                 for (Scope scope : scopes) {
                     if (repository.type().equals(getRepositoryType(scope))) {
-                        if (!repositories.containsKey(scope)) {
-                            boolean loaded = false;
-                            int tries = 0;
-
-                            while (!loaded) {
-                                if (tries > 0) {
-                                    // Wait some time before giving an other try.
-                                    Thread.sleep(RETRY_DELAY_MS);
-                                }
-                                loaded = loadRepository(scope, repository, plugin);
-                                tries++;
-
-                                if (!loaded) {
-                                    LOGGER.error(
-                                        "Unable to load repository {} for scope {}. Retry in {} ms...",
-                                        plugin.id(),
-                                        scope,
-                                        RETRY_DELAY_MS
-                                    );
-                                }
-                            }
+                        if (!repositories.containsKey(scope) && loadingScopes.add(scope)) {
+                            loads.add(load(scope, repository, plugin));
                         } else {
                             LOGGER.warn("Repository scope {} already loaded by {}", scope, repositories.get(scope));
                         }
                     }
                 }
+
+                if (!asynchronous) {
+                    CompletableFuture.allOf(loads.toArray(new CompletableFuture[0])).join();
+                }
             } catch (Exception iae) {
                 LOGGER.error("Unexpected error while create repository instance", iae);
             }
         }
     }
 
-    private boolean loadRepository(Scope scope, RepositoryProvider repository, Plugin plugin) {
+    /**
+     * Get the readiness of a repository scope, so that the host can start as soon as the scopes it requires are loaded,
+     * whatever the state of the other ones.
+     *
+     * @param scope the repository scope.
+     * @return a future completed with the repository provider of the scope once the scope is loaded.
+     */
+    public CompletableFuture<RepositoryProvider> ready(Scope scope) {
+        return readiness(scope).copy();
+    }
+
+    /**
+     * Stop retrying the repository scopes which are still loading.
+     */
+    public void close() {
+        if (scopeLoader != null) {
+            scopeLoader.close();
+        }
+    }
+
+    private CompletableFuture<RepositoryProvider> readiness(Scope scope) {
+        return readiness.computeIfAbsent(scope, key -> new CompletableFuture<>());
+    }
+
+    private CompletableFuture<RepositoryProvider> load(Scope scope, RepositoryProvider repository, Plugin plugin) {
+        return scopeLoader
+            .load("repository " + plugin.id() + " for scope " + scope, () -> loadRepository(scope, repository, plugin))
+            .whenComplete((loaded, throwable) -> {
+                if (throwable == null) {
+                    readiness(scope).complete(loaded);
+                } else {
+                    loadingScopes.remove(scope);
+                    readiness(scope).completeExceptionally(throwable);
+                }
+            });
+    }
+
+    private CompletableFuture<RepositoryProvider> loadRepository(Scope scope, RepositoryProvider repository, Plugin plugin) {
         LOGGER.info("Repository [{}] loaded by {}", scope, repository.type());
 
         // Not yet loaded, let's mount the repository in application context
-        try {
-            ApplicationContext repoApplicationContext = pluginContextFactory.create(
+        return pluginContextFactory
+            .createAsync(
                 new AnnotationBasedPluginContextConfigurer(plugin) {
                     @Override
                     public Set<Class<?>> configurations() {
                         return Collections.singleton(repository.configuration(scope));
                     }
-                }
-            );
-
-            registerRepositoryDefinitions(repository, repoApplicationContext);
-            repositories.put(scope, repository);
-            return true;
-        } catch (Exception iae) {
-            LOGGER.error("Unexpected error while creating context for repository instance", iae);
-            pluginContextFactory.remove(plugin);
 
-            return false;
-        }
+                    @Override
+                    protected boolean aheadOfTimeInitialization() {
+                        // The context of each scope is built from its own configuration, not from the plugin ones.
+                        return false;
+                    }
+                }
+            )
+            .thenApply(repoApplicationContext -> {
+                try {
+                    registerRepositoryDefinitions(repository, repoApplicationContext);
+                } catch (RuntimeException ex) {
+                    // Only close the context of this scope, the other scopes of the plugin may already be loaded.
+                    ((ConfigurableApplicationContext) repoApplicationContext).close();
+                    throw ex;
+                }
+                repositories.put(scope, repository);
+                return repository;
+            });
     }
 
     private void registerRepositoryDefinitions(RepositoryProvider repository, ApplicationContext repoApplicationContext) {
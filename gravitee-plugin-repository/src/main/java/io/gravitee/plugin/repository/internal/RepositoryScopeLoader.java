@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.repository.internal;
+
+import io.gravitee.platform.repository.api.Scope;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Load the repository scopes concurrently, each one on its own thread, so that an unreachable backend does not hold the
+ * other scopes, nor the deployment of the other plugins.
+ * <p>
+ * A scope which can not be loaded is retried until it succeeds, with an exponential backoff: the delay doubles after each
+ * failed attempt, up to a maximum delay, and is randomized between half and all of its value, so that the instances
+ * started at the same time do not hit the backend all together. Errors, such as a class of the plugin failing to link, are
+ * not retried: the scope then fails to load.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+class RepositoryScopeLoader {
+
+    private final long initialDelayMs;
+    private final long maxDelayMs;
+    private final ScheduledExecutorService executor;
+    private final Set<CompletableFuture<?>> loading = ConcurrentHashMap.newKeySet();
+
+    RepositoryScopeLoader(long initialDelayMs, long maxDelayMs) {
+        this.initialDelayMs = Math.max(1, initialDelayMs);
+        this.maxDelayMs = Math.max(this.initialDelayMs, maxDelayMs);
+
+        final AtomicInteger counter = new AtomicInteger();
+        final ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(
+            Scope.values().length,
+            r -> {
+                final Thread thread = new Thread(r, "gio.repository-loader-" + counter.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        scheduledExecutor.setRemoveOnCancelPolicy(true);
+        this.executor = scheduledExecutor;
+    }
+
+    /**
+     * Load a scope, retrying until an attempt succeeds.
+     *
+     * @param description the description of the scope being loaded, for logging.
+     * @param attempt an attempt to load the scope, whose future completes exceptionally if the scope can not be loaded.
+     * @return a future completed once the scope has been loaded, or cancelled if the loader is closed first.
+     */
+    <T> CompletableFuture<T> load(String description, Supplier<CompletableFuture<T>> attempt) {
+        final CompletableFuture<T> loaded = new CompletableFuture<>();
+        loading.add(loaded);
+        loaded.whenComplete((value, throwable) -> loading.remove(loaded));
+        schedule(description, attempt, loaded, 1, 0);
+        return loaded;
+    }
+
+    /**
+     * Stop retrying the scopes which are still loading.
+     */
+    void close() {
+        executor.shutdownNow();
+        loading.forEach(loaded -> loaded.cancel(false));
+    }
+
+    /**
+     * @param attempt the number of the failed attempt, starting at 1.
+     * @return the delay before the next attempt, with jitter.
+     */
+    long delay(int attempt) {
+        final long exponential = initialDelayMs << Math.min(attempt - 1, 30);
+        final long delay = exponential > 0 ? Math.min(maxDelayMs, exponential) : maxDelayMs;
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay - delay / 2 + 1);
+    }
+
+    private <T> void schedule(
+        String description,
+        Supplier<CompletableFuture<T>> attempt,
+        CompletableFuture<T> loaded,
+        int count,
+        long delay
+    ) {
+        try {
+            executor.schedule(() -> run(description, attempt, loaded, count), delay, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException ex) {
+            // Rejected once the loader is closed.
+            loaded.cancel(false);
+        }
+    }
+
+    private <T> void run(String description, Supplier<CompletableFuture<T>> attempt, CompletableFuture<T> loaded, int count) {
+        if (loaded.isDone()) {
+            return;
+        }
+
+        CompletableFuture<T> result;
+        try {
+            result = attempt.get();
+        } catch (Throwable throwable) {
+            result = CompletableFuture.failedFuture(throwable);
+        }
+
+        result.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                loaded.complete(value);
+                return;
+            }
+
+            final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+            if (cause instanceof Error) {
+                log.error("Unable to load {} (attempt {}), giving up", description, count, cause);
+                loaded.completeExceptionally(cause);
+            } else {
+                final long delay = delay(count);
+                log.error("Unable to load {} (attempt {}). Retry in {} ms...", description, count, delay, cause);
+                schedule(description, attempt, loaded, count + 1, delay);
+            }
+        });
+    }
+}
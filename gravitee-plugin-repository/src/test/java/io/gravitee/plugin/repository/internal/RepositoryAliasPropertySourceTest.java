@@ -211,4 +211,44 @@ public class RepositoryAliasPropertySourceTest {
 
         assertEquals("jdbc", environment.getProperty("management.type"));
     }
+
+    @Test
+    public void should_not_resolve_keys_outside_of_repository_scopes() {
+        setProperties(Map.of("repositories.server.port", "8080", "repositories.management", "mongodb"));
+
+        RepositoryAliasPropertySource aliasPropertySource = new RepositoryAliasPropertySource(environment);
+
+        assertNull(aliasPropertySource.getProperty("server.port"));
+        assertNull(aliasPropertySource.getProperty("management"));
+        assertNull(aliasPropertySource.getProperty(".management.type"));
+    }
+
+    @Test
+    public void should_resolve_again_when_property_sources_change() {
+        setProperties(Map.of("repositories.management.type", "mongodb"));
+        assertEquals("mongodb", environment.getProperty("management.type"));
+
+        environment.getPropertySources().addLast(new MapPropertySource("defaults", Map.of("management.type", "jdbc")));
+        assertEquals("jdbc", environment.getProperty("management.type"));
+
+        environment.getPropertySources().remove("defaults");
+        assertEquals("mongodb", environment.getProperty("management.type"));
+    }
+
+    @Test
+    public void should_resolve_values_changed_in_place_once_invalidated() {
+        Map<String, Object> props = new HashMap<>();
+        props.put("repositories.ratelimit.type", "mongodb");
+        setProperties(props);
+        RepositoryAliasPropertySource aliasPropertySource = (RepositoryAliasPropertySource) environment
+            .getPropertySources()
+            .get(RepositoryAliasPropertySource.PROPERTY_SOURCE_NAME);
+        assertEquals("mongodb", environment.getProperty("ratelimit.type"));
+
+        props.put("repositories.ratelimit.type", "redis");
+        assertEquals("mongodb", environment.getProperty("ratelimit.type"));
+
+        aliasPropertySource.invalidate();
+        assertEquals("redis", environment.getProperty("ratelimit.type"));
+    }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.plugin.repository.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+public class RepositoryScopeLoaderTest {
+
+    private RepositoryScopeLoader loader;
+
+    @After
+    public void tearDown() {
+        loader.close();
+    }
+
+    @Test
+    public void should_retry_until_scope_is_loaded() throws Exception {
+        loader = new RepositoryScopeLoader(1, 4);
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> loaded = loader.load(
+            "management",
+            () ->
+                attempts.incrementAndGet() < 3
+                    ? CompletableFuture.failedFuture(new IllegalStateException("Unable to connect"))
+                    : CompletableFuture.completedFuture("mongodb")
+        );
+
+        assertEquals("mongodb", loaded.get(5, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void should_retry_when_attempt_throws() throws Exception {
+        loader = new RepositoryScopeLoader(1, 4);
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> loaded = loader.load(
+            "ratelimit",
+            () -> {
+                if (attempts.incrementAndGet() < 2) {
+                    throw new IllegalStateException("Unable to connect");
+                }
+                return CompletableFuture.completedFuture("redis");
+            }
+        );
+
+        assertEquals("redis", loaded.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void should_fail_without_retrying_when_attempt_throws_an_error() throws Exception {
+        loader = new RepositoryScopeLoader(1, 4);
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> loaded = loader.load(
+            "management",
+            () -> {
+                attempts.incrementAndGet();
+                throw new NoClassDefFoundError("io/gravitee/repository/mongodb/MongoRepositoryProvider");
+            }
+        );
+
+        try {
+            loaded.get(5, TimeUnit.SECONDS);
+            fail("The scope must fail to load");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NoClassDefFoundError);
+        }
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void should_load_scopes_concurrently() throws Exception {
+        loader = new RepositoryScopeLoader(1, 4);
+        CompletableFuture<String> unreachable = new CompletableFuture<>();
+
+        CompletableFuture<String> analytics = loader.load("analytics", () -> unreachable);
+        CompletableFuture<String> management = loader.load("management", () -> CompletableFuture.completedFuture("mongodb"));
+
+        assertEquals("mongodb", management.get(5, TimeUnit.SECONDS));
+        assertFalse(analytics.isDone());
+    }
+
+    @Test
+    public void should_double_delay_with_jitter_up_to_max_delay() {
+        loader = new RepositoryScopeLoader(100, 1000);
+
+        for (int i = 0; i < 100; i++) {
+            assertBetween(loader.delay(1), 50, 100);
+            assertBetween(loader.delay(2), 100, 200);
+            assertBetween(loader.delay(4), 400, 800);
+            assertBetween(loader.delay(5), 500, 1000);
+            assertBetween(loader.delay(Integer.MAX_VALUE), 500, 1000);
+        }
+    }
+
+    @Test
+    public void should_cancel_loading_scopes_once_closed() {
+        loader = new RepositoryScopeLoader(60000, 60000);
+
+        CompletableFuture<String> loaded = loader.load(
+            "management",
+            () -> CompletableFuture.failedFuture(new IllegalStateException("Unable to connect"))
+        );
+        loader.close();
+
+        assertTrue(loaded.isCancelled());
+    }
+
+    private static void assertBetween(long delay, long min, long max) {
+        assertTrue(delay + " not in [" + min + ", " + max + "]", delay >= min && delay <= max);
+    }
+}
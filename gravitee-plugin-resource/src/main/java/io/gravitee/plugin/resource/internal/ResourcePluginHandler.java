@@ -18,10 +18,9 @@ package io.gravitee.plugin.resource.internal;
 import io.gravitee.plugin.core.api.AbstractSimplePluginHandler;
 import io.gravitee.plugin.core.api.ConfigurablePluginManager;
 import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.internal.PluginClassLoaderRegistry;
 import io.gravitee.plugin.resource.ResourcePlugin;
 import io.gravitee.plugin.resource.spring.ResourcePluginConfiguration;
-import java.io.IOException;
-import java.net.URLClassLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 
@@ -58,16 +57,16 @@ public class ResourcePluginHandler extends AbstractSimplePluginHandler<ResourceP
         resourcePluginManager.register(plugin);
 
         // Once registered, the classloader should be released
-        URLClassLoader classLoader = (URLClassLoader) plugin.resource().getClassLoader();
-        try {
-            classLoader.close();
-        } catch (IOException e) {
-            logger.error("Unexpected exception while trying to release the notifier classloader");
-        }
+        PluginClassLoaderRegistry.getInstance().release(plugin.resource().getClassLoader());
     }
 
     @Override
     protected ClassLoader getClassLoader(Plugin plugin) throws Exception {
-        return new URLClassLoader(plugin.dependencies(), this.getClass().getClassLoader());
+        return PluginClassLoaderRegistry.getInstance().acquire(plugin, this.getClass().getClassLoader());
+    }
+
+    @Override
+    public void undeploy(Plugin plugin) {
+        resourcePluginManager.unregister(plugin.id());
     }
 }
@@ -18,9 +18,9 @@ package io.gravitee.plugin.discovery.internal;
 import io.gravitee.plugin.core.api.AbstractSimplePluginHandler;
 import io.gravitee.plugin.core.api.ConfigurablePluginManager;
 import io.gravitee.plugin.core.api.Plugin;
+import io.gravitee.plugin.core.internal.PluginClassLoaderRegistry;
 import io.gravitee.plugin.discovery.ServiceDiscoveryPlugin;
 import io.gravitee.plugin.discovery.spring.ServiceDiscoveryPluginConfiguration;
-import java.net.URLClassLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 
@@ -59,6 +59,15 @@ public class ServiceDiscoveryPluginHandler extends AbstractSimplePluginHandler<S
 
     @Override
     protected ClassLoader getClassLoader(Plugin plugin) throws Exception {
-        return new URLClassLoader(plugin.dependencies(), this.getClass().getClassLoader());
+        return PluginClassLoaderRegistry.getInstance().acquire(plugin, this.getClass().getClassLoader());
+    }
+
+    @Override
+    public void undeploy(Plugin plugin) {
+        final ServiceDiscoveryPlugin serviceDiscoveryPlugin = serviceDiscoveryPluginManager.unregister(plugin.id());
+        if (serviceDiscoveryPlugin != null) {
+            // The classloader has been kept since the plugin has been registered
+            PluginClassLoaderRegistry.getInstance().release(serviceDiscoveryPlugin.serviceDiscovery().getClassLoader());
+        }
     }
 }